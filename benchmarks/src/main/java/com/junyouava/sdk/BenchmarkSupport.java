@@ -0,0 +1,23 @@
+package com.junyouava.sdk;
+
+/**
+ * 基准测试公共配置
+ */
+final class BenchmarkSupport {
+    static final String ACCESS_ID = "benchmark-access-id";
+    static final String ACCESS_KEY = "YmVuY2htYXJrLWFjY2Vzcy1rZXktMDEyMzQ1Njc4OWFiY2RlZg==";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 基准测试使用的配置
+     *
+     * @return 配置对象
+     */
+    static Config config() {
+        return Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY);
+    }
+}
@@ -0,0 +1,72 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.EWTBizNoInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端基准测试：经由进程内模拟服务完成一次完整调用（构建、签名、发送、解析）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+    private final EWTBizNoInfo ewtBizNoInfo = new EWTBizNoInfo("EWT202510180000000001");
+
+    @Param({"okhttp", "jdk"})
+    public String transport;
+
+    /**
+     * 是否让模拟服务校验签名、时间戳和 nonce；关闭时测量集中在 SDK 自身的开销上
+     */
+    @Param({"false"})
+    public boolean verify;
+
+    private MockOpenApiServer server;
+    private Client client;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new MockOpenApiServer(BenchmarkSupport.ACCESS_ID, BenchmarkSupport.ACCESS_KEY);
+        server.setVerifying(verify);
+        Config config = BenchmarkSupport.config()
+                .WithAddress(server.getAddress())
+                .WithHttpVersion(HttpVersion.HTTP_1_1);
+        client = "jdk".equals(transport)
+                ? Client.NewClientWithTransport(config, new JdkHttpTransport(config))
+                : Client.NewClient(config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.Close();
+        server.close();
+    }
+
+    @Benchmark
+    public Result<String> confirmEWTRelease() throws IOException {
+        return client.API().ConfirmEWTReleaseByPartner(ewtBizNoInfo);
+    }
+
+    @Benchmark
+    public Result<String> confirmEWTReleaseAsync() {
+        return client.API().ConfirmEWTReleaseByPartnerAsync(ewtBizNoInfo).join();
+    }
+}
@@ -0,0 +1,65 @@
+package com.junyouava.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HMAC 签名基准测试：对比缓存签名引擎与逐次创建 Mac 的旧实现
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HMACSignerBenchmark {
+    private static final String ACCESS_ID = BenchmarkSupport.ACCESS_ID;
+    private static final String ACCESS_KEY = BenchmarkSupport.ACCESS_KEY;
+    private static final String METHOD = "POST";
+    private static final String PATH = "/api/open/v1/ewt/confirm-release-by-partner";
+    private static final String NONCE = "0f8fad5bd9cb469fa16570867728950e";
+    private static final String TIMESTAMP = "1760000000";
+
+    private HMACSigner signer;
+    private KeyHolder key;
+
+    @Setup
+    public void setUp() {
+        signer = new HMACSigner();
+        key = HMACSigner.newKey(ACCESS_KEY);
+    }
+
+    /**
+     * 旧实现：每次解码密钥、查找 Provider、初始化 Mac 并拼接待签名字符串
+     */
+    @Benchmark
+    public String legacy() throws Exception {
+        String signString = ACCESS_ID + "\n" + METHOD + "\n" + PATH + "\n" + NONCE + "\n" + TIMESTAMP;
+        byte[] keyBytes = Base64.getDecoder().decode(ACCESS_KEY);
+        Mac mac = Mac.getInstance(Constants.SIGNATURE_ALGORITHM);
+        mac.init(new SecretKeySpec(keyBytes, Constants.SIGNATURE_ALGORITHM));
+        return Base64.getEncoder().encodeToString(mac.doFinal(signString.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 新实现：线程内复用已初始化的 Mac 与字节缓冲区
+     */
+    @Benchmark
+    public String cached() {
+        return signer.sign(key, ACCESS_ID, METHOD, PATH, NONCE, TIMESTAMP);
+    }
+}
@@ -0,0 +1,61 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.model.EWTBizNoInfo;
+import com.junyouava.sdk.model.RegisterInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求构建基准测试：请求体序列化，以及 APIService 发送前的完整构建（序列化 + 签名 + Header）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuildBenchmark {
+    private final JsonCodec codec = JsonCodec.shared();
+    private final RegisterInfo registerInfo = new RegisterInfo("13800138000");
+    private final EWTBizNoInfo ewtBizNoInfo = new EWTBizNoInfo("EWT202510180000000001");
+
+    private Client client;
+
+    @Setup
+    public void setUp() {
+        // 只构建请求不发送，地址不会被访问
+        client = Client.NewClient(BenchmarkSupport.config());
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.Close();
+    }
+
+    @Benchmark
+    public byte[] serializeRegister() throws IOException {
+        return codec.writeValueAsBytes(registerInfo);
+    }
+
+    @Benchmark
+    public byte[] serializeEWTConfirm() throws IOException {
+        return codec.writeValueAsBytes(ewtBizNoInfo);
+    }
+
+    @Benchmark
+    public TransportRequest buildEWTConfirmRequest() throws IOException {
+        return client.API().buildRequest(Endpoint.EWT_CONFIRM_RELEASE_BY_PARTNER, ewtBizNoInfo);
+    }
+}
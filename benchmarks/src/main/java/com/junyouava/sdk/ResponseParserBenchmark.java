@@ -0,0 +1,101 @@
+package com.junyouava.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应解析基准测试：包装格式、扁平格式和错误响应
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParserBenchmark {
+    private static final byte[] WRAPPED = bytes(
+            "{\"result\":{\"code\":200,\"success\":true,\"message\":\"ok\","
+                    + "\"data\":\"eyJvcGVuX2lkIjoibzEiLCJleHAiOjE3NjAwMDAwMDB9\"}}");
+    private static final byte[] BARE = bytes(
+            "{\"code\":200,\"success\":true,\"message\":\"ok\","
+                    + "\"data\":\"eyJvcGVuX2lkIjoibzEiLCJleHAiOjE3NjAwMDAwMDB9\"}");
+    private static final byte[] ERROR = bytes(
+            "{\"result\":{\"code\":401,\"success\":false,\"err_code\":\"INVALID_SIGNATURE\",\"message\":\"签名无效\"}}");
+    private static final byte[] PLAIN_ERROR = bytes("<html><body>502 Bad Gateway</body></html>");
+
+    private final ResponseParser parser = new ResponseParser(JsonCodec.shared());
+
+    @Benchmark
+    public Result<String> wrapped() throws IOException {
+        return parser.parse(new BytesResponse(200, "application/json", WRAPPED), String.class);
+    }
+
+    @Benchmark
+    public Result<String> bare() throws IOException {
+        return parser.parse(new BytesResponse(200, "application/json", BARE), String.class);
+    }
+
+    @Benchmark
+    public Result<String> error() throws IOException {
+        return parser.parse(new BytesResponse(401, "application/json", ERROR), String.class);
+    }
+
+    /**
+     * 非 JSON 错误响应，走原始响应体回退分支
+     */
+    @Benchmark
+    public Result<String> plainError() throws IOException {
+        return parser.parse(new BytesResponse(502, "text/html; charset=utf-8", PLAIN_ERROR), String.class);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 内存中的响应，排除网络开销
+     */
+    private static final class BytesResponse implements TransportResponse {
+        private final int code;
+        private final String contentType;
+        private final byte[] body;
+
+        BytesResponse(int code, String contentType, byte[] body) {
+            this.code = code;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        @Override
+        public int code() {
+            return code;
+        }
+
+        @Override
+        public String header(String name) {
+            return "Content-Type".equalsIgnoreCase(name) ? contentType : null;
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.junyouava.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 签名基准测试：GenerateSignature 与 GenerateAuthHeader（含时间戳和 nonce 生成）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+    private static final String METHOD = "POST";
+    private static final String PATH = "/api/open/v1/ewt/confirm-release-by-partner";
+
+    private AuthService authService;
+
+    @Setup
+    public void setUp() {
+        authService = new AuthService(BenchmarkSupport.config());
+    }
+
+    @TearDown
+    public void tearDown() {
+        authService.close();
+    }
+
+    @Benchmark
+    public Signature generateSignature() {
+        return authService.GenerateSignature(METHOD, PATH);
+    }
+
+    @Benchmark
+    public Map<String, String> generateAuthHeader() {
+        return authService.GenerateAuthHeader(METHOD, PATH);
+    }
+}
@@ -1,17 +1,32 @@
 package com.junyouava.sdk;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.junyouava.sdk.model.EWTBizNoInfo;
 import com.junyouava.sdk.model.OpenIdToken;
 import com.junyouava.sdk.model.RegisterInfo;
-import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * API 服务，提供所有业务 API 调用
@@ -19,14 +34,107 @@ import java.util.Map;
 public class APIService {
     private final Config config;
     private final AuthService authService;
-    private final OkHttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final Transport transport;
+    private final JsonCodec codec;
+    private final ResponseParser responseParser;
+    private final Instrumentation instrumentation;
+
+    /**
+     * 是否启用埋点；未启用时热路径上不读取时钟
+     */
+    private final boolean instrumented;
+
+    private final RetryPolicy retryPolicy;
+    private final HedgePolicy hedgePolicy;
+
+    /**
+     * 各接口的熔断器，未启用熔断时为空
+     */
+    private final Map<Endpoint, CircuitBreaker> breakers = new EnumMap<>(Endpoint.class);
+
+    /**
+     * 启用对冲的接口的近期耗时
+     */
+    private final Map<Endpoint, LatencyTracker> latencies = new EnumMap<>(Endpoint.class);
+
+    /**
+     * 按 AccessId 共享的限流器，未启用时为 null
+     */
+    /**
+     * 当前 AccessId 的共享限流器，Reload 切换 AccessId 时随之切换；未启用限流时为 null
+     */
+    private volatile RateLimiter rateLimiter;
+    /**
+     * 串行化限流器的切换和释放
+     */
+    private final ReentrantLock limiterLock = new ReentrantLock();
+    /**
+     * 保证共享资源只释放一次（Client.Close 可能被重复调用）
+     */
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * 自适应并发限制器，未启用时为 null
+     */
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final long limiterMaxWaitNanos;
+
+    /**
+     * 请求合并，未启用时为 null
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * 确认权证释放的 outbox，未启用时为 null
+     */
+    private final EWTOutbox outbox;
+
+    /**
+     * 时钟偏差估计，未启用校正时为 null
+     */
+    private final ClockSkew clockSkew;
 
     public APIService(Config config, AuthService authService, OkHttpClient httpClient) {
+        this(config, authService, new OkHttpTransport(httpClient));
+    }
+
+    public APIService(Config config, AuthService authService, Transport transport) {
         this.config = config;
         this.authService = authService;
-        this.httpClient = httpClient;
-        this.objectMapper = new ObjectMapper();
+        this.transport = transport;
+        this.codec = JsonCodec.shared();
+        this.responseParser = new ResponseParser(codec, config.getMaxErrorBodySize());
+        this.instrumentation = config.getInstrumentation();
+        this.instrumented = instrumentation != Instrumentation.NOOP;
+        this.retryPolicy = config.getRetryPolicy();
+        this.hedgePolicy = config.getHedgePolicy();
+        this.rateLimiter = config.getRateLimit() > 0
+                ? RateLimiter.forAccessId(config.getAccessId(), config.getRateLimit(), config.getRateLimitBurst())
+                : null;
+        this.concurrencyLimiter = config.getMaxConcurrencyLimit() > 0
+                ? new ConcurrencyLimiter(config.getInitialConcurrencyLimit(), config.getMaxConcurrencyLimit())
+                : null;
+        this.limiterMaxWaitNanos = config.getLimiterMaxWait().toNanos();
+        this.clockSkew = authService.clockSkew();
+        this.singleFlight = config.getCoalescedEndpoints().isEmpty()
+                ? null
+                : new SingleFlight(config.getCoalescedEndpoints(), instrumentation);
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (config.getCircuitBreakerThreshold() > 0) {
+                breakers.put(endpoint, new CircuitBreaker(config.getCircuitBreakerThreshold(),
+                        config.getCircuitBreakerOpenDuration().toNanos()));
+            }
+            if (hedgePolicy != null && hedgePolicy.appliesTo(endpoint)) {
+                latencies.put(endpoint, new LatencyTracker(hedgePolicy.getPercentile()));
+            }
+        }
+        try {
+            this.outbox = config.getEWTOutbox() != null
+                    ? EWTOutbox.open(config.getEWTOutbox(), Constants.DEFAULT_EWT_OUTBOX_SIZE)
+                    : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法打开 EWT outbox: " + config.getEWTOutbox(), e);
+        }
     }
 
     /**
@@ -37,8 +145,58 @@ public class APIService {
      * @throws IOException 如果请求失败
      */
     public Result<String> Register(RegisterInfo registerInfo) throws IOException {
-        String path = "/api/open/" + config.getVersion() + "/register";
-        return post(path, registerInfo, String.class);
+        return post(Endpoint.REGISTER, registerInfo, String.class, null);
+    }
+
+    /**
+     * 注册（带调用选项）
+     *
+     * @param registerInfo 注册信息
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 注册结果
+     * @throws IOException 如果请求失败；超过截止时间时为 {@link DeadlineExceededException}
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public Result<String> Register(RegisterInfo registerInfo, CallOptions options) throws IOException {
+        return post(Endpoint.REGISTER, registerInfo, String.class, options);
+    }
+
+    /**
+     * 注册（异步）
+     *
+     * @param registerInfo 注册信息
+     * @return 注册结果的 Future，网络失败时以 IOException 异常完成；取消 Future 会取消底层请求
+     */
+    public CompletableFuture<Result<String>> RegisterAsync(RegisterInfo registerInfo) {
+        return postAsync(Endpoint.REGISTER, registerInfo, String.class, null);
+    }
+
+    /**
+     * 注册（异步，带调用选项）
+     *
+     * @param registerInfo 注册信息
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 注册结果的 Future，超过截止时间时以 {@link DeadlineExceededException} 异常完成
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public CompletableFuture<Result<String>> RegisterAsync(RegisterInfo registerInfo, CallOptions options) {
+        return postAsync(Endpoint.REGISTER, registerInfo, String.class, options);
+    }
+
+    /**
+     * 创建批量注册处理器（{@link Flow.Processor}，与 Reactive Streams 兼容）
+     * 将注册信息的 Publisher 订阅到处理器、再订阅处理器的输出即可：处理器只在下游有需求且在途请求数
+     * 低于上限时向上游请求数据，上游的消费速度因此跟随服务端的处理速度。单条注册的网络失败作为
+     * {@link BatchItemResult#getError()} 交付而不终止流；取消订阅会取消上游订阅和在途请求。
+     * 处理器只能被一个下游订阅，且只能订阅一个上游。
+     *
+     * @param maxInFlight 最大在途请求数（包括已完成但等待按序交付的条目）
+     * @param ordered     是否按输入顺序交付结果；为 false 时按完成顺序交付
+     * @return 处理器
+     * @throws IllegalArgumentException 如果在途上限不大于 0
+     */
+    public Flow.Processor<RegisterInfo, BatchItemResult<RegisterInfo>> RegisterProcessor(int maxInFlight, boolean ordered) {
+        return new BatchProcessor<>(maxInFlight, ordered, this::RegisterAsync);
     }
 
     /**
@@ -49,8 +207,42 @@ public class APIService {
      * @throws IOException 如果请求失败
      */
     public Result<String> AuthLogin(OpenIdToken openIdToken) throws IOException {
-        String path = "/api/open/" + config.getVersion() + "/auth/login";
-        return post(path, openIdToken, String.class);
+        return post(Endpoint.AUTH_LOGIN, openIdToken, String.class, null);
+    }
+
+    /**
+     * 登录认证（带调用选项）
+     *
+     * @param openIdToken OpenId Token
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 访问令牌结果
+     * @throws IOException 如果请求失败；超过截止时间时为 {@link DeadlineExceededException}
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public Result<String> AuthLogin(OpenIdToken openIdToken, CallOptions options) throws IOException {
+        return post(Endpoint.AUTH_LOGIN, openIdToken, String.class, options);
+    }
+
+    /**
+     * 登录认证（异步）
+     *
+     * @param openIdToken OpenId Token
+     * @return 访问令牌结果的 Future，网络失败时以 IOException 异常完成；取消 Future 会取消底层请求
+     */
+    public CompletableFuture<Result<String>> AuthLoginAsync(OpenIdToken openIdToken) {
+        return postAsync(Endpoint.AUTH_LOGIN, openIdToken, String.class, null);
+    }
+
+    /**
+     * 登录认证（异步，带调用选项）
+     *
+     * @param openIdToken OpenId Token
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 访问令牌结果的 Future，超过截止时间时以 {@link DeadlineExceededException} 异常完成
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public CompletableFuture<Result<String>> AuthLoginAsync(OpenIdToken openIdToken, CallOptions options) {
+        return postAsync(Endpoint.AUTH_LOGIN, openIdToken, String.class, options);
     }
 
     /**
@@ -61,8 +253,42 @@ public class APIService {
      * @throws IOException 如果请求失败
      */
     public Result<String> AuthSetPWD(OpenIdToken openIdToken) throws IOException {
-        String path = "/api/open/" + config.getVersion() + "/auth/setpwd";
-        return post(path, openIdToken, String.class);
+        return post(Endpoint.AUTH_SETPWD, openIdToken, String.class, null);
+    }
+
+    /**
+     * 设置密码认证（带调用选项）
+     *
+     * @param openIdToken OpenId Token
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 访问令牌结果
+     * @throws IOException 如果请求失败；超过截止时间时为 {@link DeadlineExceededException}
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public Result<String> AuthSetPWD(OpenIdToken openIdToken, CallOptions options) throws IOException {
+        return post(Endpoint.AUTH_SETPWD, openIdToken, String.class, options);
+    }
+
+    /**
+     * 设置密码认证（异步）
+     *
+     * @param openIdToken OpenId Token
+     * @return 访问令牌结果的 Future，网络失败时以 IOException 异常完成；取消 Future 会取消底层请求
+     */
+    public CompletableFuture<Result<String>> AuthSetPWDAsync(OpenIdToken openIdToken) {
+        return postAsync(Endpoint.AUTH_SETPWD, openIdToken, String.class, null);
+    }
+
+    /**
+     * 设置密码认证（异步，带调用选项）
+     *
+     * @param openIdToken OpenId Token
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 访问令牌结果的 Future，超过截止时间时以 {@link DeadlineExceededException} 异常完成
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public CompletableFuture<Result<String>> AuthSetPWDAsync(OpenIdToken openIdToken, CallOptions options) {
+        return postAsync(Endpoint.AUTH_SETPWD, openIdToken, String.class, options);
     }
 
     /**
@@ -73,8 +299,42 @@ public class APIService {
      * @throws IOException 如果请求失败
      */
     public Result<String> AuthCMT(OpenIdToken openIdToken) throws IOException {
-        String path = "/api/open/" + config.getVersion() + "/auth/cmt";
-        return post(path, openIdToken, String.class);
+        return post(Endpoint.AUTH_CMT, openIdToken, String.class, null);
+    }
+
+    /**
+     * 验证认证（带调用选项）
+     *
+     * @param openIdToken OpenId Token
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 访问令牌结果
+     * @throws IOException 如果请求失败；超过截止时间时为 {@link DeadlineExceededException}
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public Result<String> AuthCMT(OpenIdToken openIdToken, CallOptions options) throws IOException {
+        return post(Endpoint.AUTH_CMT, openIdToken, String.class, options);
+    }
+
+    /**
+     * 验证认证（异步）
+     *
+     * @param openIdToken OpenId Token
+     * @return 访问令牌结果的 Future，网络失败时以 IOException 异常完成；取消 Future 会取消底层请求
+     */
+    public CompletableFuture<Result<String>> AuthCMTAsync(OpenIdToken openIdToken) {
+        return postAsync(Endpoint.AUTH_CMT, openIdToken, String.class, null);
+    }
+
+    /**
+     * 验证认证（异步，带调用选项）
+     *
+     * @param openIdToken OpenId Token
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 访问令牌结果的 Future，超过截止时间时以 {@link DeadlineExceededException} 异常完成
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public CompletableFuture<Result<String>> AuthCMTAsync(OpenIdToken openIdToken, CallOptions options) {
+        return postAsync(Endpoint.AUTH_CMT, openIdToken, String.class, options);
     }
 
     /**
@@ -85,141 +345,1059 @@ public class APIService {
      * @throws IOException 如果请求失败
      */
     public Result<String> ConfirmEWTReleaseByPartner(EWTBizNoInfo ewtBizNoInfo) throws IOException {
-        String path = "/api/open/" + config.getVersion() + "/ewt/confirm-release-by-partner";
-        return post(path, ewtBizNoInfo, String.class);
+        return confirm(ewtBizNoInfo, null);
+    }
+
+    /**
+     * 确认权证释放（带调用选项）
+     *
+     * @param ewtBizNoInfo 权证业务编号信息
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 确认结果
+     * @throws IOException 如果请求失败；超过截止时间时为 {@link DeadlineExceededException}
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public Result<String> ConfirmEWTReleaseByPartner(EWTBizNoInfo ewtBizNoInfo, CallOptions options) throws IOException {
+        return confirm(ewtBizNoInfo, options);
+    }
+
+    /**
+     * 确认权证释放（异步）
+     *
+     * @param ewtBizNoInfo 权证业务编号信息
+     * @return 确认结果的 Future，网络失败时以 IOException 异常完成；取消 Future 会取消底层请求
+     */
+    public CompletableFuture<Result<String>> ConfirmEWTReleaseByPartnerAsync(EWTBizNoInfo ewtBizNoInfo) {
+        return confirmAsync(ewtBizNoInfo, null);
+    }
+
+    /**
+     * 确认权证释放（异步，带调用选项）
+     *
+     * @param ewtBizNoInfo 权证业务编号信息
+     * @param options 调用选项（截止时间、优先级、幂等键、额外 Header）
+     * @return 确认结果的 Future，超过截止时间时以 {@link DeadlineExceededException} 异常完成
+     * @throws IllegalArgumentException 如果调用选项无效
+     */
+    public CompletableFuture<Result<String>> ConfirmEWTReleaseByPartnerAsync(EWTBizNoInfo ewtBizNoInfo, CallOptions options) {
+        return confirmAsync(ewtBizNoInfo, options);
+    }
+
+    /**
+     * 批量确认权证释放
+     * 以有界并发发起请求并按需拉取输入，内存占用与输入规模无关；阻塞直到所有条目处理完成。
+     * 处理器始终在调用线程上执行。实际并发还受传输层约束（如 OkHttp Dispatcher 的单 Host 并发上限）。
+     *
+     * @param ewtBizNoInfos  权证业务编号信息
+     * @param maxConcurrency 最大并发请求数
+     * @param ordered        是否按输入顺序交付结果；为 false 时按完成顺序交付
+     * @param handler        单个条目的结果处理器
+     * @throws IllegalArgumentException 如果并发数不大于 0
+     * @throws InterruptedException     如果等待期间线程被中断
+     */
+    public void ConfirmEWTReleaseByPartnerBatch(Iterable<EWTBizNoInfo> ewtBizNoInfos,
+                                                int maxConcurrency,
+                                                boolean ordered,
+                                                Consumer<BatchItemResult<EWTBizNoInfo>> handler) throws InterruptedException {
+        BatchExecutor.run(ewtBizNoInfos.iterator(), maxConcurrency, ordered, this::ConfirmEWTReleaseByPartnerAsync, handler);
+    }
+
+    /**
+     * 批量确认权证释放（流式输入）
+     *
+     * @param ewtBizNoInfos  权证业务编号信息流（按需消费）
+     * @param maxConcurrency 最大并发请求数
+     * @param ordered        是否按输入顺序交付结果；为 false 时按完成顺序交付
+     * @param handler        单个条目的结果处理器
+     * @throws IllegalArgumentException 如果并发数不大于 0
+     * @throws InterruptedException     如果等待期间线程被中断
+     * @see #ConfirmEWTReleaseByPartnerBatch(Iterable, int, boolean, Consumer)
+     */
+    public void ConfirmEWTReleaseByPartnerBatch(Stream<EWTBizNoInfo> ewtBizNoInfos,
+                                                int maxConcurrency,
+                                                boolean ordered,
+                                                Consumer<BatchItemResult<EWTBizNoInfo>> handler) throws InterruptedException {
+        BatchExecutor.run(ewtBizNoInfos.iterator(), maxConcurrency, ordered, this::ConfirmEWTReleaseByPartnerAsync, handler);
+    }
+
+    /**
+     * 重新发送 EWT outbox 中未确认的确认权证释放请求
+     * 通常在进程重启后调用。以有界并发按需发送，阻塞直到所有条目处理完成；成功的条目被标记为已确认，
+     * 被服务端永久拒绝的条目（业务错误或 401、403、408 以外的 4xx，例如业务编号无效或已释放）同样被标记为已确认、
+     * 不再重放，失败结果照常交给处理器；网络异常、429、5xx 和认证失败的条目保留在 outbox 中，可以再次重放。
+     * 正在由其他调用发送的条目不会被重复发送。
+     *
+     * @param maxConcurrency 最大并发请求数
+     * @param handler        单个条目的结果处理器（按完成顺序交付，在调用线程上执行）
+     * @throws IllegalStateException    如果未启用 EWT outbox
+     * @throws IllegalArgumentException 如果并发数不大于 0
+     * @throws InterruptedException     如果等待期间线程被中断
+     * @see Config#WithEWTOutbox(java.nio.file.Path)
+     */
+    public void ReplayEWTOutbox(int maxConcurrency,
+                                Consumer<BatchItemResult<EWTBizNoInfo>> handler) throws InterruptedException {
+        if (outbox == null) {
+            throw new IllegalStateException("未启用 EWT outbox");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("MaxConcurrency 必须大于 0");
+        }
+        BatchExecutor.run(outbox.claimPending(), maxConcurrency, false,
+                entry -> sendLogged(entry, null),
+                r -> handler.accept(new BatchItemResult<>(r.getIndex(), r.getItem().info, r.getResult(), r.getError())));
+    }
+
+    /**
+     * 获取 EWT outbox 中未确认的条目数（包括正在发送的）
+     *
+     * @return 条目数；未启用 EWT outbox 时为 0
+     */
+    public int PendingEWTConfirmations() {
+        return outbox != null ? outbox.pendingCount() : 0;
+    }
+
+    /**
+     * 获取因请求合并而未实际发出的调用次数
+     *
+     * @return 节省的调用次数；未启用请求合并时为 0
+     */
+    public long CoalescedCalls() {
+        return singleFlight != null ? singleFlight.saved() : 0;
+    }
+
+    /**
+     * 确认权证释放：启用 outbox 时先写入日志并落盘，成功后标记为已确认
+     */
+    private Result<String> confirm(EWTBizNoInfo ewtBizNoInfo, CallOptions options) throws IOException {
+        if (outbox == null) {
+            return post(Endpoint.EWT_CONFIRM_RELEASE_BY_PARTNER, ewtBizNoInfo, String.class, options);
+        }
+        if (options != null) {
+            options.validate();
+        }
+        EWTOutbox.Entry entry = outbox.append(ewtBizNoInfo);
+        Result<String> result = null;
+        try {
+            outbox.commit(entry.ticket);
+            result = post(Endpoint.EWT_CONFIRM_RELEASE_BY_PARTNER, ewtBizNoInfo, String.class, options);
+            return result;
+        } finally {
+            settle(entry, result);
+        }
+    }
+
+    /**
+     * 异步确认权证释放：启用 outbox 时在调用线程写入日志，由 outbox 的落盘线程落盘后发送
+     */
+    private CompletableFuture<Result<String>> confirmAsync(EWTBizNoInfo ewtBizNoInfo, CallOptions options) {
+        if (outbox == null) {
+            return postAsync(Endpoint.EWT_CONFIRM_RELEASE_BY_PARTNER, ewtBizNoInfo, String.class, options);
+        }
+        if (options != null) {
+            options.validate();
+        }
+        CompletableFuture<Result<String>> future = new CompletableFuture<>();
+        EWTOutbox.Entry entry;
+        try {
+            entry = outbox.append(ewtBizNoInfo);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        // 并发调用的落盘由 outbox 的落盘线程合并为一次，落盘后在该线程上签名并发出请求（不阻塞）
+        CompletableFuture<Void> durable = outbox.commitAsync(entry.ticket);
+        durable.whenComplete((ignored, error) -> {
+            if (error != null || future.isDone()) {
+                // 落盘失败或等待期间已被取消，条目留待重放
+                settle(entry, null);
+                if (error != null) {
+                    future.completeExceptionally(error);
+                }
+                return;
+            }
+            CompletableFuture<Result<String>> call = sendLogged(entry, options);
+            future.whenComplete((result, e) -> {
+                if (future.isCancelled()) {
+                    call.cancel(true);
+                }
+            });
+            call.whenComplete((result, e) -> {
+                if (e != null) {
+                    future.completeExceptionally(unwrap(e));
+                } else {
+                    future.complete(result);
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * 发送已写入 outbox 的条目，结果交付前完成确认或释放占用
+     */
+    private CompletableFuture<Result<String>> sendLogged(EWTOutbox.Entry entry, CallOptions options) {
+        CompletableFuture<Result<String>> call =
+                postAsync(Endpoint.EWT_CONFIRM_RELEASE_BY_PARTNER, entry.info, String.class, options);
+        CompletableFuture<Result<String>> future =
+                call.whenComplete((result, error) -> settle(entry, error == null ? result : null));
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 成功或被服务端永久拒绝时确认 outbox 条目，否则释放占用以便重放
+     */
+    private void settle(EWTOutbox.Entry entry, Result<String> result) {
+        if (result == null || (!result.isSuccess() && !rejectedPermanently(result))) {
+            outbox.release(entry);
+            return;
+        }
+        try {
+            outbox.ack(entry);
+        } catch (IOException e) {
+            // 确认写入失败只会导致条目在重放时被再次发送
+            outbox.release(entry);
+        }
+    }
+
+    /**
+     * 服务端是否永久拒绝了该请求：状态码不可重试（业务错误或 4xx），且不是认证失败（401、403）或请求超时（408）；
+     * 认证失败通常源于凭证或时钟配置，修正后重放即可成功，因此不视为永久拒绝
+     */
+    private static boolean rejectedPermanently(Result<?> result) {
+        int status = result.httpStatus();
+        return status != 0 && !RetryPolicy.isRetryable(status) && status != 401 && status != 403 && status != 408;
     }
 
     /**
      * 执行 POST 请求
+     * 请求体只序列化一次，每次尝试都重新签名；按配置进行请求合并、重试、熔断和对冲
      *
-     * @param path 请求路径
+     * @param endpoint 接口
      * @param body 请求体对象
      * @param dataType 响应数据类型
+     * @param options 调用选项，为 null 时使用默认选项
      * @param <T> 响应数据类型
      * @return 响应结果
      * @throws IOException 如果请求失败
      */
-    private <T> Result<T> post(String path, Object body, Class<T> dataType) throws IOException {
-        // 序列化请求体
-        String jsonBody = objectMapper.writeValueAsString(body);
-        RequestBody requestBody = RequestBody.create(
-                jsonBody,
-                MediaType.get(config.getContentType())
-        );
-
-        // 生成认证 Header
-        Map<String, String> authHeaders = authService.GenerateAuthHeader("POST", path);
-
-        // 构建请求
-        Request.Builder requestBuilder = new Request.Builder()
-                .url(config.getAddress() + path)
-                .post(requestBody)
-                .addHeader("Content-Type", config.getContentType());
-
-        // 添加认证 Header
-        for (Map.Entry<String, String> entry : authHeaders.entrySet()) {
-            requestBuilder.addHeader(entry.getKey(), entry.getValue());
+    private <T> Result<T> post(Endpoint endpoint, Object body, Class<T> dataType, CallOptions options) throws IOException {
+        if (latencies.containsKey(endpoint)) {
+            // 对冲需要同时等待两个请求，同步调用直接等待异步流程的结果
+            return await(postAsync(endpoint, body, dataType, options));
         }
 
-        Request request = requestBuilder.build();
+        long deadline = deadline(options);
+        if (instrumented) {
+            instrumentation.requestStarted(endpoint);
+        }
+        try {
+            if (expired(deadline)) {
+                throw new DeadlineExceededException(endpoint, "调用已超过截止时间");
+            }
+            byte[] payload = serialize(endpoint, body);
+            Invocation call = new Invocation(endpoint, payload, options, deadline);
+            Result<T> result = coalesces(call)
+                    ? singleFlight.call(endpoint, payload, () -> execute(call, dataType))
+                    : execute(call, dataType);
+            if (instrumented) {
+                instrumentation.recordResult(endpoint, result.isSuccess(), result.getErrCode());
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            if (instrumented) {
+                instrumentation.recordError(endpoint, e);
+            }
+            throw e;
+        } finally {
+            if (instrumented) {
+                instrumentation.requestFinished(endpoint);
+            }
+        }
+    }
 
-        // 执行请求
-        try (Response response = httpClient.newCall(request).execute()) {
-            return parseResponse(response, dataType);
+    /**
+     * 同步执行已序列化的请求，失败且可重试时在退避后重新尝试；剩余时间不足一次退避时不再重试
+     */
+    private <T> Result<T> execute(Invocation call, Class<T> dataType) throws IOException {
+        int maxAttempts = maxAttempts(call.endpoint);
+        for (int attempt = 1; ; attempt++) {
+            Attempt<T> outcome;
+            try {
+                outcome = attempt(call, dataType);
+            } catch (IOException | RuntimeException e) {
+                if (attempt >= maxAttempts || !RetryPolicy.isRetryable(e) || !backoff(call, attempt)) {
+                    throw e;
+                }
+                continue;
+            }
+            if (attempt >= maxAttempts || !RetryPolicy.isRetryable(outcome.status) || !backoff(call, attempt)) {
+                return outcome.result;
+            }
         }
     }
 
     /**
-     * 解析响应
+     * 异步执行 POST 请求
+     * 序列化和首次签名在调用线程完成，响应解析在 {@link Config#getAsyncExecutor()} 上执行，
+     * 均不占用传输层的 I/O 线程
      *
-     * @param response HTTP 响应
+     * @param endpoint 接口
+     * @param body 请求体对象
      * @param dataType 响应数据类型
+     * @param options 调用选项，为 null 时使用默认选项
      * @param <T> 响应数据类型
-     * @return 解析后的结果
-     * @throws IOException 如果解析失败
+     * @return 响应结果的 Future
      */
-    private <T> Result<T> parseResponse(Response response, Class<T> dataType) throws IOException {
-        Result<T> result = new Result<>();
-        result.setCode(response.code());
+    private <T> CompletableFuture<Result<T>> postAsync(Endpoint endpoint, Object body, Class<T> dataType,
+                                                       CallOptions options) {
+        long deadline = deadline(options);
+        CompletableFuture<Result<T>> future = new CompletableFuture<>();
+        if (instrumented) {
+            instrumentation.requestStarted(endpoint);
+            future.whenComplete((result, error) -> {
+                if (error != null) {
+                    instrumentation.recordError(endpoint, unwrap(error));
+                } else {
+                    instrumentation.recordResult(endpoint, result.isSuccess(), result.getErrCode());
+                }
+                instrumentation.requestFinished(endpoint);
+            });
+        }
 
-        String responseBody = response.body() != null ? response.body().string() : "";
+        if (expired(deadline)) {
+            future.completeExceptionally(new DeadlineExceededException(endpoint, "调用已超过截止时间"));
+            return future;
+        }
 
-        if (response.isSuccessful()) {
-            try {
-                // 尝试解析 JSON 响应
-                // 支持两种格式：{"result":{...}} 或直接 {...}
-                Result<T> parsedResult;
+        byte[] payload;
+        try {
+            payload = serialize(endpoint, body);
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        Invocation call = new Invocation(endpoint, payload, options, deadline);
+
+        if (coalesces(call)) {
+            CompletableFuture<Result<T>> shared = singleFlight.callAsync(endpoint, payload, () -> {
+                CompletableFuture<Result<T>> inner = new CompletableFuture<>();
+                executeAsync(call, dataType, 1, inner);
+                return inner;
+            });
+            shared.whenComplete((result, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(unwrap(error));
+                } else {
+                    future.complete(result);
+                }
+            });
+            future.whenComplete((result, error) -> {
+                if (future.isCancelled()) {
+                    shared.cancel(true);
+                }
+            });
+            return future;
+        }
+
+        executeAsync(call, dataType, 1, future);
+        return future;
+    }
+
+    /**
+     * 发起第 attempt 次异步尝试，失败且可重试时在退避后发起下一次；剩余时间不足一次退避时不再重试
+     */
+    private <T> void executeAsync(Invocation call, Class<T> dataType,
+                                  int attempt, CompletableFuture<Result<T>> future) {
+        if (future.isDone()) {
+            // 退避期间已被取消
+            return;
+        }
+
+        CompletableFuture<Attempt<T>> current = latencies.containsKey(call.endpoint)
+                ? hedgedAttemptAsync(call, dataType)
+                : attemptAsync(call, dataType);
+        // 取消 Future 时同步取消当前尝试
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                current.cancel(true);
+            }
+        });
+
+        current.whenComplete((outcome, error) -> {
+            if (future.isDone()) {
+                return;
+            }
+            boolean last = attempt >= maxAttempts(call.endpoint);
+            long delay = last ? 0 : retryPolicy.backoffNanos(attempt);
+            last = last || delay >= call.remainingNanos(System.nanoTime());
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                if (last || !RetryPolicy.isRetryable(cause)) {
+                    future.completeExceptionally(cause);
+                    return;
+                }
+            } else if (last || !RetryPolicy.isRetryable(outcome.status)) {
+                future.complete(outcome.result);
+                return;
+            }
+            // 退避结束后在异步线程池上重新签名并发出请求
+            schedule(delay, () -> executeAsync(call, dataType, attempt + 1, future), future);
+        });
+    }
+
+    /**
+     * 同步执行一次尝试：等待限流和并发许可，然后签名、发送并解析
+     */
+    private <T> Attempt<T> attempt(Invocation call, Class<T> dataType) throws IOException {
+        Endpoint endpoint = call.endpoint;
+        if (expired(call.deadline)) {
+            throw new DeadlineExceededException(endpoint, "调用已超过截止时间");
+        }
+        CircuitBreaker breaker = breakers.get(endpoint);
+        if (breaker != null && !breaker.tryAcquire()) {
+            throw new CircuitBreakerOpenException(endpoint);
+        }
+
+        int status = 0;
+        Throwable error = null;
+        long permitStart = -1;
+        try {
+            awaitLimits(call);
+            if (concurrencyLimiter != null) {
+                permitStart = System.nanoTime();
+            }
+            if (expired(call.deadline)) {
+                throw new DeadlineExceededException(endpoint, "等待限流许可后已超过截止时间");
+            }
+
+            // 等待结束后再签名，保证时间戳新鲜
+            TransportRequest request = signedRequest(call);
+            long start = instrumented || clockSkew != null ? System.nanoTime() : 0;
+            long sent = start;
+            try (TransportResponse response = transport.execute(request)) {
+                String date = clockSkew != null ? observeClock(response, sent) : null;
+                if (instrumented) {
+                    start = phase(endpoint, Instrumentation.Phase.NETWORK, start);
+                }
+                status = response.code();
+                Result<T> result = responseParser.parse(response, dataType);
+                if (instrumented) {
+                    phase(endpoint, Instrumentation.Phase.PARSING, start);
+                }
+                if (clockSkew != null) {
+                    observeRejection(date, sent, status, result);
+                }
+                return new Attempt<>(status, result);
+            }
+        } catch (IOException e) {
+            error = e;
+            throw (IOException) deadlineExceeded(call, e);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            if (breaker != null) {
+                report(breaker, status, error);
+            }
+            if (permitStart >= 0) {
+                releasePermit(permitStart, status, error);
+            }
+        }
+    }
+
+    /**
+     * 阻塞等待限流令牌和并发许可，总等待时间不超过 {@link Config#getLimiterMaxWait()} 和调用的剩余时间
+     */
+    private void awaitLimits(Invocation call) throws IOException {
+        Endpoint endpoint = call.endpoint;
+        long now = System.nanoTime();
+        long remaining = call.remainingNanos(now);
+        long maxWait = Math.min(limiterMaxWaitNanos, remaining);
+        long deadline = now + maxWait;
+        try {
+            if (rateLimiter != null) {
+                long wait = rateLimiter.reserve(maxWait);
+                if (wait < 0) {
+                    throw limitExceeded(endpoint, remaining < limiterMaxWaitNanos, "等待限流令牌超时");
+                }
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (concurrencyLimiter != null) {
+                CompletableFuture<Void> permit = concurrencyLimiter.acquire(call.priority());
                 try {
-                    // 先尝试解析为包装格式 {"result":{...}}
-                    java.util.Map<String, Object> wrapper = objectMapper.readValue(
-                            responseBody,
-                            java.util.Map.class
-                    );
-                    if (wrapper.containsKey("result")) {
-                        Object resultObj = wrapper.get("result");
-                        parsedResult = objectMapper.convertValue(
-                                resultObj,
-                                objectMapper.getTypeFactory().constructParametricType(Result.class, dataType)
-                        );
-                    } else {
-                        // 直接解析为 Result
-                        parsedResult = objectMapper.readValue(
-                                responseBody,
-                                objectMapper.getTypeFactory().constructParametricType(Result.class, dataType)
-                        );
+                    permit.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // 取消失败说明超时的同时已获得许可
+                    if (permit.cancel(false)) {
+                        throw limitExceeded(endpoint, remaining < limiterMaxWaitNanos, "等待并发许可超时");
                     }
-                } catch (Exception e) {
-                    // 如果包装格式解析失败，尝试直接解析
-                    parsedResult = objectMapper.readValue(
-                            responseBody,
-                            objectMapper.getTypeFactory().constructParametricType(Result.class, dataType)
-                    );
-                }
-                
-                result.setSuccess(parsedResult.isSuccess());
-                result.setCode(parsedResult.getCode());
-                result.setErrCode(parsedResult.getErrCode());
-                result.setMessage(parsedResult.getMessage());
-                result.setData(parsedResult.getData());
-            } catch (Exception e) {
-                // 如果解析失败，尝试作为字符串处理
-                if (dataType == String.class) {
-                    result.setSuccess(true);
-                    result.setData((T) responseBody);
-                } else {
-                    result.setSuccess(false);
-                    result.setMessage("解析响应失败: " + e.getMessage());
+                } catch (InterruptedException e) {
+                    if (!permit.cancel(false)) {
+                        concurrencyLimiter.release();
+                    }
+                    throw e;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待限流许可时被中断");
+        }
+    }
+
+    /**
+     * 异步执行一次尝试：等待限流和并发许可（不阻塞线程），然后签名、发送并解析；
+     * 取消返回的 Future 会放弃排队或取消底层请求
+     */
+    private <T> CompletableFuture<Attempt<T>> attemptAsync(Invocation call, Class<T> dataType) {
+        Endpoint endpoint = call.endpoint;
+        CompletableFuture<Attempt<T>> future = new CompletableFuture<>();
+        if (expired(call.deadline)) {
+            future.completeExceptionally(new DeadlineExceededException(endpoint, "调用已超过截止时间"));
+            return future;
+        }
+        CircuitBreaker breaker = breakers.get(endpoint);
+        if (breaker != null) {
+            if (!breaker.tryAcquire()) {
+                future.completeExceptionally(new CircuitBreakerOpenException(endpoint));
+                return future;
+            }
+            future.whenComplete((outcome, error) -> report(breaker, outcome != null ? outcome.status : 0, error));
+        }
+
+        if (rateLimiter == null && concurrencyLimiter == null) {
+            sendAsync(call, dataType, future);
+            return future;
+        }
+
+        long now = System.nanoTime();
+        long remaining = call.remainingNanos(now);
+        long maxWait = Math.min(limiterMaxWaitNanos, remaining);
+        boolean deadlineBound = remaining < limiterMaxWaitNanos;
+        long wait = rateLimiter != null ? rateLimiter.reserve(maxWait) : 0;
+        if (wait < 0) {
+            future.completeExceptionally(limitExceeded(endpoint, deadlineBound, "等待限流令牌超时"));
+        } else if (wait > 0) {
+            schedule(wait, () -> acquireAndSendAsync(call, dataType, future, now + maxWait, deadlineBound), future);
         } else {
-            result.setSuccess(false);
+            acquireAndSendAsync(call, dataType, future, now + maxWait, deadlineBound);
+        }
+        return future;
+    }
+
+    private <T> void acquireAndSendAsync(Invocation call, Class<T> dataType,
+                                         CompletableFuture<Attempt<T>> future, long deadline, boolean deadlineBound) {
+        if (future.isDone()) {
+            return;
+        }
+        if (concurrencyLimiter == null) {
+            sendAsync(call, dataType, future);
+            return;
+        }
+
+        CompletableFuture<Void> permit = concurrencyLimiter.acquire(call.priority());
+        // Future 被取消时放弃排队；已获得许可时取消无效
+        future.whenComplete((outcome, error) -> permit.cancel(false));
+        permit.orTimeout(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        permit.whenComplete((granted, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error instanceof TimeoutException
+                        ? limitExceeded(call.endpoint, deadlineBound, "等待并发许可超时") : error);
+                return;
+            }
+            long permitStart = System.nanoTime();
+            future.whenComplete((outcome, e) -> releasePermit(permitStart, outcome != null ? outcome.status : 0, e));
+            sendAsync(call, dataType, future);
+        });
+    }
+
+    /**
+     * 签名、发送并在异步线程池上解析，结果写入 future
+     */
+    private <T> void sendAsync(Invocation call, Class<T> dataType, CompletableFuture<Attempt<T>> future) {
+        if (future.isDone()) {
+            return;
+        }
+
+        Endpoint endpoint = call.endpoint;
+        if (expired(call.deadline)) {
+            future.completeExceptionally(new DeadlineExceededException(endpoint, "等待限流许可后已超过截止时间"));
+            return;
+        }
+        LatencyTracker tracker = latencies.get(endpoint);
+        long start = instrumented || tracker != null ? System.nanoTime() : 0;
+        TransportRequest request;
+        try {
+            request = signedRequest(call);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+
+        long networkStart = instrumented || clockSkew != null ? System.nanoTime() : 0;
+        CompletableFuture<TransportResponse> pending = transport.executeAsync(request);
+        // 取消 Future 时同步取消底层请求
+        future.whenComplete((outcome, error) -> {
+            if (future.isCancelled()) {
+                pending.cancel(true);
+            }
+        });
+
+        Executor executor = config.getAsyncExecutor();
+        pending.whenComplete((response, error) -> {
+            if (error != null) {
+                future.completeExceptionally(deadlineExceeded(call, unwrap(error)));
+                return;
+            }
+            String date = clockSkew != null ? observeClock(response, networkStart) : null;
+            long parseStart = instrumented ? phase(endpoint, Instrumentation.Phase.NETWORK, networkStart) : 0;
             try {
-                // 尝试解析错误响应
-                // 支持两种格式：{"result":{...}} 或直接 {...}
-                Result<?> errorResult;
-                try {
-                    java.util.Map<String, Object> wrapper = objectMapper.readValue(
-                            responseBody,
-                            java.util.Map.class
-                    );
-                    if (wrapper.containsKey("result")) {
-                        Object resultObj = wrapper.get("result");
-                        errorResult = objectMapper.convertValue(resultObj, Result.class);
-                    } else {
-                        errorResult = objectMapper.readValue(responseBody, Result.class);
+                executor.execute(() -> {
+                    try (TransportResponse r = response) {
+                        if (!future.isDone()) {
+                            int status = r.code();
+                            Result<T> result = responseParser.parse(r, dataType);
+                            if (instrumented) {
+                                // 包含在异步线程池中排队的时间
+                                phase(endpoint, Instrumentation.Phase.PARSING, parseStart);
+                            }
+                            if (tracker != null && !RetryPolicy.isRetryable(status)) {
+                                tracker.record(System.nanoTime() - start);
+                            }
+                            if (clockSkew != null) {
+                                observeRejection(date, networkStart, status, result);
+                            }
+                            future.complete(new Attempt<>(status, result));
+                        }
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
                     }
-                } catch (Exception e) {
-                    errorResult = objectMapper.readValue(responseBody, Result.class);
+                });
+            } catch (RejectedExecutionException e) {
+                response.close();
+                future.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * 对冲尝试：首个请求在近期耗时分位数内未返回时，再发起一个重新签名的请求，
+     * 先得到的可用结果生效并取消另一个；两个请求都失败时以后完成的失败结果结束
+     */
+    private <T> CompletableFuture<Attempt<T>> hedgedAttemptAsync(Invocation call, Class<T> dataType) {
+        CompletableFuture<Attempt<T>> primary = attemptAsync(call, dataType);
+        long p = latencies.get(call.endpoint).percentile();
+        if (p < 0 || primary.isDone()) {
+            // 样本不足时不对冲
+            return primary;
+        }
+
+        CompletableFuture<Attempt<T>> winner = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<Attempt<T>>> hedge = new AtomicReference<>();
+        // 尚未完成的尝试数，归零后不再发起对冲
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<Attempt<T>, Throwable> settle = (outcome, error) -> {
+            boolean usable = error == null && !RetryPolicy.isRetryable(outcome.status);
+            if (usable || pending.decrementAndGet() == 0) {
+                if (error != null) {
+                    winner.completeExceptionally(unwrap(error));
+                } else {
+                    winner.complete(outcome);
+                }
+            }
+        };
+        winner.whenComplete((outcome, error) -> {
+            primary.cancel(true);
+            CompletableFuture<Attempt<T>> second = hedge.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+        primary.whenComplete(settle);
+
+        long delay = Math.max(hedgePolicy.getMinDelay().toNanos(), p);
+        // 异步线程池拒绝时不对冲，首个请求照常进行
+        schedule(delay, () -> {
+            int n;
+            do {
+                n = pending.get();
+                if (n == 0 || winner.isDone()) {
+                    return;
+                }
+            } while (!pending.compareAndSet(n, n + 1));
+            CompletableFuture<Attempt<T>> second = attemptAsync(call, dataType);
+            hedge.set(second);
+            second.whenComplete(settle);
+            if (winner.isDone()) {
+                second.cancel(true);
+            }
+        }, null);
+        return winner;
+    }
+
+    /**
+     * 在 SDK 定时线程上计时，到期后交给 {@link Config#getAsyncExecutor()} 执行任务，
+     * 避免在定时线程上签名、排队或发送请求
+     *
+     * @param delayNanos 延迟（纳秒）
+     * @param task 任务
+     * @param future 异步线程池拒绝任务时以该异常结束的 Future，为 null 时忽略
+     */
+    private void schedule(long delayNanos, Runnable task, CompletableFuture<?> future) {
+        Executor executor = config.getAsyncExecutor();
+        SdkExecutors.scheduler().schedule(() -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                if (future != null) {
+                    future.completeExceptionally(e);
                 }
-                result.setErrCode(errorResult.getErrCode());
-                result.setMessage(errorResult.getMessage());
-                result.setCode(errorResult.getCode());
-            } catch (Exception e) {
-                result.setMessage("请求失败: " + responseBody);
             }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * AccessId 变化时切换到新 AccessId 的共享限流器并释放原限流器（由 Client.Reload 调用）
+     * 已预约原限流器令牌的请求照常发出
+     *
+     * @param accessId 新的 AccessId
+     */
+    void switchAccessId(String accessId) {
+        if (rateLimiter == null) {
+            return;
+        }
+        limiterLock.lock();
+        try {
+            RateLimiter previous = rateLimiter;
+            if (closed.get() || previous.getAccessId().equals(accessId)) {
+                return;
+            }
+            rateLimiter = RateLimiter.forAccessId(accessId, config.getRateLimit(), config.getRateLimitBurst());
+            previous.release();
+        } finally {
+            limiterLock.unlock();
         }
+    }
+
+    /**
+     * 释放资源：释放共享限流器，落盘并关闭 EWT outbox；重复调用时不做任何事情
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        limiterLock.lock();
+        try {
+            if (rateLimiter != null) {
+                rateLimiter.release();
+            }
+        } finally {
+            limiterLock.unlock();
+        }
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
 
-        return result;
+    /**
+     * 构建已签名的 POST 请求
+     *
+     * @param endpoint 接口
+     * @param body 请求体对象
+     * @return 传输层请求
+     * @throws IOException 如果序列化失败
+     */
+    TransportRequest buildRequest(Endpoint endpoint, Object body) throws IOException {
+        return signedRequest(new Invocation(endpoint, serialize(endpoint, body), null, Long.MAX_VALUE));
     }
-}
 
+    /**
+     * 序列化请求体（直接写为 UTF-8 字节）
+     */
+    private byte[] serialize(Endpoint endpoint, Object body) throws IOException {
+        long start = instrumented ? System.nanoTime() : 0;
+        byte[] payload = codec.writeValueAsBytes(body);
+        if (instrumented) {
+            phase(endpoint, Instrumentation.Phase.SERIALIZATION, start);
+        }
+        return payload;
+    }
+
+    /**
+     * 以已序列化的请求体构建请求并签名，每次调用都使用新的 nonce 和时间戳
+     * 地址、版本、超时和签名凭证取自同一个配置快照
+     */
+    private TransportRequest signedRequest(Invocation call) {
+        long start = instrumented ? System.nanoTime() : 0;
+        TransportRequest request = authService.withSnapshot(current -> signedRequest(current, call));
+        if (instrumented) {
+            phase(call.endpoint, Instrumentation.Phase.SIGNING, start);
+        }
+        return request;
+    }
+
+    private TransportRequest signedRequest(ConfigSnapshot current, Invocation call) {
+        Endpoint endpoint = call.endpoint;
+        Config config = current.config();
+        String path = endpoint.path(config.getVersion());
+        TransportRequest request = new TransportRequest(
+                "POST",
+                config.getAddress() + path,
+                config.getContentType(),
+                call.payload
+        );
+
+        // 接口级超时，设置了截止时间时不超过剩余时间
+        Duration timeout = config.getEndpointTimeout(endpoint);
+        long timeoutMillis = timeout != null ? timeout.toMillis() : 0;
+        if (call.deadline != Long.MAX_VALUE) {
+            long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(call.remainingNanos(System.nanoTime())));
+            timeoutMillis = timeoutMillis > 0 ? Math.min(timeoutMillis, remainingMillis) : remainingMillis;
+        }
+        if (timeoutMillis > 0) {
+            request.setTimeoutMillis(timeoutMillis);
+        }
+
+        // 调用选项中的 Header 先写入，认证 Header 随后写入
+        CallOptions options = call.options;
+        if (options != null && options.hasHeaders()) {
+            options.getHeaders().forEach(request::setHeader);
+            if (options.getIdempotencyKey() != null) {
+                request.setHeader(Constants.HEADER_IDEMPOTENCY_KEY, options.getIdempotencyKey());
+            }
+        }
+
+        // 签名并直接写入认证 Header
+        authService.signRequest(current, request::setHeader, "POST", path);
+        return request;
+    }
+
+    /**
+     * 以响应的 Date Header 更新时钟偏差估计
+     *
+     * @return Date Header，供解析后判断请求是否被拒绝
+     */
+    private String observeClock(TransportResponse response, long sentNanos) {
+        String date = response.header("Date");
+        clockSkew.observe(date, sentNanos, false);
+        return date;
+    }
+
+    /**
+     * 请求认证失败（401）时直接按该次响应校正时钟偏差
+     * 服务端不区分认证失败的原因，时间戳超出有效期是可能原因之一；按 Date Header 重新取样对其他原因无害
+     */
+    private void observeRejection(String date, long sentNanos, int status, Result<?> result) {
+        if (status == 401) {
+            clockSkew.observe(date, sentNanos, true);
+        }
+    }
+
+    private int maxAttempts(Endpoint endpoint) {
+        return retryPolicy != null && retryPolicy.appliesTo(endpoint) ? retryPolicy.getMaxAttempts() : 1;
+    }
+
+    /**
+     * 重试前退避等待
+     *
+     * @return 是否可以继续重试；剩余时间不足一次退避时返回 false
+     */
+    private boolean backoff(Invocation call, int attempt) throws InterruptedIOException {
+        long delay = retryPolicy.backoffNanos(attempt);
+        if (delay >= call.remainingNanos(System.nanoTime())) {
+            return false;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("重试等待时被中断");
+        }
+    }
+
+    /**
+     * 是否合并该调用：只合并未携带调用选项的请求，避免共享彼此的截止时间和 Header
+     */
+    private boolean coalesces(Invocation call) {
+        return singleFlight != null && call.options == null && singleFlight.appliesTo(call.endpoint);
+    }
+
+    /**
+     * 验证调用选项并计算截止时间
+     *
+     * @return 截止时间（{@link System#nanoTime()} 时基）；未设置时为 {@link Long#MAX_VALUE}
+     */
+    private static long deadline(CallOptions options) {
+        if (options == null) {
+            return Long.MAX_VALUE;
+        }
+        options.validate();
+        return options.deadlineNanos(System.nanoTime());
+    }
+
+    private static boolean expired(long deadline) {
+        return deadline != Long.MAX_VALUE && deadline - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 限流等待超时：剩余时间短于最大等待时间时归为截止时间超时
+     */
+    private static IOException limitExceeded(Endpoint endpoint, boolean deadlineBound, String message) {
+        return deadlineBound
+                ? new DeadlineExceededException(endpoint, message + "，已超过截止时间")
+                : new LimitExceededException(endpoint, message);
+    }
+
+    /**
+     * 截止时间到达后的传输层失败包装为 {@link DeadlineExceededException}，原始异常作为 cause
+     */
+    private static Throwable deadlineExceeded(Invocation call, Throwable error) {
+        if (error instanceof IOException && !(error instanceof DeadlineExceededException) && expired(call.deadline)) {
+            return new DeadlineExceededException(call.endpoint, "请求超过截止时间", error);
+        }
+        return error;
+    }
+
+    /**
+     * 向熔断器报告一次尝试的结果：网络异常和可重试状态码计为失败，取消和客户端限流不计入
+     */
+    private static void report(CircuitBreaker breaker, int status, Throwable error) {
+        Throwable cause = error != null ? failure(error) : null;
+        if (cause == null) {
+            if (RetryPolicy.isRetryable(status)) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        } else if (cause instanceof IOException && !isClientSide(cause)) {
+            breaker.onFailure();
+        } else {
+            breaker.onAbort();
+        }
+    }
+
+    /**
+     * 归还并发许可：429、5xx 和超时作为过载信号，取消和客户端限流不参与调整
+     */
+    private void releasePermit(long start, int status, Throwable error) {
+        Throwable cause = error != null ? failure(error) : null;
+        if (cause == null) {
+            concurrencyLimiter.release(System.nanoTime() - start, RetryPolicy.isRetryable(status));
+        } else if (cause instanceof IOException && !isClientSide(cause)) {
+            concurrencyLimiter.release(System.nanoTime() - start,
+                    cause instanceof InterruptedIOException || cause instanceof HttpTimeoutException);
+        } else {
+            concurrencyLimiter.release();
+        }
+    }
+
+    /**
+     * 是否是请求未发送的客户端侧失败
+     */
+    private static boolean isClientSide(Throwable error) {
+        return error instanceof CircuitBreakerOpenException
+                || error instanceof LimitExceededException
+                || error instanceof DeadlineExceededException;
+    }
+
+    /**
+     * 取得用于熔断和并发调整的失败原因：请求发出后才超过截止时间的，按原始的传输层异常计算
+     */
+    private static Throwable failure(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof DeadlineExceededException && cause.getCause() != null) {
+            return cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param start 阶段开始时间（纳秒）
+     * @return 当前时间，作为下一阶段的开始时间
+     */
+    private long phase(Endpoint endpoint, Instrumentation.Phase phase, long start) {
+        long now = System.nanoTime();
+        instrumentation.recordPhase(endpoint, phase, now - start);
+        return now;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("请求被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * 一次调用的上下文：已序列化的请求体、调用选项和截止时间，在重试和对冲之间共享
+     */
+    private static final class Invocation {
+        private final Endpoint endpoint;
+        private final byte[] payload;
+        private final CallOptions options;
+        private final long deadline;
+
+        Invocation(Endpoint endpoint, byte[] payload, CallOptions options, long deadline) {
+            this.endpoint = endpoint;
+            this.payload = payload;
+            this.options = options;
+            this.deadline = deadline;
+        }
+
+        int priority() {
+            return options != null ? options.getPriority() : 0;
+        }
+
+        /**
+         * 剩余时间（纳秒），未设置截止时间时为 {@link Long#MAX_VALUE}
+         */
+        long remainingNanos(long now) {
+            return deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - now;
+        }
+    }
+
+    /**
+     * 一次尝试的结果，附带用于重试和熔断判断的 HTTP 状态码
+     */
+    private static final class Attempt<T> {
+        private final int status;
+        private final Result<T> result;
+
+        Attempt(int status, Result<T> result) {
+            this.status = status;
+            this.result = result;
+        }
+    }
+}
@@ -2,27 +2,46 @@ package com.junyouava.sdk;
 
 import com.junyouava.sdk.model.OpenIdToken;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.time.Instant;
-import java.util.Base64;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * 认证服务，提供签名和认证 Header 生成功能
  */
 public class AuthService {
-    private final Config config;
+    /**
+     * 当前生效的配置快照，Reload 时原子替换
+     */
+    private final AtomicReference<ConfigSnapshot> snapshot;
     private APIService apiService;
+    private final HMACSigner signer = new HMACSigner();
+    /**
+     * 串行化快照的替换和关闭
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private boolean closed;
+    private final NoncePool noncePool;
+    private volatile SignatureInterceptor interceptor;
+    private final OpenAuthCache openAuthCache;
+
+    /**
+     * 时钟偏差估计，未启用校正时为 null
+     */
+    private final ClockSkew clockSkew;
 
     public AuthService(Config config) {
-        this.config = config;
+        this.snapshot = new AtomicReference<>(new ConfigSnapshot(config));
+        this.noncePool = config.getNoncePoolSize() > 0 ? new NoncePool(config.getNoncePoolSize()) : null;
+        this.openAuthCache = config.getOpenAuthCacheSize() > 0
+                ? new OpenAuthCache(config.getOpenAuthCacheSize(), config.getOpenAuthCacheTTL().toNanos())
+                : null;
+        this.clockSkew = config.isClockSkewCompensation() ? new ClockSkew() : null;
     }
 
     /**
@@ -41,24 +60,154 @@ public class AuthService {
      * @throws RuntimeException 如果签名生成失败
      */
     public Signature GenerateSignature(String method, String path) {
-        try {
-            String accessId = config.getAccessId();
-            // 当前时间加上3分钟，转换为Unix时间戳（秒）
-            String timestamp = String.valueOf(Instant.now().plusSeconds(Constants.TIMESTAMP_OFFSET_SECONDS).getEpochSecond());
-            String nonce = UUID.randomUUID().toString().replace("-", "");
-
-            // 构建待签名字符串（格式：AccessId\nmethod\npath\nnonce\ntimestamp，最后没有换行符）
-            String signString = buildSignString(accessId, method, path, nonce, timestamp);
+        return withSnapshot(current -> {
+            String accessId = current.config().getAccessId();
+            String timestamp = timestamp();
+            String nonce = nonce();
 
-            // 使用 HMAC-SHA256 生成签名
-            String signature = generateHMACSignature(signString, config.getAccessKey());
+            // 使用 HMAC-SHA256 生成签名（格式：AccessId\nmethod\npath\nnonce\ntimestamp，最后没有换行符）
+            String signature = signer.sign(current.key(), accessId, method, path, nonce, timestamp);
 
             return new Signature(accessId, signature, nonce, timestamp);
-        } catch (Exception e) {
+        });
+    }
+
+    /**
+     * 签名并将认证 Header 直接写入请求（不创建 Signature 和 Header Map）
+     *
+     * @param headers 请求 Header 写入函数
+     * @param method  HTTP 方法
+     * @param path    请求路径
+     * @throws RuntimeException 如果签名生成失败
+     */
+    void signRequest(BiConsumer<String, String> headers, String method, String path) {
+        withSnapshot(current -> {
+            signRequest(current, headers, method, path);
+            return null;
+        });
+    }
+
+    /**
+     * 以指定快照的 AccessId 和 AccessKey 签名，并将认证 Header 直接写入请求
+     *
+     * @param current 配置快照
+     * @param headers 请求 Header 写入函数
+     * @param method  HTTP 方法
+     * @param path    请求路径
+     * @throws IllegalStateException 如果快照已被替换或客户端已关闭
+     */
+    void signRequest(ConfigSnapshot current, BiConsumer<String, String> headers, String method, String path) {
+        String accessId = current.config().getAccessId();
+        String timestamp = timestamp();
+        String nonce = nonce();
+        String signature = signer.sign(current.key(), accessId, method, path, nonce, timestamp);
+
+        headers.accept(Constants.HEADER_ACCESS_ID, accessId);
+        headers.accept(Constants.HEADER_SIGNATURE, signature);
+        headers.accept(Constants.HEADER_NONCE, nonce);
+        headers.accept(Constants.HEADER_TIMESTAMP, timestamp);
+    }
+
+    /**
+     * 以当前配置快照执行签名；快照在签名前恰好被 Reload 替换（旧密钥已清零）时，改用新快照重试
+     *
+     * @param action 使用快照的签名操作
+     * @return 操作结果
+     * @throws RuntimeException 如果签名失败或客户端已关闭
+     */
+    <T> T withSnapshot(Function<ConfigSnapshot, T> action) {
+        try {
+            while (true) {
+                ConfigSnapshot current = snapshot.get();
+                try {
+                    return action.apply(current);
+                } catch (IllegalStateException e) {
+                    if (snapshot.get() == current) {
+                        throw e;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
             throw new RuntimeException("生成签名失败: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 创建配置快照，AccessKey 无效时拒绝
+     *
+     * @throws IllegalArgumentException 如果 AccessKey 无效
+     */
+    private static ConfigSnapshot newSnapshot(Config config) {
+        ConfigSnapshot next = new ConfigSnapshot(config);
+        try {
+            next.key();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("AccessKey 无效: " + e.getMessage(), e);
+        }
+        return next;
+    }
+
+    /**
+     * 获取签名器（测试用）
+     *
+     * @return 签名器
+     */
+    HMACSigner signer() {
+        return signer;
+    }
+
+    /**
+     * 获取当前生效的配置快照
+     *
+     * @return 配置快照
+     */
+    ConfigSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * 原子地替换配置快照（由 Client.Reload 调用）
+     * 新的 AccessKey 在替换前解码和校验，无效时保留原快照；替换后旧快照的密钥立即清零，
+     * AccessId 变化时清空 OpenAuth 缓存
+     *
+     * @param config 已验证的新配置
+     * @throws IllegalArgumentException 如果新的 AccessKey 无效
+     * @throws IllegalStateException 如果客户端已关闭
+     */
+    void reload(Config config) {
+        ConfigSnapshot next = newSnapshot(config);
+        ConfigSnapshot previous;
+        reloadLock.lock();
+        try {
+            if (closed) {
+                next.destroy(signer);
+                throw new IllegalStateException("客户端已关闭");
+            }
+            previous = snapshot.getAndSet(next);
+        } finally {
+            reloadLock.unlock();
+        }
+        previous.destroy(signer);
+        if (!previous.config().getAccessId().equals(next.config().getAccessId())) {
+            InvalidateAllOpenAuth();
+        }
+    }
+
+    /**
+     * 获取签名拦截器，可添加到自定义的 OkHttpClient 上为任意 Junyou API 请求签名
+     *
+     * @return 签名拦截器
+     */
+    public SignatureInterceptor Interceptor() {
+        // 延迟创建，使用非 OkHttp 传输层时不加载 OkHttp 类
+        SignatureInterceptor current = interceptor;
+        if (current == null) {
+            current = new SignatureInterceptor(this);
+            interceptor = current;
+        }
+        return current;
+    }
+
     /**
      * 生成认证 Header
      *
@@ -81,6 +230,7 @@ public class AuthService {
 
     /**
      * 生成签名并调用 AuthCMT，合并返回签名信息和 OpenAuth
+     * 启用 OpenAuth 缓存（{@link Config#WithOpenAuthCache}）后，同一 openId 在有效期内复用缓存结果
      *
      * @param method      HTTP 方法（GET, POST, PUT, DELETE 等）
      * @param path        请求路径
@@ -98,11 +248,11 @@ public class AuthService {
             // 生成签名
             Signature signature = GenerateSignature(method, path);
 
-            // 调用 AuthCMT
-            Result<String> result = apiService.AuthCMT(openIdToken);
-            if (!result.isSuccess()) {
-                throw new RuntimeException("调用 AuthCMT 失败: " + result.getMessage());
-            }
+            // 获取 OpenAuth（启用缓存时优先使用缓存）
+            String openId = openIdToken != null ? openIdToken.getOpenId() : null;
+            String openAuth = openAuthCache != null && openId != null
+                    ? openAuthCache.get(openId, () -> loadOpenAuth(openIdToken))
+                    : loadOpenAuth(openIdToken);
 
             // 合并签名信息和数据
             return new SignatureWithOpenAuth(
@@ -110,7 +260,7 @@ public class AuthService {
                     signature.getSignature(),
                     signature.getNonce(),
                     signature.getTimestamp(),
-                    result.getData()
+                    openAuth
             );
         } catch (IOException e) {
             throw new RuntimeException("调用 AuthCMT 失败: " + e.getMessage(), e);
@@ -118,49 +268,105 @@ public class AuthService {
     }
 
     /**
-     * 构建待签名字符串
-     * 格式：AccessId\nmethod\npath\nnonce\ntimestamp（最后没有换行符）
-     * 与 Go SDK 保持一致：fmt.Sprintf("%s\n%s\n%s\n%s\n%s", ...)
+     * 使指定 openId 缓存的 OpenAuth 失效
      *
-     * @param accessId  访问 ID
-     * @param method    HTTP 方法
-     * @param path      请求路径
-     * @param nonce     随机字符串
-     * @param timestamp 时间戳
-     * @return 待签名字符串
+     * @param openId OpenId
      */
-    private String buildSignString(String accessId, String method, String path, String nonce, String timestamp) {
-        return accessId + "\n" + method + "\n" + path + "\n" + nonce + "\n" + timestamp;
+    public void InvalidateOpenAuth(String openId) {
+        if (openAuthCache != null && openId != null) {
+            openAuthCache.invalidate(openId);
+        }
     }
 
     /**
-     * 使用 HMAC-SHA256 生成签名
+     * 清空所有缓存的 OpenAuth
+     */
+    public void InvalidateAllOpenAuth() {
+        if (openAuthCache != null) {
+            openAuthCache.invalidateAll();
+        }
+    }
+
+    /**
+     * 获取 OpenAuth 缓存的运行指标
      *
-     * @param data      待签名数据
-     * @param secretKey 密钥（Base64 编码）
-     * @return Base64 编码的签名
-     * @throws NoSuchAlgorithmException 如果算法不存在
-     * @throws InvalidKeyException      如果密钥无效
+     * @return 指标快照；未启用缓存时各项均为 0
      */
-    private String generateHMACSignature(String data, String secretKey)
-            throws NoSuchAlgorithmException, InvalidKeyException {
-        try {
-            // 解码 Base64 密钥
-            byte[] keyBytes = Base64.getDecoder().decode(secretKey);
+    public OpenAuthCacheStats OpenAuthCacheStats() {
+        return openAuthCache != null ? openAuthCache.stats() : new OpenAuthCacheStats(0, 0, 0, 0);
+    }
+
+    /**
+     * 获取预生成 nonce 池的运行指标
+     *
+     * @return 指标快照；未启用 nonce 池时各项均为 0
+     */
+    public NoncePoolStats NoncePoolStats() {
+        return noncePool != null ? noncePool.stats() : new NoncePoolStats(0, 0, 0, 0);
+    }
+
+    /**
+     * 获取估计的本机与服务端时钟偏差
+     *
+     * @return 偏差，服务端时钟快于本机时为正；未启用 {@link Config#WithClockSkewCompensation(boolean)} 时为 0
+     */
+    public Duration ClockSkew() {
+        return clockSkew != null ? Duration.ofMillis(clockSkew.estimateMillis()) : Duration.ZERO;
+    }
 
-            // 创建 Mac 实例
-            Mac mac = Mac.getInstance(Constants.SIGNATURE_ALGORITHM);
-            SecretKeySpec secretKeySpec = new SecretKeySpec(keyBytes, Constants.SIGNATURE_ALGORITHM);
-            mac.init(secretKeySpec);
+    /**
+     * 获取时钟偏差估计，供 APIService 和签名拦截器用响应更新
+     *
+     * @return 时钟偏差估计；未启用校正时为 null
+     */
+    ClockSkew clockSkew() {
+        return clockSkew;
+    }
 
-            // 计算签名
-            byte[] signatureBytes = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    /**
+     * 释放认证服务持有的后台资源并清零签名密钥（由 Client.Close 调用），之后不能再签名
+     */
+    void close() {
+        if (noncePool != null) {
+            noncePool.close();
+        }
+        reloadLock.lock();
+        try {
+            closed = true;
+            snapshot.get().destroy(signer);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
 
-            // 返回 Base64 编码的签名
-            return Base64.getEncoder().encodeToString(signatureBytes);
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("AccessKey Base64 解码失败: " + e.getMessage(), e);
+    /**
+     * 调用 AuthCMT 获取 OpenAuth
+     *
+     * @param openIdToken OpenId Token
+     * @return OpenAuth
+     * @throws IOException 如果请求失败
+     * @throws RuntimeException 如果 AuthCMT 返回失败
+     */
+    private String loadOpenAuth(OpenIdToken openIdToken) throws IOException {
+        Result<String> result = apiService.AuthCMT(openIdToken);
+        if (!result.isSuccess()) {
+            throw new RuntimeException("调用 AuthCMT 失败: " + result.getMessage());
         }
+        return result.getData();
+    }
+
+    /**
+     * 生成时间戳：当前时间（粗粒度时钟，启用校正时加上时钟偏差）加上3分钟，转换为Unix时间戳（秒）
+     */
+    private String timestamp() {
+        long now = CoarseClock.currentSeconds();
+        if (clockSkew != null) {
+            now += clockSkew.offsetSeconds();
+        }
+        return String.valueOf(now + Constants.TIMESTAMP_OFFSET_SECONDS);
     }
-}
 
+    private String nonce() {
+        return noncePool != null ? noncePool.next() : NoncePool.generate();
+    }
+}
@@ -0,0 +1,123 @@
+package com.junyouava.sdk;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 有界并发的批量执行器
+ * <p>
+ * 输入按需从迭代器中拉取，已提交但尚未交付的条目数量始终不超过并发上限，
+ * 因此无论输入多大，内存占用都保持平稳。结果统一在调用线程上交付给处理器。
+ * </p>
+ */
+final class BatchExecutor {
+
+    private BatchExecutor() {
+    }
+
+    /**
+     * 执行批量调用，阻塞直到所有条目处理完成
+     *
+     * @param items          输入条目（按需拉取）
+     * @param maxConcurrency 最大并发数
+     * @param ordered        是否按输入顺序交付结果；为 false 时按完成顺序交付
+     * @param call           单个条目的异步调用
+     * @param handler        结果处理器
+     * @param <I>            输入条目类型
+     * @throws InterruptedException 如果等待期间线程被中断；此时尚未完成的调用被取消
+     */
+    static <I> void run(Iterator<I> items,
+                        int maxConcurrency,
+                        boolean ordered,
+                        Function<I, CompletableFuture<Result<String>>> call,
+                        Consumer<BatchItemResult<I>> handler) throws InterruptedException {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("MaxConcurrency 必须大于 0");
+        }
+
+        BlockingQueue<BatchItemResult<I>> completed = new LinkedBlockingQueue<>();
+        // 有序交付时的重排窗口，序号 [delivered, delivered + maxConcurrency) 映射到互不冲突的槽位
+        @SuppressWarnings("unchecked")
+        BatchItemResult<I>[] window = ordered ? new BatchItemResult[maxConcurrency] : null;
+
+        // 尚未完成的调用，异常退出（中断、处理器或迭代器抛出异常）时取消
+        Set<CompletableFuture<Result<String>>> pending = ConcurrentHashMap.newKeySet();
+
+        long submitted = 0;
+        long delivered = 0;
+        // 已提交但尚未交付的条目数
+        int outstanding = 0;
+
+        try {
+            while (true) {
+                while (outstanding < maxConcurrency && items.hasNext()) {
+                    submit(items.next(), submitted++, call, completed, pending);
+                    outstanding++;
+                }
+                if (outstanding == 0) {
+                    return;
+                }
+
+                BatchItemResult<I> itemResult = completed.take();
+                if (!ordered) {
+                    outstanding--;
+                    handler.accept(itemResult);
+                    continue;
+                }
+
+                window[slot(itemResult.getIndex(), maxConcurrency)] = itemResult;
+                int next;
+                while (window[next = slot(delivered, maxConcurrency)] != null) {
+                    BatchItemResult<I> ready = window[next];
+                    window[next] = null;
+                    delivered++;
+                    outstanding--;
+                    handler.accept(ready);
+                }
+            }
+        } finally {
+            // 正常结束时所有调用都已完成，集合为空
+            for (CompletableFuture<Result<String>> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <I> void submit(I item,
+                                   long index,
+                                   Function<I, CompletableFuture<Result<String>>> call,
+                                   BlockingQueue<BatchItemResult<I>> completed,
+                                   Set<CompletableFuture<Result<String>>> pending) {
+        CompletableFuture<Result<String>> future;
+        try {
+            future = call.apply(item);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        pending.add(future);
+        CompletableFuture<Result<String>> f = future;
+        future.whenComplete((result, error) -> {
+            pending.remove(f);
+            completed.add(new BatchItemResult<>(index, item, error == null ? result : null, unwrap(error)));
+        });
+    }
+
+    private static int slot(long index, int maxConcurrency) {
+        return (int) (index % maxConcurrency);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,65 @@
+package com.junyouava.sdk;
+
+/**
+ * 批量调用中单个条目的结果
+ *
+ * @param <T> 请求条目类型
+ */
+public class BatchItemResult<T> {
+    private final long index;
+    private final T item;
+    private final Result<String> result;
+    private final Throwable error;
+
+    public BatchItemResult(long index, T item, Result<String> result, Throwable error) {
+        this.index = index;
+        this.item = item;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * 获取条目在输入中的序号（从 0 开始）
+     *
+     * @return 序号
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * 获取请求条目
+     *
+     * @return 请求条目
+     */
+    public T getItem() {
+        return item;
+    }
+
+    /**
+     * 获取响应结果（请求失败时为 null）
+     *
+     * @return 响应结果
+     */
+    public Result<String> getResult() {
+        return result;
+    }
+
+    /**
+     * 获取请求异常（如网络错误，请求成功返回时为 null）
+     *
+     * @return 请求异常
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * 是否成功（请求未出错且业务结果成功）
+     *
+     * @return 是否成功
+     */
+    public boolean isSuccess() {
+        return error == null && result != null && result.isSuccess();
+    }
+}
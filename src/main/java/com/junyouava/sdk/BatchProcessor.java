@@ -0,0 +1,367 @@
+package com.junyouava.sdk;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 有界并发的批量处理器（{@link Flow.Processor}，与 Reactive Streams 兼容）
+ * <p>
+ * 向上游请求的条目数由下游需求和在途上限共同决定：已请求但未交付的条目始终不超过在途上限，
+ * 也不超过下游尚未满足的需求，因此上游的生产速度跟随服务端的处理速度。
+ * 单个条目的网络失败作为 {@link BatchItemResult#getError()} 交付，不终止整个流；
+ * 上游完成或失败时，先交付所有在途条目的结果，再向下游传递完成或错误信号。
+ * 只支持一个下游订阅者。
+ * </p>
+ *
+ * @param <I> 输入条目类型
+ */
+final class BatchProcessor<I> implements Flow.Processor<I, BatchItemResult<I>> {
+    private final int maxInFlight;
+    private final boolean ordered;
+    private final Function<I, CompletableFuture<Result<String>>> call;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * 串行化向下游发出的信号：只有把计数从 0 增加的线程执行交付循环
+     */
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Set<CompletableFuture<Result<String>>> pending = ConcurrentHashMap.newKeySet();
+
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super BatchItemResult<I>> downstream;
+
+    /**
+     * 有序交付时的重排窗口，序号 [delivered, delivered + maxInFlight) 映射到互不冲突的槽位
+     */
+    private final BatchItemResult<I>[] window;
+    /**
+     * 无序交付时已完成、待交付的结果
+     */
+    private final ArrayDeque<BatchItemResult<I>> ready;
+
+    /**
+     * 下游尚未满足的需求
+     */
+    private long demand;
+    /**
+     * 已向上游请求、尚未收到的条目数
+     */
+    private long requested;
+    /**
+     * 已收到、尚未交付的条目数（包括已完成但在重排窗口中等待的）
+     */
+    private int inFlight;
+    private long received;
+    private long delivered;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    /**
+     * 下游违反规范（请求数不大于 0）时的错误，由交付循环向下游传递
+     */
+    private Throwable downstreamError;
+    private boolean cancelled;
+    private boolean terminated;
+
+    @SuppressWarnings("unchecked")
+    BatchProcessor(int maxInFlight, boolean ordered, Function<I, CompletableFuture<Result<String>>> call) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("MaxInFlight 必须大于 0");
+        }
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+        this.call = call;
+        this.window = ordered ? new BatchItemResult[maxInFlight] : null;
+        this.ready = ordered ? null : new ArrayDeque<>();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super BatchItemResult<I>> subscriber) {
+        boolean accepted;
+        lock.lock();
+        try {
+            accepted = downstream == null;
+            if (accepted) {
+                downstream = subscriber;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!accepted) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("BatchProcessor 只支持一个订阅者"));
+            return;
+        }
+        subscriber.onSubscribe(new Downstream());
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        lock.lock();
+        try {
+            if (upstream != null || cancelled) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(I item) {
+        long index;
+        lock.lock();
+        try {
+            if (cancelled || upstreamDone) {
+                return;
+            }
+            requested--;
+            inFlight++;
+            index = received++;
+        } finally {
+            lock.unlock();
+        }
+
+        CompletableFuture<Result<String>> future;
+        try {
+            future = call.apply(item);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        pending.add(future);
+        // cancel() 可能已遍历过 pending，此时由这里取消
+        if (isCancelled()) {
+            future.cancel(true);
+        }
+        CompletableFuture<Result<String>> f = future;
+        future.whenComplete((result, error) -> {
+            pending.remove(f);
+            complete(new BatchItemResult<>(index, item, error == null ? result : null, unwrap(error)));
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        lock.lock();
+        try {
+            upstreamDone = true;
+            upstreamError = throwable;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            upstreamDone = true;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void complete(BatchItemResult<I> itemResult) {
+        lock.lock();
+        try {
+            if (ordered) {
+                window[slot(itemResult.getIndex())] = itemResult;
+            } else {
+                ready.add(itemResult);
+            }
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    /**
+     * 交付循环：交付已就绪的结果、按剩余容量向上游请求、在全部交付后传递终止信号
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (true) {
+                BatchItemResult<I> next = null;
+                Flow.Subscriber<? super BatchItemResult<I>> subscriber;
+                Flow.Subscription subscription = null;
+                long toRequest = 0;
+                boolean terminate = false;
+                Throwable error = null;
+
+                lock.lock();
+                try {
+                    subscriber = downstream;
+                    if (terminated || subscriber == null) {
+                        break;
+                    }
+                    if (downstreamError == null && cancelled) {
+                        break;
+                    }
+                    if (downstreamError == null && demand > 0) {
+                        next = poll();
+                    }
+                    if (downstreamError != null) {
+                        terminated = true;
+                        terminate = true;
+                        error = downstreamError;
+                    } else if (next != null) {
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                        inFlight--;
+                        delivered++;
+                    } else if (upstreamDone && inFlight == 0) {
+                        terminated = true;
+                        terminate = true;
+                        error = upstreamError;
+                    } else if (upstream != null && !upstreamDone) {
+                        long capacity = Math.min(maxInFlight, demand) - requested - inFlight;
+                        if (capacity > 0) {
+                            toRequest = capacity;
+                            requested += capacity;
+                            subscription = upstream;
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (next != null) {
+                    subscriber.onNext(next);
+                    continue;
+                }
+                if (terminate) {
+                    if (error != null) {
+                        subscriber.onError(error);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                    break;
+                }
+                if (subscription != null) {
+                    // 上游可能在 request 中同步调用 onNext，此时新的交付由 missed 计数驱动
+                    subscription.request(toRequest);
+                }
+                break;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * 取出下一个可交付的结果，调用方持有锁
+     */
+    private BatchItemResult<I> poll() {
+        if (!ordered) {
+            return ready.poll();
+        }
+        int next = slot(delivered);
+        BatchItemResult<I> itemResult = window[next];
+        window[next] = null;
+        return itemResult;
+    }
+
+    private boolean isCancelled() {
+        lock.lock();
+        try {
+            return cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel() {
+        Flow.Subscription subscription;
+        lock.lock();
+        try {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            subscription = upstream;
+            if (ready != null) {
+                ready.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        for (CompletableFuture<Result<String>> future : pending) {
+            future.cancel(true);
+        }
+    }
+
+    private int slot(long index) {
+        return (int) (index % maxInFlight);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * 下游订阅
+     */
+    private final class Downstream implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                lock.lock();
+                try {
+                    if (!cancelled && downstreamError == null) {
+                        downstreamError = new IllegalArgumentException("请求数必须大于 0");
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                // 先取消上游和在途调用，再由交付循环串行地传递错误
+                cancel();
+                drain();
+                return;
+            }
+            lock.lock();
+            try {
+                long sum = demand + n;
+                demand = sum < 0 ? Long.MAX_VALUE : sum;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            BatchProcessor.this.cancel();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.junyouava.sdk;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单次调用的选项：截止时间、优先级、幂等键和额外的请求 Header
+ * <p>
+ * 截止时间覆盖整个调用（包括排队、重试退避和网络请求）：已过期的调用在签名前即以
+ * {@link DeadlineExceededException} 失败，剩余时间会作为传输层的整体调用超时。
+ * 同一个选项对象可以在多次调用间复用，{@link #WithTimeout(Duration)} 从每次调用开始时计算。
+ * </p>
+ */
+public class CallOptions {
+    /**
+     * 由签名和传输层设置、不允许覆盖的 Header
+     */
+    private static final String[] RESERVED_HEADERS = {
+            Constants.HEADER_ACCESS_ID,
+            Constants.HEADER_SIGNATURE,
+            Constants.HEADER_NONCE,
+            Constants.HEADER_TIMESTAMP,
+            "Content-Type",
+            "Content-Length",
+            "Host"
+    };
+
+    private Duration timeout;
+    private Instant deadline;
+    private int priority;
+    private String idempotencyKey;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    /**
+     * 创建默认选项（无截止时间，优先级为 0）
+     *
+     * @return 选项对象
+     */
+    public static CallOptions DefaultCallOptions() {
+        return new CallOptions();
+    }
+
+    /**
+     * 设置调用超时（从调用开始时计算）
+     *
+     * @param timeout 超时时间
+     * @return 当前选项对象（支持链式调用）
+     */
+    public CallOptions WithTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * 设置绝对截止时间；与 {@link #WithTimeout(Duration)} 同时设置时以较早者为准
+     *
+     * @param deadline 截止时间
+     * @return 当前选项对象（支持链式调用）
+     */
+    public CallOptions WithDeadline(Instant deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * 设置优先级：在自适应并发限制的等待队列中，优先级高的调用先获得许可（同优先级按到达顺序）
+     * 未启用 {@link Config#WithAdaptiveConcurrency(int, int)} 时没有排队，优先级不生效
+     *
+     * @param priority 优先级，默认 0，数值越大越优先
+     * @return 当前选项对象（支持链式调用）
+     */
+    public CallOptions WithPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * 设置幂等键，以 {@value Constants#HEADER_IDEMPOTENCY_KEY} Header 发送；重试和对冲请求使用同一个幂等键
+     *
+     * @param idempotencyKey 幂等键
+     * @return 当前选项对象（支持链式调用）
+     */
+    public CallOptions WithIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+        return this;
+    }
+
+    /**
+     * 添加额外的请求 Header（不能覆盖认证 Header 和 Content-Type）
+     *
+     * @param name  Header 名称
+     * @param value Header 值
+     * @return 当前选项对象（支持链式调用）
+     */
+    public CallOptions WithHeader(String name, String value) {
+        this.headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * 验证选项是否有效
+     *
+     * @throws IllegalArgumentException 如果选项无效
+     */
+    public void validate() {
+        if (timeout != null && timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout 不能小于 0");
+        }
+        if (idempotencyKey != null && idempotencyKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("IdempotencyKey 不能为空字符串");
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (name == null || name.trim().isEmpty() || header.getValue() == null) {
+                throw new IllegalArgumentException("Header 名称和值不能为空");
+            }
+            for (String reserved : RESERVED_HEADERS) {
+                if (reserved.equalsIgnoreCase(name)) {
+                    throw new IllegalArgumentException("不能通过 CallOptions 设置 Header: " + name);
+                }
+            }
+        }
+    }
+
+    /**
+     * 计算本次调用的截止时间
+     *
+     * @param startNanos 调用开始时的 {@link System#nanoTime()}
+     * @return 截止时间（{@link System#nanoTime()} 时基）；未设置时返回 {@link Long#MAX_VALUE}
+     */
+    long deadlineNanos(long startNanos) {
+        long result = Long.MAX_VALUE;
+        if (timeout != null) {
+            result = startNanos + saturatedNanos(timeout);
+        }
+        if (deadline != null) {
+            long remaining = saturatedNanos(Duration.between(Instant.now(), deadline));
+            result = Math.min(result, startNanos + remaining);
+        }
+        return result;
+    }
+
+    /**
+     * 是否携带会改变请求内容的选项（幂等键或额外 Header）
+     */
+    boolean hasHeaders() {
+        return idempotencyKey != null || !headers.isEmpty();
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE / 2;
+        }
+    }
+
+    // Getters
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+}
@@ -0,0 +1,66 @@
+package com.junyouava.sdk;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单个接口的熔断器
+ * <p>
+ * 连续失败（网络异常或 HTTP 429、5xx）达到阈值后打开，打开期间请求直接失败；
+ * 打开时长结束后进入半开状态，只放行一个探测请求，成功则关闭，失败则重新打开。
+ * </p>
+ */
+final class CircuitBreaker {
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    /**
+     * @param failureThreshold 打开熔断器的连续失败次数
+     * @param openNanos        打开时长（纳秒）
+     */
+    CircuitBreaker(int failureThreshold, long openNanos) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+    }
+
+    /**
+     * 请求是否放行；放行后必须调用 {@link #onSuccess()}、{@link #onFailure()} 或 {@link #onAbort()} 之一
+     *
+     * @return 是否放行
+     */
+    boolean tryAcquire() {
+        switch (state.get()) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return System.nanoTime() - openedAt >= openNanos && state.compareAndSet(OPEN, HALF_OPEN);
+            default:
+                return false;
+        }
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(CLOSED);
+    }
+
+    void onFailure() {
+        if (state.get() == HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.nanoTime();
+            state.set(OPEN);
+        }
+    }
+
+    /**
+     * 请求被取消，没有结论：半开状态下交还探测机会
+     */
+    void onAbort() {
+        state.compareAndSet(HALF_OPEN, OPEN);
+    }
+}
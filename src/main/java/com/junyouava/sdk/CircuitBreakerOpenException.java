@@ -0,0 +1,26 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+
+/**
+ * 熔断器打开时快速失败抛出的异常，请求未发送
+ */
+public class CircuitBreakerOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final Endpoint endpoint;
+
+    public CircuitBreakerOpenException(Endpoint endpoint) {
+        super("接口 " + endpoint.getName() + " 已熔断，请求未发送");
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * 获取熔断的接口
+     *
+     * @return 接口
+     */
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+}
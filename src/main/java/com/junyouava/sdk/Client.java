@@ -2,18 +2,25 @@ package com.junyouava.sdk;
 
 import okhttp3.OkHttpClient;
 
-import java.io.IOException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SDK 主客户端，提供所有服务访问入口
  */
 public class Client {
-    private final Config config;
-    private final OkHttpClient httpClient;
+    /**
+     * 连接池指标标识的序号
+     */
+    private static final AtomicLong POOL_IDS = new AtomicLong();
+
+    private final Transport transport;
     private final AuthService authService;
     private final APIService apiService;
+    private final Instrumentation instrumentation;
+    /**
+     * 注册到埋点的连接池标识；未注册时为 null
+     */
+    private final String poolId;
 
     /**
      * 创建新客户端（会验证配置）
@@ -21,6 +28,7 @@ public class Client {
      * @param config 配置对象
      * @return 客户端实例
      * @throws IllegalArgumentException 如果配置无效
+     * @throws java.io.UncheckedIOException 如果启用了 EWT outbox 但无法打开日志文件
      */
     public static Client NewClient(Config config) {
         return NewClientWithHTTPClient(config, null);
@@ -38,44 +46,154 @@ public class Client {
         // 验证配置
         config.validate();
 
-        // 如果没有提供 HTTP 客户端，使用默认的
+        // 如果没有提供 HTTP 客户端，按配置创建默认的
         if (httpClient == null) {
-            httpClient = new OkHttpClient.Builder()
-                    .connectTimeout(30, TimeUnit.SECONDS)
-                    .readTimeout(30, TimeUnit.SECONDS)
-                    .writeTimeout(30, TimeUnit.SECONDS)
-                    .build();
+            httpClient = OkHttpTransport.newHttpClient(config);
+        }
+
+        return new Client(config, new OkHttpTransport(httpClient));
+    }
+
+    /**
+     * 使用自定义传输层创建客户端（会验证配置）
+     * 例如使用 {@link JdkHttpTransport} 以 JDK 自带的 HttpClient 发送请求
+     *
+     * @param config    配置对象
+     * @param transport 传输层实现
+     * @return 客户端实例
+     * @throws IllegalArgumentException 如果配置无效或传输层为空
+     */
+    public static Client NewClientWithTransport(Config config, Transport transport) {
+        // 验证配置
+        config.validate();
+        if (transport == null) {
+            throw new IllegalArgumentException("Transport 不能为空");
         }
 
-        return new Client(config, httpClient);
+        return new Client(config, transport);
     }
 
-    private Client(Config config, OkHttpClient httpClient) {
-        this.config = config;
-        this.httpClient = httpClient;
-        // 创建 AuthService 和 APIService
+    private Client(Config config, Transport transport) {
+        this.transport = transport;
+        // 创建 AuthService 和 APIService，之后只读取配置快照，调用方对 config 的修改不再生效
         this.authService = new AuthService(config);
-        this.apiService = new APIService(config, authService, httpClient);
+        config = authService.snapshot().config();
+        try {
+            this.apiService = new APIService(config, authService, transport);
+        } catch (RuntimeException e) {
+            authService.close();
+            throw e;
+        }
         // 设置 APIService 到 AuthService（用于 GenerateSignatureWithOpenAuth 方法）
         this.authService.setAPIService(this.apiService);
+        // 共享传输层的连接池指标由 ClientRegistry 统一注册
+        this.instrumentation = config.getInstrumentation();
+        if (!(transport instanceof SharedTransport.Lease) && transport.poolStats() != null) {
+            this.poolId = nextPoolId("client");
+            instrumentation.registerConnectionPool(poolId, transport::poolStats);
+        } else {
+            this.poolId = null;
+        }
+        warmUp(config, transport);
+    }
+
+    /**
+     * 生成连接池指标标识
+     *
+     * @param kind 连接池所属对象的类型
+     * @return JVM 内唯一的标识
+     */
+    static String nextPoolId(String kind) {
+        return kind + "-" + POOL_IDS.incrementAndGet();
+    }
+
+    /**
+     * 预热连接（需通过 {@link Config#WithWarmUpConnections(int)} 显式开启）：
+     * 异步向 API 路径前缀发送不带签名的 HEAD 请求，提前完成 DNS 解析、TCP 和 TLS 握手，结果和异常均忽略。
+     * HEAD 请求不会调用任何接口；HTTP/2 下所有请求复用同一个连接，因此只发送一个请求，
+     * 只有限定 HTTP/1.1 时才并发发送多个请求以建立多个连接
+     *
+     * @param config    配置对象
+     * @param transport 传输层
+     */
+    static void warmUp(Config config, Transport transport) {
+        int connections = config.getWarmUpConnections();
+        if (connections > 0 && config.getHttpVersion() != HttpVersion.HTTP_1_1) {
+            connections = 1;
+        }
+        String url = config.getAddress() + Constants.API_PATH_PREFIX + config.getVersion() + "/";
+        for (int i = 0; i < connections; i++) {
+            transport.executeAsync(new TransportRequest("HEAD", url, null, null))
+                    .whenComplete((response, error) -> {
+                        if (response != null) {
+                            response.close();
+                        }
+                    });
+        }
     }
 
     /**
-     * 获取配置
+     * 获取当前生效配置的副本
+     * 修改返回的对象不影响客户端，需通过 {@link #Reload(Config)} 生效；
+     * 副本不含 AccessKey（客户端只保留解码后的密钥），Reload 前需重新设置
      *
      * @return 配置对象
      */
     public Config getConfig() {
-        return config;
+        return authService.snapshot().config().copy();
+    }
+
+    /**
+     * 重新加载配置，不重建传输层
+     * <p>
+     * 原子地切换到新配置的快照：之后签名的请求使用新的 AccessId、AccessKey、服务地址、API 版本、
+     * 内容类型和接口级超时；已签名的请求（包括正在发送和等待响应的）以原凭证完成，连接池和已建立的 TLS 会话保留。
+     * 新的 AccessKey 在切换前校验，无效时保留原配置；切换后旧密钥立即清零，AccessId 变化时清空 OpenAuth 缓存，
+     * 启用限流时改用新 AccessId 的共享限流器。限流速率和其余设置（传输层、限流、并发限制、重试、对冲、熔断、缓存、nonce 池、EWT outbox 等）在创建客户端时确定，
+     * 重新加载时忽略。
+     * </p>
+     *
+     * @param config 新的配置对象（会被复制，之后对它的修改不影响客户端）
+     * @throws IllegalArgumentException 如果配置无效或 AccessKey 无法解码
+     * @throws IllegalStateException 如果客户端已关闭
+     */
+    public void Reload(Config config) {
+        config.validate();
+        authService.reload(config);
+        apiService.switchAccessId(config.getAccessId());
     }
 
     /**
      * 获取 HTTP 客户端
      *
-     * @return HTTP 客户端
+     * @return HTTP 客户端；使用非 OkHttp 传输层时返回 null
      */
     public OkHttpClient getHttpClient() {
-        return httpClient;
+        Transport actual = transport instanceof SharedTransport.Lease
+                ? ((SharedTransport.Lease) transport).delegate()
+                : transport;
+        if (actual instanceof OkHttpTransport) {
+            return ((OkHttpTransport) actual).getHttpClient();
+        }
+        return null;
+    }
+
+    /**
+     * 获取传输层
+     *
+     * @return 传输层
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * 获取传输层连接池的运行指标
+     *
+     * @return 连接池指标；传输层不支持时返回 null
+     */
+    public ConnectionPoolStats ConnectionPoolStats() {
+        return transport.poolStats();
     }
 
     /**
@@ -98,29 +216,16 @@ public class Client {
 
     /**
      * 关闭客户端，释放资源
-     * 关闭 OkHttp 的调度线程池、连接池和缓存
+     * 停止认证服务的后台线程，落盘并关闭 EWT outbox，并关闭传输层（OkHttp 传输层会关闭调度线程池、连接池和缓存）；
+     * 由 {@link ClientRegistry} 创建的客户端只释放对共享传输层的引用
      * 注意：此方法不会等待线程池完全关闭，线程会在后台异步关闭
      */
     public void Close() {
-        if (httpClient == null) {
-            return;
-        }
-
-        // 关闭调度线程池（异步关闭，不等待）
-        ExecutorService executorService = httpClient.dispatcher().executorService();
-        executorService.shutdown();
-
-        // 清理连接池
-        httpClient.connectionPool().evictAll();
-
-        // 关闭缓存（如果存在）
-        if (httpClient.cache() != null) {
-            try {
-                httpClient.cache().close();
-            } catch (IOException e) {
-                // 忽略缓存关闭异常，不影响主流程
-            }
+        if (poolId != null) {
+            instrumentation.unregisterConnectionPool(poolId);
         }
+        authService.close();
+        apiService.close();
+        transport.close();
     }
 }
-
@@ -0,0 +1,386 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 多租户客户端注册表
+ * <p>
+ * 同一 JVM 中服务多个 AccessId 时，所有租户共享一个传输层（连接池、调度线程池）和 JSON 编解码器，
+ * 每个租户拥有独立的 AuthService、签名密钥和 OpenAuth 缓存。
+ * 租户在首次 {@link #Acquire(String)} 或 {@link #Get(String)} 时通过 {@link TenantLoader} 加载，
+ * 空闲超过指定时长后被淘汰；共享传输层按引用计数管理，注册表和所有租户客户端都关闭后才真正释放。
+ * </p>
+ * <p>
+ * 淘汰（空闲、{@link #Remove(String)} 或 {@link #Close()}）只是把租户移出注册表，客户端在没有使用者后才关闭：
+ * 通过 {@link #Acquire(String)} 获得的 {@link Lease} 全部关闭之前客户端保持可用；
+ * 通过 {@link #Get(String)} 获取的客户端在最后一次 Get 之后至少保留 min(60 秒, 空闲淘汰时长)，
+ * 注册表关闭时不再等待。
+ * </p>
+ */
+public final class ClientRegistry {
+
+    /**
+     * 租户密钥加载函数
+     */
+    public interface TenantLoader {
+        /**
+         * 加载指定 AccessId 的访问密钥
+         *
+         * @param accessId 访问 ID
+         * @return 访问密钥（Base64 编码）
+         * @throws IOException 如果加载失败
+         */
+        String loadAccessKey(String accessId) throws IOException;
+    }
+
+    private final Config template;
+    private final TenantLoader loader;
+    private final long idleTimeoutNanos;
+    private final SharedTransport sharedTransport;
+    private final Transport lease;
+    /**
+     * Get 返回的客户端在淘汰后至少保留的时长（自最后一次 Get 起算）
+     */
+    private static final long GET_DRAIN_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final long drainNanos;
+    private final ConcurrentMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+    /**
+     * 已移出注册表、等待 Get 保留期结束的租户
+     */
+    private final Set<Tenant> draining = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private volatile boolean closed;
+    /**
+     * 注册到埋点的共享连接池标识；未注册时为 null
+     */
+    private final String poolId;
+
+    /**
+     * 创建注册表，按模板配置创建共享的 OkHttp 传输层（会验证配置）
+     *
+     * @param template    模板配置（AccessId 和 AccessKey 无需设置，由租户加载时填入）
+     * @param loader      租户密钥加载函数
+     * @param idleTimeout 租户空闲淘汰时长（为 0 时不淘汰）
+     * @return 注册表实例
+     * @throws IllegalArgumentException 如果配置无效
+     */
+    public static ClientRegistry NewClientRegistry(Config template, TenantLoader loader, Duration idleTimeout) {
+        template.validateOptions();
+        return NewClientRegistryWithTransport(template, new OkHttpTransport(OkHttpTransport.newHttpClient(template)),
+                loader, idleTimeout);
+    }
+
+    /**
+     * 使用自定义传输层创建注册表（会验证配置），注册表关闭后传输层由最后一个租户释放
+     *
+     * @param template    模板配置（AccessId 和 AccessKey 无需设置，由租户加载时填入）
+     * @param transport   所有租户共享的传输层
+     * @param loader      租户密钥加载函数
+     * @param idleTimeout 租户空闲淘汰时长（为 0 时不淘汰）
+     * @return 注册表实例
+     * @throws IllegalArgumentException 如果配置无效
+     */
+    public static ClientRegistry NewClientRegistryWithTransport(Config template, Transport transport,
+                                                                TenantLoader loader, Duration idleTimeout) {
+        template.validateOptions();
+        if (transport == null) {
+            throw new IllegalArgumentException("Transport 不能为空");
+        }
+        if (loader == null) {
+            throw new IllegalArgumentException("TenantLoader 不能为空");
+        }
+        if (idleTimeout == null || idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("IdleTimeout 不能为空或小于 0");
+        }
+        if (template.getEWTOutbox() != null) {
+            throw new IllegalArgumentException("模板配置不能启用 EWT outbox（文件不能被多个租户共享）");
+        }
+        if (template.getNoncePoolSize() > 0) {
+            throw new IllegalArgumentException("模板配置不能启用 nonce 池（每个租户会各自启动一个填充线程）");
+        }
+        return new ClientRegistry(template.copy(), transport, loader, idleTimeout);
+    }
+
+    private ClientRegistry(Config template, Transport transport, TenantLoader loader, Duration idleTimeout) {
+        this.template = template;
+        this.loader = loader;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.drainNanos = idleTimeoutNanos == 0 ? GET_DRAIN_NANOS : Math.min(GET_DRAIN_NANOS, idleTimeoutNanos);
+        this.sharedTransport = new SharedTransport(transport);
+        this.lease = sharedTransport.lease();
+        if (transport.poolStats() != null) {
+            this.poolId = Client.nextPoolId("registry");
+            template.getInstrumentation().registerConnectionPool(poolId, transport::poolStats);
+        } else {
+            this.poolId = null;
+        }
+        // 预热只针对共享传输层做一次，租户客户端不再重复预热
+        Client.warmUp(template, transport);
+        template.WithWarmUpConnections(0);
+    }
+
+    /**
+     * 获取租户客户端的租约，首次访问时加载（同一 AccessId 的并发访问只加载一次）
+     * 租约关闭前客户端不会因淘汰或注册表关闭而关闭，适合跨越多次调用或长时间持有
+     *
+     * @param accessId 访问 ID
+     * @return 租约（使用完毕后必须关闭）
+     * @throws IOException           如果加载密钥失败
+     * @throws IllegalStateException 如果注册表已关闭
+     */
+    public Lease Acquire(String accessId) throws IOException {
+        while (true) {
+            Tenant tenant = tenant(accessId);
+            if (!tenant.retain()) {
+                // 租户已被淘汰且客户端已关闭，重新加载
+                continue;
+            }
+            try {
+                return new Lease(tenant, await(tenant.client));
+            } catch (IOException | RuntimeException e) {
+                tenant.release();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 获取租户客户端，首次访问时加载（同一 AccessId 的并发访问只加载一次）
+     * 每次调用都视为该租户的一次使用；请在每次调用前通过本方法获取客户端，而不要长期持有。
+     * 租户被淘汰后客户端在最后一次 Get 之后至少保留 min(60 秒, 空闲淘汰时长)，需要更长时间时使用 {@link #Acquire(String)}
+     *
+     * @param accessId 访问 ID
+     * @return 租户客户端（不要自行关闭，由注册表在淘汰或关闭时释放）
+     * @throws IOException           如果加载密钥失败
+     * @throws IllegalStateException 如果注册表已关闭
+     */
+    public Client Get(String accessId) throws IOException {
+        return await(tenant(accessId).client);
+    }
+
+    /**
+     * 立即移除租户（例如密钥轮换或租户下线），下次访问时重新加载
+     *
+     * @param accessId 访问 ID
+     */
+    public void Remove(String accessId) {
+        Tenant tenant = tenants.get(accessId);
+        if (tenant != null) {
+            evict(accessId, tenant);
+        }
+    }
+
+    /**
+     * 获取当前已加载（含加载中）的租户数
+     *
+     * @return 租户数
+     */
+    public int Size() {
+        return tenants.size();
+    }
+
+    /**
+     * 获取共享传输层连接池的运行指标
+     *
+     * @return 连接池指标；传输层不支持时返回 null
+     */
+    public ConnectionPoolStats ConnectionPoolStats() {
+        return sharedTransport.delegate().poolStats();
+    }
+
+    /**
+     * 关闭注册表：释放所有租户客户端（不等待 Get 的保留期，仍持有租约的客户端在租约关闭后释放），
+     * 最后一个引用释放后关闭共享传输层
+     */
+    public void Close() {
+        closed = true;
+        for (Map.Entry<String, Tenant> entry : tenants.entrySet()) {
+            evict(entry.getKey(), entry.getValue());
+        }
+        for (Tenant tenant : draining) {
+            drained(tenant);
+        }
+        if (poolId != null) {
+            template.getInstrumentation().unregisterConnectionPool(poolId);
+        }
+        lease.close();
+    }
+
+    /**
+     * 共享传输层当前的引用数（注册表自身加每个租户各一个）
+     */
+    int transportReferences() {
+        return sharedTransport.references();
+    }
+
+    /**
+     * 查找或加载租户，并记录一次访问
+     */
+    private Tenant tenant(String accessId) {
+        if (closed) {
+            throw new IllegalStateException("ClientRegistry 已关闭");
+        }
+        long now = System.nanoTime();
+        sweep(now);
+
+        Tenant tenant = tenants.get(accessId);
+        if (tenant == null) {
+            Tenant created = new Tenant();
+            tenant = tenants.putIfAbsent(accessId, created);
+            if (tenant == null) {
+                tenant = created;
+                load(accessId, created);
+            }
+        }
+        tenant.lastAccess = now;
+        return tenant;
+    }
+
+    private void load(String accessId, Tenant tenant) {
+        try {
+            String accessKey = loader.loadAccessKey(accessId);
+            Config config = template.copy()
+                    .WithAccessId(accessId)
+                    .WithAccessKey(accessKey);
+            config.validate();
+            tenant.client.complete(Client.NewClientWithTransport(config, sharedTransport.lease()));
+        } catch (Throwable t) {
+            // 加载失败不缓存，下次访问重新加载
+            tenants.remove(accessId, tenant);
+            tenant.client.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * 淘汰空闲租户；按空闲时长的一半节流，由 Get 顺带执行
+     */
+    private void sweep(long now) {
+        if (idleTimeoutNanos == 0) {
+            return;
+        }
+        long last = lastSweep.get();
+        if (now - last < idleTimeoutNanos / 2 || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        for (Map.Entry<String, Tenant> entry : tenants.entrySet()) {
+            Tenant tenant = entry.getValue();
+            if (tenant.client.isDone() && now - tenant.lastAccess >= idleTimeoutNanos) {
+                evict(entry.getKey(), tenant);
+            }
+        }
+    }
+
+    /**
+     * 将租户移出注册表；Get 保留期结束后释放注册表持有的引用，租约全部关闭后客户端才关闭
+     */
+    private void evict(String accessId, Tenant tenant) {
+        if (!tenants.remove(accessId, tenant)) {
+            return;
+        }
+        draining.add(tenant);
+        long delay = tenant.lastAccess + drainNanos - System.nanoTime();
+        if (closed || delay <= 0) {
+            drained(tenant);
+        } else {
+            SdkExecutors.scheduler().schedule(() -> SdkExecutors.async().execute(() -> drained(tenant)),
+                    delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void drained(Tenant tenant) {
+        if (draining.remove(tenant)) {
+            tenant.release();
+        }
+    }
+
+    private static Client await(CompletableFuture<Client> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待租户加载时被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 租户客户端的租约：关闭前客户端保持可用，重复关闭只释放一次
+     */
+    public static final class Lease implements AutoCloseable {
+        private final Tenant tenant;
+        private final Client client;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Tenant tenant, Client client) {
+            this.tenant = tenant;
+            this.client = client;
+        }
+
+        /**
+         * 获取租户客户端（不要自行关闭）
+         *
+         * @return 租户客户端
+         */
+        public Client getClient() {
+            return client;
+        }
+
+        /**
+         * 释放租约；租户已被淘汰且没有其他使用者时关闭客户端
+         */
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                tenant.release();
+            }
+        }
+    }
+
+    private static final class Tenant {
+        private final CompletableFuture<Client> client = new CompletableFuture<>();
+        private volatile long lastAccess = System.nanoTime();
+        /**
+         * 注册表自身持有一个引用（淘汰时释放），每个未关闭的租约各一个；归零后客户端关闭，不能再增加
+         */
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        boolean retain() {
+            int n;
+            do {
+                n = references.get();
+                if (n == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(n, n + 1));
+            return true;
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                // 加载中的租户在加载完成后立即关闭
+                client.thenAccept(Client::Close);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.junyouava.sdk;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本机与服务端的时钟偏差估计
+ * <p>
+ * 从响应的 Date Header 取得服务端时间，与请求往返中点的本机时间比较得到一次样本，
+ * 以指数加权移动平均（EWMA）平滑。每秒最多采样一次；往返时间过长的样本误差太大而被忽略。
+ * 请求认证失败（可能因时间戳无效）时，直接采用该次样本，使下一次签名立即使用校正后的时间。
+ * </p>
+ */
+final class ClockSkew {
+    /**
+     * EWMA 的平滑系数
+     */
+    private static final double ALPHA = 0.2;
+
+    /**
+     * 采样允许的最大往返时间
+     */
+    private static final long MAX_RTT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double estimateMillis;
+    private boolean initialized;
+    private long lastSampleSecond = Long.MIN_VALUE;
+
+    /**
+     * 签名时使用的偏差（秒）
+     */
+    private volatile long offsetSeconds;
+
+    /**
+     * 获取签名时间戳应加上的偏差
+     *
+     * @return 偏差（秒），服务端时钟快于本机时为正
+     */
+    long offsetSeconds() {
+        return offsetSeconds;
+    }
+
+    /**
+     * 获取平滑后的偏差估计
+     *
+     * @return 偏差（毫秒），服务端时钟快于本机时为正
+     */
+    long estimateMillis() {
+        lock.lock();
+        try {
+            return Math.round(estimateMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 以一次响应更新估计
+     *
+     * @param date      响应的 Date Header，为 null 时忽略
+     * @param sentNanos 请求发出时的 {@link System#nanoTime()}
+     * @param rejected  请求是否认证失败
+     */
+    void observe(String date, long sentNanos, boolean rejected) {
+        if (date == null || (!rejected && CoarseClock.currentSeconds() == lastSampleSecond)) {
+            return;
+        }
+        long receivedNanos = System.nanoTime();
+        long rtt = receivedNanos - sentNanos;
+        if (rtt < 0 || (!rejected && rtt > MAX_RTT_NANOS)) {
+            return;
+        }
+        long serverMillis;
+        try {
+            serverMillis = ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return;
+        }
+        // Date 只精确到秒，取该秒的中点；本机时间取往返的中点
+        double sample = serverMillis + 500 - (System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(rtt / 2));
+        record(sample, rejected);
+    }
+
+    /**
+     * 记录一次样本
+     *
+     * @param sampleMillis 偏差样本（毫秒）
+     * @param reset        是否直接采用该样本而不做平滑
+     */
+    void record(double sampleMillis, boolean reset) {
+        lock.lock();
+        try {
+            lastSampleSecond = CoarseClock.currentSeconds();
+            if (reset || !initialized) {
+                estimateMillis = sampleMillis;
+                initialized = true;
+            } else {
+                estimateMillis += ALPHA * (sampleMillis - estimateMillis);
+            }
+            offsetSeconds = Math.round(estimateMillis / 1000);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
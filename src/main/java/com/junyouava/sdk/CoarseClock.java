@@ -0,0 +1,43 @@
+package com.junyouava.sdk;
+
+/**
+ * 秒级粗粒度时钟
+ * <p>
+ * 由一个守护线程在每个整秒边界更新缓存的 Unix 时间（秒），签名时直接读取，不必每个请求都读取系统时钟。
+ * 在整秒边界之后的几毫秒内可能仍是上一秒的值，相对签名时间戳的有效窗口可以忽略。
+ * 整个 JVM 共享一个时钟线程。
+ * </p>
+ */
+final class CoarseClock {
+    private static volatile long seconds = System.currentTimeMillis() / 1000;
+
+    static {
+        Thread ticker = new Thread(CoarseClock::tick, "junyou-sdk-clock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    private CoarseClock() {
+    }
+
+    /**
+     * 获取当前 Unix 时间（秒）
+     *
+     * @return Unix 时间（秒）
+     */
+    static long currentSeconds() {
+        return seconds;
+    }
+
+    private static void tick() {
+        while (true) {
+            long now = System.currentTimeMillis();
+            seconds = now / 1000;
+            try {
+                Thread.sleep(1000 - now % 1000);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
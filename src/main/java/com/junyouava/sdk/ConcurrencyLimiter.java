@@ -0,0 +1,178 @@
+package com.junyouava.sdk;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 自适应并发限制器（AIMD）
+ * <p>
+ * 限制同时在途的请求数。请求成功且耗时正常时加性增大上限（每个上限窗口约 +1），
+ * 遇到 HTTP 429、5xx、超时或耗时超过基线的 {@value #LATENCY_TOLERANCE} 倍时乘性减小上限。
+ * 基线耗时取近期最小耗时，并缓慢向当前耗时回升，以适应服务端的长期变化。
+ * 超出上限的请求按优先级排队（同优先级按到达顺序），许可以 Future 的形式发放，同步和异步调用共用同一队列。
+ * </p>
+ */
+final class ConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit = 1;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+    private long sequence;
+    private double limit;
+    private int inFlight;
+    private double baselineNanos = -1;
+
+    /**
+     * @param initialLimit 初始并发上限
+     * @param maxLimit     并发上限的最大值
+     */
+    ConcurrencyLimiter(int initialLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * 以默认优先级申请一个许可
+     *
+     * @return 许可的 Future
+     * @see #acquire(int)
+     */
+    CompletableFuture<Void> acquire() {
+        return acquire(0);
+    }
+
+    /**
+     * 申请一个许可
+     * 返回的 Future 在获得许可时完成；调用方可以取消或超时完成它以放弃排队，
+     * 但若它已正常完成，则必须在请求结束后调用 {@link #release} 归还许可
+     *
+     * @param priority 优先级，数值越大越先获得许可
+     * @return 许可的 Future
+     */
+    CompletableFuture<Void> acquire(int priority) {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                permit.complete(null);
+            } else {
+                waiters.add(new Waiter(permit, priority, sequence++));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return permit;
+    }
+
+    /**
+     * 归还许可并根据本次请求的结果调整并发上限
+     *
+     * @param latencyNanos 请求耗时（纳秒）
+     * @param overloaded   是否出现过载信号（429、5xx 或超时）
+     */
+    void release(long latencyNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            if (baselineNanos < 0 || latencyNanos < baselineNanos) {
+                baselineNanos = latencyNanos;
+            } else {
+                baselineNanos += (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+            }
+
+            if (overloaded || latencyNanos > baselineNanos * LATENCY_TOLERANCE) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (inFlight * 2 >= (int) limit) {
+                // 只有上限被充分使用时才增大，避免空闲时上限无限增长
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+        release();
+    }
+
+    /**
+     * 归还许可，不调整并发上限（如请求被取消）
+     */
+    void release() {
+        CompletableFuture<Void> next;
+        lock.lock();
+        try {
+            inFlight--;
+            next = nextWaiter();
+        } finally {
+            lock.unlock();
+        }
+        grant(next);
+    }
+
+    /**
+     * 获取当前并发上限
+     */
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 在锁内取出下一个可以放行的等待者并预先占用许可
+     */
+    private CompletableFuture<Void> nextWaiter() {
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            CompletableFuture<Void> waiter = waiters.poll().permit;
+            if (!waiter.isDone()) {
+                inFlight++;
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在锁外完成等待者的 Future，避免在锁内执行其后续操作；等待者已放弃时把许可交给下一个
+     */
+    private void grant(CompletableFuture<Void> waiter) {
+        while (waiter != null && !waiter.complete(null)) {
+            lock.lock();
+            try {
+                inFlight--;
+                waiter = nextWaiter();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 等待者：优先级高的在前，同优先级按到达顺序
+     */
+    private static final class Waiter implements Comparable<Waiter> {
+        private final CompletableFuture<Void> permit;
+        private final int priority;
+        private final long sequence;
+
+        Waiter(CompletableFuture<Void> permit, int priority, long sequence) {
+            this.permit = permit;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package com.junyouava.sdk;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
 /**
  * SDK 配置类
  */
@@ -29,6 +39,135 @@ public class Config {
      */
     private String contentType = Constants.DEFAULT_CONTENT_TYPE;
 
+    /**
+     * 异步调用解析响应所用的线程池（可选，默认使用 SDK 自有的有界线程池）
+     */
+    private Executor asyncExecutor = SdkExecutors.async();
+
+    /**
+     * 预生成 nonce 池容量（可选，默认 0 表示不启用）
+     */
+    private int noncePoolSize;
+
+    /**
+     * OpenAuth 缓存最大条目数（可选，默认 0 表示不启用）
+     */
+    private int openAuthCacheSize;
+
+    /**
+     * OpenAuth 缓存有效期（启用缓存时必需）
+     */
+    private Duration openAuthCacheTTL;
+
+    /**
+     * 连接、读、写超时时间（可选，默认均为 30 秒）
+     */
+    private Duration connectTimeout = Duration.ofSeconds(Constants.DEFAULT_TIMEOUT_SECONDS);
+    private Duration readTimeout = Duration.ofSeconds(Constants.DEFAULT_TIMEOUT_SECONDS);
+    private Duration writeTimeout = Duration.ofSeconds(Constants.DEFAULT_TIMEOUT_SECONDS);
+
+    /**
+     * 接口级整体调用超时（可选，未设置的接口只受连接、读、写超时约束）
+     */
+    private final Map<Endpoint, Duration> endpointTimeouts = new EnumMap<>(Endpoint.class);
+
+    /**
+     * 连接池最大空闲连接数（可选，默认 64）
+     */
+    private int maxIdleConnections = Constants.DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    /**
+     * 空闲连接保活时间（可选，默认 5 分钟）
+     */
+    private Duration keepAlive = Duration.ofSeconds(Constants.DEFAULT_KEEP_ALIVE_SECONDS);
+
+    /**
+     * 最大并发请求数（可选，默认 64）
+     */
+    private int maxRequests = Constants.DEFAULT_MAX_REQUESTS;
+
+    /**
+     * 单 Host 最大并发请求数（可选，默认 64）
+     */
+    private int maxRequestsPerHost = Constants.DEFAULT_MAX_REQUESTS;
+
+    /**
+     * HTTP 协议偏好（可选，默认优先 HTTP/2）
+     */
+    private HttpVersion httpVersion = HttpVersion.HTTP_2;
+
+    /**
+     * 创建客户端时预热的连接数（可选，默认 0 表示不预热）
+     */
+    private int warmUpConnections;
+
+    /**
+     * 监控埋点（可选，默认不做任何事情）
+     */
+    private Instrumentation instrumentation = Instrumentation.NOOP;
+
+    /**
+     * 重试策略（可选，默认不重试）
+     */
+    private RetryPolicy retryPolicy;
+
+    /**
+     * 对冲请求策略（可选，默认不对冲）
+     */
+    private HedgePolicy hedgePolicy;
+
+    /**
+     * 熔断器的连续失败阈值（可选，默认 0 表示不启用）
+     */
+    private int circuitBreakerThreshold;
+
+    /**
+     * 熔断器打开时长
+     */
+    private Duration circuitBreakerOpenDuration;
+
+    /**
+     * 每秒请求数上限（可选，默认 0 表示不限流），同一 AccessId 的客户端共享
+     */
+    private double rateLimit;
+    private int rateLimitBurst;
+
+    /**
+     * 自适应并发限制（可选，默认 0 表示不启用）
+     */
+    private int initialConcurrencyLimit;
+    private int maxConcurrencyLimit;
+
+    /**
+     * 等待限流令牌和并发许可的最长时间（可选，默认 5 秒）
+     */
+    private Duration limiterMaxWait = Duration.ofSeconds(5);
+
+    /**
+     * 是否在 SDK 内部使用虚拟线程（可选，默认 false，需要 Java 21+）
+     */
+    private boolean virtualThreads;
+
+    /**
+     * 启用请求合并的接口（可选，默认不启用）
+     */
+    private Set<Endpoint> coalescedEndpoints = EnumSet.noneOf(Endpoint.class);
+
+    /**
+     * 错误和回退响应体保留的最大字节数（可选，默认 64KB）
+     */
+    private int maxErrorBodySize = Constants.DEFAULT_MAX_ERROR_BODY_SIZE;
+
+    /**
+     * 确认权证释放的 outbox 文件路径，为 null 时不启用
+     */
+    private Path ewtOutbox;
+
+    /**
+     * 是否根据服务端时间校正签名时间戳
+     */
+    private boolean clockSkewCompensation;
+
     /**
      * 创建默认配置
      *
@@ -93,6 +232,277 @@ public class Config {
         return this;
     }
 
+    /**
+     * 设置异步调用的响应处理线程池
+     * 解析响应时会阻塞读取响应体，默认使用 SDK 自有的有界线程池，不占用 {@code ForkJoinPool.commonPool()}
+     *
+     * @param asyncExecutor 用于解析异步响应的线程池
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    /**
+     * 设置预生成 nonce 池容量
+     * 启用后由后台线程预先生成 nonce，请求线程只需从池中取出；池为空时现场生成
+     *
+     * @param noncePoolSize 池容量，0 表示不启用
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithNoncePoolSize(int noncePoolSize) {
+        this.noncePoolSize = noncePoolSize;
+        return this;
+    }
+
+    /**
+     * 启用 GenerateSignatureWithOpenAuth 的 OpenAuth 缓存
+     * 以 openId 为键缓存 AuthCMT 结果，超出容量时淘汰最久未使用的条目
+     *
+     * @param maxSize 最大缓存条目数，0 表示不启用
+     * @param ttl     缓存有效期（应小于 OpenAuth 在服务端的有效期）
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithOpenAuthCache(int maxSize, Duration ttl) {
+        this.openAuthCacheSize = maxSize;
+        this.openAuthCacheTTL = ttl;
+        return this;
+    }
+
+    /**
+     * 设置连接、读、写超时时间
+     * 仅对 SDK 创建的默认传输层生效；使用自定义 HTTP 客户端时由其自身配置决定
+     *
+     * @param connectTimeout 连接超时
+     * @param readTimeout    读超时
+     * @param writeTimeout   写超时
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithTimeouts(Duration connectTimeout, Duration readTimeout, Duration writeTimeout) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.writeTimeout = writeTimeout;
+        return this;
+    }
+
+    /**
+     * 设置接口级整体调用超时（包括连接、发送、等待和读取响应）
+     *
+     * @param endpoint 接口
+     * @param timeout  超时时间
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithEndpointTimeout(Endpoint endpoint, Duration timeout) {
+        this.endpointTimeouts.put(endpoint, timeout);
+        return this;
+    }
+
+    /**
+     * 设置连接池
+     * 仅对 SDK 创建的默认 OkHttp 传输层生效
+     *
+     * @param maxIdleConnections 最大空闲连接数
+     * @param keepAlive          空闲连接保活时间
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithConnectionPool(int maxIdleConnections, Duration keepAlive) {
+        this.maxIdleConnections = maxIdleConnections;
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    /**
+     * 设置最大并发请求数
+     * 仅对 SDK 创建的默认 OkHttp 传输层生效（对应 OkHttp Dispatcher 的并发上限）
+     *
+     * @param maxRequests        最大并发请求数
+     * @param maxRequestsPerHost 单 Host 最大并发请求数
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithMaxRequests(int maxRequests, int maxRequestsPerHost) {
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        return this;
+    }
+
+    /**
+     * 设置 HTTP 协议偏好
+     *
+     * @param httpVersion HTTP 协议偏好
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithHttpVersion(HttpVersion httpVersion) {
+        this.httpVersion = httpVersion;
+        return this;
+    }
+
+    /**
+     * 设置创建客户端时预热的连接数（默认不预热）
+     * 预热会异步向 API 路径前缀发送不带签名的 HEAD 请求，提前完成 DNS 解析、TCP 和 TLS 握手；
+     * HTTP/2 下所有请求复用一个连接，只发送一个请求，限定 HTTP/1.1 时才建立指定数量的连接
+     *
+     * @param warmUpConnections 预热连接数，0 表示不预热
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithWarmUpConnections(int warmUpConnections) {
+        this.warmUpConnections = warmUpConnections;
+        return this;
+    }
+
+    /**
+     * 设置监控埋点
+     *
+     * @param instrumentation 埋点实现，例如 {@link MeterInstrumentation}
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithInstrumentation(Instrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+        return this;
+    }
+
+    /**
+     * 设置重试策略（创建客户端时复制，之后修改策略对象不影响已创建的客户端）
+     *
+     * @param retryPolicy 重试策略，例如 {@code RetryPolicy.DefaultRetryPolicy()}；为 null 时不重试
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * 设置对冲请求策略（仅应对幂等接口启用）
+     *
+     * @param hedgePolicy 对冲策略；为 null 时不对冲
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithHedgePolicy(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+        return this;
+    }
+
+    /**
+     * 启用按接口熔断：连续失败达到阈值后在打开时长内快速失败（抛出 {@link CircuitBreakerOpenException}）
+     *
+     * @param failureThreshold 连续失败阈值，0 表示不启用
+     * @param openDuration     打开时长，结束后放行一个探测请求
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.circuitBreakerThreshold = failureThreshold;
+        this.circuitBreakerOpenDuration = openDuration;
+        return this;
+    }
+
+    /**
+     * 启用客户端令牌桶限流，同一 AccessId 的所有客户端共享一个令牌桶，速率以第一个创建它的客户端为准
+     * 每次尝试（包括重试和对冲）都消耗一个令牌，等待者按到达顺序放行
+     *
+     * @param permitsPerSecond 每秒请求数上限，0 表示不限流
+     * @param burst            允许的突发请求数（令牌桶容量）
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithRateLimit(double permitsPerSecond, int burst) {
+        this.rateLimit = permitsPerSecond;
+        this.rateLimitBurst = burst;
+        return this;
+    }
+
+    /**
+     * 启用自适应并发限制（AIMD）：遇到 429、5xx、超时或耗时明显升高时收缩在途请求上限，恢复后逐步放大
+     *
+     * @param initialLimit 初始并发上限
+     * @param maxLimit     并发上限的最大值，0 表示不启用
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithAdaptiveConcurrency(int initialLimit, int maxLimit) {
+        this.initialConcurrencyLimit = initialLimit;
+        this.maxConcurrencyLimit = maxLimit;
+        return this;
+    }
+
+    /**
+     * 设置等待限流令牌和并发许可的最长时间，超时抛出 {@link LimitExceededException}
+     *
+     * @param limiterMaxWait 最长等待时间
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithLimiterMaxWait(Duration limiterMaxWait) {
+        this.limiterMaxWait = limiterMaxWait;
+        return this;
+    }
+
+    /**
+     * 启用虚拟线程（需要 Java 21+）
+     * 默认传输层的调度线程（OkHttp Dispatcher 或 JDK HttpClient 的执行器）改为每个任务一个虚拟线程；
+     * 未通过 {@link #WithAsyncExecutor(Executor)} 指定线程池时，异步响应也在虚拟线程上解析。
+     * 同步 API 本身可以直接在虚拟线程上调用，不需要启用此选项
+     *
+     * @param virtualThreads 是否启用
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * 对指定接口启用请求合并：同一时刻接口和请求体都相同的调用只发出一次网络请求并共享结果
+     * 仅应对幂等的读取类接口启用，例如 {@link Endpoint#AUTH_LOGIN} 和 {@link Endpoint#AUTH_CMT}
+     *
+     * @param endpoints 接口；不传时关闭请求合并
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithRequestCoalescing(Endpoint... endpoints) {
+        this.coalescedEndpoints = endpoints.length == 0
+                ? EnumSet.noneOf(Endpoint.class)
+                : EnumSet.copyOf(Arrays.asList(endpoints));
+        return this;
+    }
+
+    /**
+     * 设置错误响应体保留的最大字节数
+     * 非 JSON 的错误页面（如网关返回的 HTML）只读取前 maxErrorBodySize 字节作为错误信息，
+     * 超出部分被截断并追加 "...(已截断)"。成功响应的纯文本回退不截断；
+     * JSON 解析在前 maxErrorBodySize 字节之后才失败的成功响应返回解析失败
+     *
+     * @param maxErrorBodySize 最大字节数，不小于 8KB
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithMaxErrorBodySize(int maxErrorBodySize) {
+        this.maxErrorBodySize = maxErrorBodySize;
+        return this;
+    }
+
+    /**
+     * 启用确认权证释放的本地 outbox（预写日志）
+     * 每次确认权证释放前先把业务编号写入日志文件并落盘，服务端返回成功或永久拒绝（业务错误，或 401、403、408 以外的 4xx）后标记为已确认；
+     * 进程异常退出后，通过 {@link APIService#ReplayEWTOutbox(int, java.util.function.Consumer)} 重新发送未确认的条目。
+     * 每个文件同一时刻只能被一个客户端打开。
+     *
+     * @param path 日志文件路径；为 null 时不启用
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithEWTOutbox(Path path) {
+        this.ewtOutbox = path;
+        return this;
+    }
+
+    /**
+     * 设置是否根据服务端时间校正签名时间戳
+     * 启用后从响应的 Date Header 估计本机与服务端的时钟偏差（平滑后按秒取整），签名时间戳加上该偏差；
+     * 请求认证失败（HTTP 401，可能因时间戳超出有效期）时立即按该次响应校正
+     *
+     * @param clockSkewCompensation 是否启用，默认关闭
+     * @return 当前配置对象（支持链式调用）
+     */
+    public Config WithClockSkewCompensation(boolean clockSkewCompensation) {
+        this.clockSkewCompensation = clockSkewCompensation;
+        return this;
+    }
+
     /**
      * 验证配置是否有效
      *
@@ -105,6 +515,134 @@ public class Config {
         if (accessKey == null || accessKey.trim().isEmpty()) {
             throw new IllegalArgumentException("AccessKey 不能为空");
         }
+        validateOptions();
+    }
+
+    /**
+     * 验证 AccessId 和 AccessKey 以外的配置项（ClientRegistry 的模板配置不含凭证）
+     *
+     * @throws IllegalArgumentException 如果配置无效
+     */
+    void validateOptions() {
+        if (asyncExecutor == null) {
+            throw new IllegalArgumentException("AsyncExecutor 不能为空");
+        }
+        if (noncePoolSize < 0 || noncePoolSize > Constants.MAX_NONCE_POOL_SIZE) {
+            throw new IllegalArgumentException("NoncePoolSize 必须在 0 到 " + Constants.MAX_NONCE_POOL_SIZE + " 之间");
+        }
+        if (openAuthCacheSize < 0) {
+            throw new IllegalArgumentException("OpenAuthCacheSize 不能小于 0");
+        }
+        if (openAuthCacheSize > 0 && (openAuthCacheTTL == null || openAuthCacheTTL.isNegative() || openAuthCacheTTL.isZero())) {
+            throw new IllegalArgumentException("启用 OpenAuth 缓存时 TTL 必须大于 0");
+        }
+        requireNonNegative(connectTimeout, "ConnectTimeout");
+        requireNonNegative(readTimeout, "ReadTimeout");
+        requireNonNegative(writeTimeout, "WriteTimeout");
+        for (Map.Entry<Endpoint, Duration> entry : endpointTimeouts.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null
+                    || entry.getValue().isNegative() || entry.getValue().isZero()) {
+                throw new IllegalArgumentException("接口超时必须大于 0: " + entry.getKey());
+            }
+        }
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("MaxIdleConnections 不能小于 0");
+        }
+        requireNonNegative(keepAlive, "KeepAlive");
+        if (maxRequests <= 0 || maxRequestsPerHost <= 0) {
+            throw new IllegalArgumentException("MaxRequests 和 MaxRequestsPerHost 必须大于 0");
+        }
+        if (httpVersion == null) {
+            throw new IllegalArgumentException("HttpVersion 不能为空");
+        }
+        if (warmUpConnections < 0) {
+            throw new IllegalArgumentException("WarmUpConnections 不能小于 0");
+        }
+        if (instrumentation == null) {
+            throw new IllegalArgumentException("Instrumentation 不能为空");
+        }
+        if (retryPolicy != null) {
+            retryPolicy.validate();
+        }
+        if (hedgePolicy != null) {
+            hedgePolicy.validate();
+        }
+        if (circuitBreakerThreshold < 0) {
+            throw new IllegalArgumentException("熔断器的连续失败阈值不能小于 0");
+        }
+        if (circuitBreakerThreshold > 0 && (circuitBreakerOpenDuration == null
+                || circuitBreakerOpenDuration.isNegative() || circuitBreakerOpenDuration.isZero())) {
+            throw new IllegalArgumentException("启用熔断器时打开时长必须大于 0");
+        }
+        if (rateLimit < 0 || Double.isNaN(rateLimit)) {
+            throw new IllegalArgumentException("限流速率不能小于 0");
+        }
+        if (rateLimit > 0 && rateLimitBurst <= 0) {
+            throw new IllegalArgumentException("启用限流时突发请求数必须大于 0");
+        }
+        if (maxConcurrencyLimit < 0) {
+            throw new IllegalArgumentException("并发上限不能小于 0");
+        }
+        if (maxConcurrencyLimit > 0 && (initialConcurrencyLimit <= 0 || initialConcurrencyLimit > maxConcurrencyLimit)) {
+            throw new IllegalArgumentException("初始并发上限必须大于 0 且不超过最大值");
+        }
+        requireNonNegative(limiterMaxWait, "LimiterMaxWait");
+        if (maxErrorBodySize < Constants.MIN_ERROR_BODY_SIZE) {
+            throw new IllegalArgumentException("MaxErrorBodySize 不能小于 " + Constants.MIN_ERROR_BODY_SIZE);
+        }
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            throw new IllegalArgumentException("当前 JVM 不支持虚拟线程（需要 Java 21+）");
+        }
+    }
+
+    /**
+     * 复制配置（接口超时表会被复制，执行器、埋点和策略对象共享引用）
+     *
+     * @return 新的配置对象
+     */
+    Config copy() {
+        Config copy = new Config();
+        copy.accessId = accessId;
+        copy.accessKey = accessKey;
+        copy.version = version;
+        copy.address = address;
+        copy.contentType = contentType;
+        copy.asyncExecutor = asyncExecutor;
+        copy.noncePoolSize = noncePoolSize;
+        copy.openAuthCacheSize = openAuthCacheSize;
+        copy.openAuthCacheTTL = openAuthCacheTTL;
+        copy.connectTimeout = connectTimeout;
+        copy.readTimeout = readTimeout;
+        copy.writeTimeout = writeTimeout;
+        copy.endpointTimeouts.putAll(endpointTimeouts);
+        copy.maxIdleConnections = maxIdleConnections;
+        copy.keepAlive = keepAlive;
+        copy.maxRequests = maxRequests;
+        copy.maxRequestsPerHost = maxRequestsPerHost;
+        copy.httpVersion = httpVersion;
+        copy.warmUpConnections = warmUpConnections;
+        copy.instrumentation = instrumentation;
+        copy.retryPolicy = retryPolicy != null ? retryPolicy.copy() : null;
+        copy.hedgePolicy = hedgePolicy;
+        copy.circuitBreakerThreshold = circuitBreakerThreshold;
+        copy.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+        copy.rateLimit = rateLimit;
+        copy.rateLimitBurst = rateLimitBurst;
+        copy.initialConcurrencyLimit = initialConcurrencyLimit;
+        copy.maxConcurrencyLimit = maxConcurrencyLimit;
+        copy.limiterMaxWait = limiterMaxWait;
+        copy.virtualThreads = virtualThreads;
+        copy.coalescedEndpoints = coalescedEndpoints;
+        copy.maxErrorBodySize = maxErrorBodySize;
+        copy.ewtOutbox = ewtOutbox;
+        copy.clockSkewCompensation = clockSkewCompensation;
+        return copy;
+    }
+
+    private static void requireNonNegative(Duration duration, String name) {
+        if (duration == null || duration.isNegative()) {
+            throw new IllegalArgumentException(name + " 不能为空或小于 0");
+        }
     }
 
     // Getters
@@ -127,5 +665,129 @@ public class Config {
     public String getContentType() {
         return contentType;
     }
-}
 
+    public Executor getAsyncExecutor() {
+        if (virtualThreads && asyncExecutor == SdkExecutors.async()) {
+            return VirtualThreads.sharedExecutor();
+        }
+        return asyncExecutor;
+    }
+
+    public int getNoncePoolSize() {
+        return noncePoolSize;
+    }
+
+    public int getOpenAuthCacheSize() {
+        return openAuthCacheSize;
+    }
+
+    public Duration getOpenAuthCacheTTL() {
+        return openAuthCacheTTL;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    /**
+     * 获取接口级整体调用超时
+     *
+     * @param endpoint 接口
+     * @return 超时时间，未设置时返回 null
+     */
+    public Duration getEndpointTimeout(Endpoint endpoint) {
+        return endpointTimeouts.get(endpoint);
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public HttpVersion getHttpVersion() {
+        return httpVersion;
+    }
+
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    public int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    public Duration getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    public double getRateLimit() {
+        return rateLimit;
+    }
+
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public int getInitialConcurrencyLimit() {
+        return initialConcurrencyLimit;
+    }
+
+    public int getMaxConcurrencyLimit() {
+        return maxConcurrencyLimit;
+    }
+
+    public Duration getLimiterMaxWait() {
+        return limiterMaxWait;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Set<Endpoint> getCoalescedEndpoints() {
+        return Collections.unmodifiableSet(coalescedEndpoints);
+    }
+
+    public int getMaxErrorBodySize() {
+        return maxErrorBodySize;
+    }
+
+    public Path getEWTOutbox() {
+        return ewtOutbox;
+    }
+
+    public boolean isClockSkewCompensation() {
+        return clockSkewCompensation;
+    }
+}
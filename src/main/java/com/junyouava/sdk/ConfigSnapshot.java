@@ -0,0 +1,80 @@
+package com.junyouava.sdk;
+
+/**
+ * 客户端当前生效配置的快照
+ * <p>
+ * 创建客户端或 {@link Client#Reload(Config)} 时复制调用方的 Config 得到，发布后不再修改，
+ * 调用方之后对原 Config 的修改不影响客户端。单次签名和单次请求只读取一个快照，
+ * AccessId、AccessKey 和服务地址始终来自同一份配置。
+ * AccessKey 在创建快照时解码到 {@link KeyHolder}，快照中的 Config 副本不保留 Base64 字符串；
+ * 解码失败时快照照常创建，签名时抛出解码异常（{@link Client#Reload(Config)} 会预先校验）。
+ * 快照被替换或客户端关闭时密钥清零，签名器中用它初始化的 Mac 同时被清除。
+ * </p>
+ */
+final class ConfigSnapshot {
+    private final Config config;
+    /**
+     * 解码后的密钥；解码失败时为 null
+     */
+    private final KeyHolder key;
+    /**
+     * 密钥解码或算法初始化失败的原因
+     */
+    private final RuntimeException keyError;
+
+    /**
+     * @param config 配置
+     */
+    ConfigSnapshot(Config config) {
+        KeyHolder holder = null;
+        RuntimeException error = null;
+        try {
+            holder = HMACSigner.newKey(config.getAccessKey());
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        this.key = holder;
+        this.keyError = error;
+        this.config = config.copy().WithAccessKey(null);
+    }
+
+    /**
+     * 获取快照中的配置（只读，不能修改；不含 AccessKey）
+     *
+     * @return 配置
+     */
+    Config config() {
+        return config;
+    }
+
+    /**
+     * 获取解码后的 AccessKey
+     *
+     * @return 签名密钥
+     * @throws IllegalStateException 如果快照已被替换或客户端已关闭
+     * @throws RuntimeException 如果密钥解码失败或算法不可用
+     */
+    KeyHolder key() {
+        if (keyError != null) {
+            throw new RuntimeException(keyError.getMessage(), keyError);
+        }
+        if (key.isDestroyed()) {
+            throw new IllegalStateException("签名密钥已销毁");
+        }
+        return key;
+    }
+
+    /**
+     * 清零解码后的 AccessKey，并清除签名器中用它初始化的 Mac；
+     * 已用该密钥开始的签名照常完成，之后的签名抛出 {@link IllegalStateException}
+     *
+     * @param signer 使用过该密钥的签名器
+     */
+    void destroy(HMACSigner signer) {
+        if (key == null) {
+            return;
+        }
+        key.destroy();
+        signer.forget(key);
+    }
+}
@@ -0,0 +1,75 @@
+package com.junyouava.sdk;
+
+/**
+ * 传输层连接池和调度器的运行指标
+ */
+public class ConnectionPoolStats {
+    private final int connectionCount;
+    private final int idleConnectionCount;
+    private final int runningCalls;
+    private final int queuedCalls;
+    private final int maxRequests;
+
+    public ConnectionPoolStats(int connectionCount, int idleConnectionCount,
+                               int runningCalls, int queuedCalls, int maxRequests) {
+        this.connectionCount = connectionCount;
+        this.idleConnectionCount = idleConnectionCount;
+        this.runningCalls = runningCalls;
+        this.queuedCalls = queuedCalls;
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * 获取连接池中的连接总数
+     *
+     * @return 连接数
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * 获取空闲连接数
+     *
+     * @return 空闲连接数
+     */
+    public int getIdleConnectionCount() {
+        return idleConnectionCount;
+    }
+
+    /**
+     * 获取正在执行的请求数
+     *
+     * @return 执行中的请求数
+     */
+    public int getRunningCalls() {
+        return runningCalls;
+    }
+
+    /**
+     * 获取因并发上限而排队等待的异步请求数
+     *
+     * @return 排队的请求数
+     */
+    public int getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    /**
+     * 获取最大并发请求数
+     *
+     * @return 最大并发请求数
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * 获取连接池利用率：正在使用的连接占连接总数的比例（没有连接时为 0）
+     *
+     * @return 利用率（0 ~ 1）
+     */
+    public double getUtilization() {
+        return connectionCount == 0 ? 0 : (double) (connectionCount - idleConnectionCount) / connectionCount;
+    }
+}
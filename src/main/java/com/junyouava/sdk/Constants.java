@@ -32,11 +32,61 @@ public class Constants {
     public static final String HEADER_NONCE = "X-Signature-Nonce";
     public static final String HEADER_TIMESTAMP = "X-Timestamp";
 
+    /**
+     * 幂等键 Header 名称
+     */
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+
     /**
      * 时间戳偏移量（秒）- 当前时间加上3分钟
      */
     public static final long TIMESTAMP_OFFSET_SECONDS = 180L; // 3分钟 = 180秒
 
+    /**
+     * API 路径前缀，后接版本号和接口名
+     */
+    public static final String API_PATH_PREFIX = "/api/open/";
+
+    /**
+     * 默认连接、读、写超时时间（秒）
+     */
+    public static final long DEFAULT_TIMEOUT_SECONDS = 30L;
+
+    /**
+     * 默认连接池最大空闲连接数（与单 Host 并发上限相同，突发流量建立的连接可以全部复用）
+     */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 64;
+
+    /**
+     * 默认空闲连接保活时间（秒）
+     */
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 300L;
+
+    /**
+     * 默认最大并发请求数（SDK 只访问同一个 Host，单 Host 上限与总上限相同）
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
+    /**
+     * 预生成 nonce 池的最大容量
+     */
+    public static final int MAX_NONCE_POOL_SIZE = 1 << 20;
+
+    /**
+     * 默认保留的错误和回退响应体最大字节数
+     */
+    public static final int DEFAULT_MAX_ERROR_BODY_SIZE = 64 * 1024;
+
+    /**
+     * 错误和回退响应体上限的最小值（不小于 Jackson 单次读取的块大小，保证解析失败后可以回到起点）
+     */
+    public static final int MIN_ERROR_BODY_SIZE = 8 * 1024;
+
+    /**
+     * EWT outbox 日志文件的初始大小（写满后自动重写或扩容）
+     */
+    public static final int DEFAULT_EWT_OUTBOX_SIZE = 16 * 1024 * 1024;
+
     private Constants() {
         // 工具类，禁止实例化
     }
@@ -0,0 +1,32 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+
+/**
+ * 调用超过 {@link CallOptions} 设置的截止时间时抛出的异常
+ * 截止时间在签名前已过期时请求不会发送；请求发送后因截止时间到达而中止时，原始异常作为 cause
+ */
+public class DeadlineExceededException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final Endpoint endpoint;
+
+    public DeadlineExceededException(Endpoint endpoint, String message) {
+        super(message);
+        this.endpoint = endpoint;
+    }
+
+    public DeadlineExceededException(Endpoint endpoint, String message, Throwable cause) {
+        super(message, cause);
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * 获取超时的接口
+     *
+     * @return 接口
+     */
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,613 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.model.EWTBizNoInfo;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 确认权证释放的预写日志（outbox）
+ * <p>
+ * 每个条目在发送前追加到内存映射的日志文件并落盘，服务端返回成功后追加确认记录；
+ * 进程重启后，未确认的条目可以重新发送。多个并发调用的落盘请求合并为一次
+ * {@link MappedByteBuffer#force()}（组提交）；异步调用的落盘由 outbox 自己的落盘线程完成，不占用调用方的线程池。确认记录不单独落盘：确认丢失只会导致条目被重发一次。
+ * 文件写满时只保留未确认的条目重写文件（必要时扩容），并原子替换原文件。
+ * 创建文件和替换文件后都对所在目录落盘，保证目录项本身在崩溃后可见。
+ * </p>
+ * <p>
+ * 文件格式：16 字节文件头（魔数、版本），随后是若干记录：
+ * [长度 int][类型 byte][序号 long][内容][CRC32 int]，长度为类型、序号和内容的字节数。
+ * 长度为 0 或校验失败的位置视为日志末尾（进程崩溃时写了一半的记录）。
+ * </p>
+ */
+final class EWTOutbox implements AutoCloseable {
+    private static final int MAGIC = 0x45575430; // "EWT0"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final byte TYPE_APPEND = 1;
+    private static final byte TYPE_ACK = 2;
+    /**
+     * 记录的固定开销：长度、类型、序号和 CRC32
+     */
+    private static final int RECORD_OVERHEAD = 4 + 1 + 8 + 4;
+    private static final int MAX_BIZ_NO_BYTES = 64 * 1024;
+    /**
+     * Windows 不支持打开目录落盘，目录项的持久性由文件系统保证
+     */
+    private static final boolean SYNC_DIRECTORY = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private static final ThreadFactory FLUSHER_THREADS = SdkExecutors.daemonThreads("junyou-sdk-outbox-flusher-");
+
+    private final Path path;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    /**
+     * 异步落盘请求到达或 outbox 关闭时通知落盘线程
+     */
+    private final Condition requested = lock.newCondition();
+    /**
+     * 等待异步落盘的请求：进度标记和对应的 Future
+     */
+    private final List<Waiter> waiters = new ArrayList<>();
+    /**
+     * 落盘线程，首次异步落盘时启动，关闭后退出
+     */
+    private Thread flusher;
+
+    /**
+     * 未确认的条目，按序号排列
+     */
+    private final Map<Long, Entry> pending = new LinkedHashMap<>();
+
+    private FileChannel channel;
+    private FileLock fileLock;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private long nextSeq = 1;
+
+    /**
+     * 累计追加的字节数（跨越重写），用作落盘的进度标记
+     */
+    private long written;
+    /**
+     * 已落盘的进度标记
+     */
+    private long durable;
+    private boolean flushing;
+    private boolean closed;
+
+    private EWTOutbox(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * 打开（或创建）日志文件并恢复未确认的条目
+     *
+     * @param path     日志文件路径
+     * @param capacity 初始文件大小（字节），文件写满时自动扩容
+     * @return outbox
+     * @throws IOException 如果文件无法打开、格式不正确或已被其他 outbox 占用
+     */
+    static EWTOutbox open(Path path, int capacity) throws IOException {
+        EWTOutbox outbox = new EWTOutbox(path);
+        outbox.capacity = capacity;
+        try {
+            outbox.recover();
+        } catch (IOException | RuntimeException e) {
+            outbox.closeChannel();
+            throw e;
+        }
+        return outbox;
+    }
+
+    /**
+     * 映射文件并扫描记录，然后只保留未确认的条目重写文件
+     * 重写同时清除了崩溃时留在日志末尾之后的残留字节，避免之后的扫描把它们当作有效记录
+     */
+    private void recover() throws IOException {
+        boolean created = !Files.exists(path) || Files.size(path) == 0;
+        map(path);
+        // 新建文件时映射会先把文件扩展到完整大小，在写入文件头之前崩溃会留下全零的文件，按新文件处理
+        if (created || (buffer.getInt(0) == 0 && buffer.getInt(4) == 0 && read(buffer, HEADER_SIZE) == null)) {
+            writeHeader(buffer);
+            buffer.force();
+            syncDirectory();
+            return;
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("不是有效的 EWT outbox 文件: " + path);
+        }
+
+        int position = HEADER_SIZE;
+        while (true) {
+            Record record = read(buffer, position);
+            if (record == null) {
+                break;
+            }
+            if (record.type == TYPE_APPEND) {
+                pending.put(record.seq, new Entry(record.seq, new EWTBizNoInfo(record.bizNo)));
+            } else {
+                pending.remove(record.seq);
+            }
+            nextSeq = Math.max(nextSeq, record.seq + 1);
+            position = record.end;
+        }
+        buffer.position(position);
+        compact(0);
+    }
+
+    /**
+     * 追加一个条目（只写入映射内存，不落盘）
+     *
+     * @param info 权证业务编号信息
+     * @return 条目，调用方须在发送前以 {@link Entry#ticket} 调用 {@link #commit(long)}
+     * @throws IOException 如果写入失败
+     */
+    Entry append(EWTBizNoInfo info) throws IOException {
+        String bizNo = info.getEwtBizNo() != null ? info.getEwtBizNo() : "";
+        byte[] payload = bizNo.getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_BIZ_NO_BYTES) {
+            throw new IllegalArgumentException("EwtBizNo 过长");
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            Entry entry = new Entry(nextSeq++, info);
+            entry.claimed.set(true);
+            write(TYPE_APPEND, entry.seq, payload);
+            pending.put(entry.seq, entry);
+            entry.ticket = written;
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待进度标记之前的所有写入落盘
+     * 正在落盘时等待其完成；否则由当前线程把已追加的全部内容一次性落盘，其他等待者随之返回
+     *
+     * @param ticket 进度标记
+     * @throws IOException 如果落盘失败或等待被中断
+     */
+    void commit(long ticket) throws IOException {
+        lock.lock();
+        try {
+            while (durable < ticket) {
+                ensureOpen();
+                if (flushing) {
+                    flushed.await();
+                    continue;
+                }
+                flushing = true;
+                long target = written;
+                MappedByteBuffer b = buffer;
+                boolean done = false;
+                lock.unlock();
+                try {
+                    b.force();
+                    done = true;
+                } finally {
+                    lock.lock();
+                    flushing = false;
+                    if (done) {
+                        durable = Math.max(durable, target);
+                    }
+                    flushed.signalAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待 outbox 落盘时被中断");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 异步等待进度标记之前的所有写入落盘
+     * 由落盘线程合并当前所有等待者执行一次落盘；Future 在落盘线程上完成，后续回调不应阻塞
+     *
+     * @param ticket 进度标记
+     * @return 落盘完成时完成的 Future；落盘失败或 outbox 已关闭时以 IOException 结束
+     */
+    CompletableFuture<Void> commitAsync(long ticket) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (durable < ticket) {
+                ensureOpen();
+                waiters.add(new Waiter(ticket, future));
+                if (flusher == null) {
+                    flusher = FLUSHER_THREADS.newThread(this::flushLoop);
+                    flusher.start();
+                }
+                requested.signal();
+                return future;
+            }
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        } finally {
+            lock.unlock();
+        }
+        future.complete(null);
+        return future;
+    }
+
+    /**
+     * 落盘线程：取出当前所有等待者，按其中最大的进度标记落盘一次，然后在锁外完成它们的 Future
+     */
+    private void flushLoop() {
+        while (true) {
+            List<Waiter> batch;
+            long target = 0;
+            lock.lock();
+            try {
+                while (waiters.isEmpty() && !closed) {
+                    requested.awaitUninterruptibly();
+                }
+                if (waiters.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(waiters);
+                waiters.clear();
+            } finally {
+                lock.unlock();
+            }
+            for (Waiter waiter : batch) {
+                target = Math.max(target, waiter.ticket);
+            }
+            IOException error = null;
+            try {
+                commit(target);
+            } catch (IOException e) {
+                error = e;
+            }
+            for (Waiter waiter : batch) {
+                if (error == null) {
+                    waiter.future.complete(null);
+                } else {
+                    waiter.future.completeExceptionally(error);
+                }
+            }
+        }
+    }
+
+    /**
+     * 确认条目已被服务端成功处理（不落盘）
+     *
+     * @param entry 条目
+     * @throws IOException 如果写入失败
+     */
+    void ack(Entry entry) throws IOException {
+        lock.lock();
+        try {
+            if (closed || pending.remove(entry.seq) == null) {
+                return;
+            }
+            write(TYPE_ACK, entry.seq, new byte[0]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 放弃条目的占用（发送失败），使其可以被重放
+     *
+     * @param entry 条目
+     */
+    void release(Entry entry) {
+        entry.claimed.set(false);
+    }
+
+    /**
+     * 按序号遍历当前未确认的条目，迭代到时才占用：跳过正在发送的条目，
+     * 调用方提前停止迭代时，未迭代到的条目不会被占用
+     *
+     * @return 迭代器，返回的条目已被占用
+     */
+    Iterator<Entry> claimPending() {
+        List<Entry> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(pending.values());
+        } finally {
+            lock.unlock();
+        }
+        Iterator<Entry> entries = snapshot.iterator();
+        return new Iterator<Entry>() {
+            private Entry next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && entries.hasNext()) {
+                    Entry entry = entries.next();
+                    if (entry.claimed.compareAndSet(false, true)) {
+                        next = entry;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Entry entry = next;
+                next = null;
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * 获取未确认的条目数
+     *
+     * @return 条目数
+     */
+    int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            closed = true;
+            buffer.force();
+            flushed.signalAll();
+            requested.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        closeChannel();
+    }
+
+    /**
+     * 写入一条记录，空间不足时先重写文件，调用方持有锁
+     */
+    private void write(byte type, long seq, byte[] payload) throws IOException {
+        int size = RECORD_OVERHEAD + payload.length;
+        if (buffer.remaining() < size + 4) {
+            compact(size);
+        }
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(type);
+        buffer.putLong(seq);
+        buffer.put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(longBytes(seq));
+        crc.update(payload);
+        buffer.putInt((int) crc.getValue());
+        // 最后写入长度，保证长度非 0 时记录内容已完整写入内存映射
+        buffer.putInt(start, 1 + 8 + payload.length);
+        written += size;
+    }
+
+    /**
+     * 只保留未确认的条目重写到临时文件，落盘后原子替换原文件；空间仍不足一半时扩容，调用方持有锁
+     *
+     * @param reserve 重写后需要额外预留的字节数
+     */
+    private void compact(int reserve) throws IOException {
+        while (flushing) {
+            flushed.awaitUninterruptibly();
+        }
+        int live = HEADER_SIZE + 4;
+        List<byte[]> payloads = new ArrayList<>(pending.size());
+        for (Entry entry : pending.values()) {
+            String bizNo = entry.info.getEwtBizNo() != null ? entry.info.getEwtBizNo() : "";
+            byte[] payload = bizNo.getBytes(StandardCharsets.UTF_8);
+            payloads.add(payload);
+            live += RECORD_OVERHEAD + payload.length;
+        }
+        while (live + reserve > capacity / 2) {
+            capacity = Math.multiplyExact(capacity, 2);
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+        MappedByteBuffer old = buffer;
+        FileChannel oldChannel = channel;
+        FileLock oldLock = fileLock;
+        try {
+            map(tmp);
+            writeHeader(buffer);
+            int i = 0;
+            for (Entry entry : pending.values()) {
+                write(TYPE_APPEND, entry.seq, payloads.get(i++));
+            }
+            buffer.force();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            if (channel != oldChannel) {
+                closeChannel();
+                Files.deleteIfExists(tmp);
+            }
+            buffer = old;
+            channel = oldChannel;
+            fileLock = oldLock;
+            throw e;
+        }
+        // 重写前追加的内容已包含在新文件中并已落盘
+        durable = written;
+        oldLock.release();
+        oldChannel.close();
+        // 替换已经生效，目录落盘失败时不回滚，只向调用方报告
+        syncDirectory();
+    }
+
+    /**
+     * 对日志文件所在目录落盘，使新建或原子替换后的目录项持久化
+     */
+    private void syncDirectory() throws IOException {
+        if (!SYNC_DIRECTORY) {
+            return;
+        }
+        Path dir = path.toAbsolutePath().getParent();
+        try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+
+    private void map(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IOException("EWT outbox 已被占用: " + file);
+        }
+        capacity = (int) Math.max(capacity, channel.size());
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private static void writeHeader(MappedByteBuffer buffer) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.position(HEADER_SIZE);
+    }
+
+    /**
+     * 读取 position 处的记录
+     *
+     * @return 记录；到达日志末尾或记录不完整时返回 null
+     */
+    private static Record read(ByteBuffer buffer, int position) {
+        if (position + 4 > buffer.limit()) {
+            return null;
+        }
+        int length = buffer.getInt(position);
+        if (length < 1 + 8 || length > 1 + 8 + MAX_BIZ_NO_BYTES || position + 4 + length + 4 > buffer.limit()) {
+            return null;
+        }
+        byte type = buffer.get(position + 4);
+        long seq = buffer.getLong(position + 5);
+        byte[] payload = new byte[length - 9];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + 13);
+        view.get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(longBytes(seq));
+        crc.update(payload);
+        if ((type != TYPE_APPEND && type != TYPE_ACK)
+                || buffer.getInt(position + 4 + length) != (int) crc.getValue()) {
+            return null;
+        }
+        return new Record(type, seq, new String(payload, StandardCharsets.UTF_8), position + 4 + length + 4);
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("EWT outbox 已关闭");
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (fileLock != null) {
+                fileLock.release();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // 关闭时忽略
+        }
+    }
+
+    /**
+     * 日志中的一个条目
+     */
+    static final class Entry {
+        final long seq;
+        final EWTBizNoInfo info;
+        /**
+         * 是否正在发送（由调用方或重放占用）
+         */
+        final AtomicBoolean claimed = new AtomicBoolean();
+        /**
+         * 追加后的进度标记，用于 {@link #commit(long)}
+         */
+        long ticket;
+
+        Entry(long seq, EWTBizNoInfo info) {
+            this.seq = seq;
+            this.info = info;
+        }
+    }
+
+    private static final class Waiter {
+        private final long ticket;
+        private final CompletableFuture<Void> future;
+
+        Waiter(long ticket, CompletableFuture<Void> future) {
+            this.ticket = ticket;
+            this.future = future;
+        }
+    }
+
+    private static final class Record {
+        private final byte type;
+        private final long seq;
+        private final String bizNo;
+        private final int end;
+
+        Record(byte type, long seq, String bizNo, int end) {
+            this.type = type;
+            this.seq = seq;
+            this.bizNo = bizNo;
+            this.end = end;
+        }
+    }
+}
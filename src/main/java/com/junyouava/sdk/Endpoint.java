@@ -0,0 +1,56 @@
+package com.junyouava.sdk;
+
+/**
+ * SDK 封装的 Open API 接口
+ */
+public enum Endpoint {
+    /**
+     * 注册
+     */
+    REGISTER("register"),
+
+    /**
+     * 登录认证
+     */
+    AUTH_LOGIN("auth/login"),
+
+    /**
+     * 设置密码认证
+     */
+    AUTH_SETPWD("auth/setpwd"),
+
+    /**
+     * 验证认证
+     */
+    AUTH_CMT("auth/cmt"),
+
+    /**
+     * 确认权证释放
+     */
+    EWT_CONFIRM_RELEASE_BY_PARTNER("ewt/confirm-release-by-partner");
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 获取接口名称（即版本号之后的路径），如 "auth/login"
+     *
+     * @return 接口名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取请求路径
+     *
+     * @param version API 版本
+     * @return 请求路径，如 "/api/open/v1/auth/login"
+     */
+    public String path(String version) {
+        return Constants.API_PATH_PREFIX + version + "/" + name;
+    }
+}
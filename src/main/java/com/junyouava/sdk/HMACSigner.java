@@ -0,0 +1,286 @@
+package com.junyouava.sdk;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HMAC-SHA256 签名引擎
+ * <p>
+ * AccessKey 只在创建配置快照或轮换时解码一次，保存在 {@link KeyHolder} 中，由调用方随每次签名传入；
+ * 每个平台线程持有一个已用该密钥初始化的 {@link Mac} 实例和字节缓冲区，待签名内容直接按 UTF-8 写入缓冲区，
+ * 不再拼接中间字符串。虚拟线程数量多且生命周期短，线程内缓存无法复用，因此改为从有界对象池中借用。
+ * </p>
+ * <p>
+ * 签名上下文记录初始化 Mac 所用的密钥，传入的密钥变化（轮换）时在本次签名中重新初始化。
+ * 密钥清零后不能再初始化 Mac；正在进行的签名照常完成。
+ * </p>
+ * <p>
+ * 已初始化的 Mac 内部保存由密钥派生的 ipad/opad，足以还原密钥，并且会随线程内缓存和对象池一直存活。
+ * 因此所有签名上下文都登记在签名器中（弱引用，线程结束后自动移除），
+ * 密钥被替换或客户端关闭时由 {@link #forget(KeyHolder)} 把仍用该密钥初始化的 Mac 改用全零密钥重新初始化，并清空对象池。
+ * </p>
+ */
+final class HMACSigner {
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    /**
+     * 虚拟线程共享的签名上下文池容量
+     */
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * 覆盖已销毁密钥派生状态所用的全零密钥
+     */
+    private static final SecretKeySpec WIPE_KEY = new SecretKeySpec(new byte[32], Constants.SIGNATURE_ALGORITHM);
+
+    private final ThreadLocal<SignContext> contexts = ThreadLocal.withInitial(this::newContext);
+    private final ArrayBlockingQueue<SignContext> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+    /**
+     * 本签名器创建的所有签名上下文（弱引用）
+     */
+    private final Set<SignContext> registered = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * 解码密钥并试初始化一次 Mac，让算法或密钥问题尽早暴露
+     *
+     * @param accessKey 访问密钥（Base64 编码）
+     * @return 签名密钥
+     * @throws RuntimeException 如果密钥解码失败或算法不可用
+     */
+    static KeyHolder newKey(String accessKey) {
+        KeyHolder holder = new KeyHolder(accessKey);
+        try {
+            Mac mac = Mac.getInstance(Constants.SIGNATURE_ALGORITHM);
+            init(mac, holder);
+            // 试用的 Mac 随后被丢弃，先覆盖其中由密钥派生的状态
+            mac.init(WIPE_KEY);
+        } catch (GeneralSecurityException e) {
+            holder.destroy();
+            throw new RuntimeException("初始化 " + Constants.SIGNATURE_ALGORITHM + " 失败: " + e.getMessage(), e);
+        }
+        return holder;
+    }
+
+    /**
+     * 计算签名
+     * 待签名内容格式：AccessId\nmethod\npath\nnonce\ntimestamp（最后没有换行符）
+     * 与 Go SDK 保持一致：fmt.Sprintf("%s\n%s\n%s\n%s\n%s", ...)
+     *
+     * @param key       签名密钥
+     * @param accessId  访问 ID
+     * @param method    HTTP 方法
+     * @param path      请求路径
+     * @param nonce     随机字符串
+     * @param timestamp 时间戳
+     * @return Base64 编码的签名
+     * @throws IllegalStateException 如果密钥已清零
+     */
+    String sign(KeyHolder key, String accessId, String method, String path, String nonce, String timestamp) {
+        boolean virtual = VirtualThreads.isVirtual(Thread.currentThread());
+        SignContext context = virtual ? borrow() : contexts.get();
+        context.lock.lock();
+        try {
+            Mac mac = context.mac(key);
+            SignBuffer buffer = context.buffer;
+            buffer.reset();
+            buffer.append(accessId);
+            buffer.append('\n');
+            buffer.append(method);
+            buffer.append('\n');
+            buffer.append(path);
+            buffer.append('\n');
+            buffer.append(nonce);
+            buffer.append('\n');
+            buffer.append(timestamp);
+
+            mac.update(buffer.bytes, 0, buffer.length);
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } finally {
+            context.lock.unlock();
+            if (virtual) {
+                // 池满时直接丢弃
+                pool.offer(context);
+            }
+        }
+    }
+
+    /**
+     * 清除用指定密钥初始化的 Mac：在密钥清零后调用，等待正在使用该上下文的签名完成后，
+     * 以全零密钥重新初始化，并清空对象池
+     *
+     * @param key 已销毁的密钥
+     */
+    void forget(KeyHolder key) {
+        pool.clear();
+        for (SignContext context : contexts()) {
+            context.lock.lock();
+            try {
+                if (context.key == key) {
+                    context.wipe();
+                }
+            } finally {
+                context.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 获取仍存活的签名上下文中已初始化的 Mac（测试用）
+     *
+     * @return Mac 列表
+     */
+    List<Mac> cachedMacs() {
+        List<Mac> macs = new ArrayList<>();
+        for (SignContext context : contexts()) {
+            context.lock.lock();
+            try {
+                if (context.mac != null) {
+                    macs.add(context.mac);
+                }
+            } finally {
+                context.lock.unlock();
+            }
+        }
+        return macs;
+    }
+
+    private List<SignContext> contexts() {
+        synchronized (registered) {
+            return new ArrayList<>(registered);
+        }
+    }
+
+    private SignContext newContext() {
+        SignContext context = new SignContext();
+        registered.add(context);
+        return context;
+    }
+
+    private SignContext borrow() {
+        SignContext context = pool.poll();
+        return context != null ? context : newContext();
+    }
+
+    private static void init(Mac mac, KeyHolder holder) {
+        try {
+            mac.init(holder);
+        } catch (InvalidKeyException e) {
+            // 首次初始化时 JCE 选择提供者，会把已销毁密钥的异常包装为 InvalidKeyException
+            if (holder.isDestroyed()) {
+                throw new IllegalStateException("签名密钥已销毁", e);
+            }
+            throw new RuntimeException("初始化 " + Constants.SIGNATURE_ALGORITHM + " 失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 签名上下文：Mac 和字节缓冲区，同一时刻只被一个线程签名使用；锁只在清除密钥时才会有竞争
+     */
+    private static final class SignContext {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Mac mac;
+        /**
+         * 初始化 Mac 所用的密钥
+         */
+        private KeyHolder key;
+        private final SignBuffer buffer = new SignBuffer();
+
+        /**
+         * 获取用指定密钥初始化的 Mac，密钥变化时重新初始化
+         *
+         * @throws IllegalStateException 如果密钥已销毁
+         */
+        Mac mac(KeyHolder current) {
+            if (current != key) {
+                if (mac == null) {
+                    try {
+                        mac = Mac.getInstance(Constants.SIGNATURE_ALGORITHM);
+                    } catch (GeneralSecurityException e) {
+                        throw new RuntimeException("初始化 " + Constants.SIGNATURE_ALGORITHM + " 失败: " + e.getMessage(), e);
+                    }
+                }
+                // 已销毁的密钥在 getEncoded 时抛出 IllegalStateException
+                try {
+                    init(mac, current);
+                } catch (RuntimeException e) {
+                    // 首次初始化失败后 JCE 已耗尽该实例的候选提供者，丢弃它，下次重新创建
+                    mac = null;
+                    key = null;
+                    throw e;
+                }
+                key = current;
+            } else if (current.isDestroyed()) {
+                throw new IllegalStateException("签名密钥已销毁");
+            }
+            return mac;
+        }
+
+        /**
+         * 以全零密钥重新初始化 Mac，覆盖原密钥派生的内部状态；失败时丢弃 Mac
+         */
+        void wipe() {
+            key = null;
+            try {
+                mac.init(WIPE_KEY);
+            } catch (InvalidKeyException e) {
+                mac = null;
+            }
+        }
+    }
+
+    /**
+     * 复用的 UTF-8 字节缓冲区
+     */
+    private static final class SignBuffer {
+        private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+        private int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void append(char c) {
+            ensureCapacity(length + 1);
+            bytes[length++] = (byte) c;
+        }
+
+        void append(String s) {
+            int n = s.length();
+            ensureCapacity(length + n);
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    // 非 ASCII 字符交给 JDK 编码，保证与 String.getBytes(UTF_8) 结果一致
+                    appendEncoded(s.substring(i).getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                bytes[length++] = (byte) c;
+            }
+        }
+
+        private void appendEncoded(byte[] encoded) {
+            ensureCapacity(length + encoded.length);
+            System.arraycopy(encoded, 0, bytes, length, encoded.length);
+            length += encoded.length;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                byte[] grown = new byte[Math.max(capacity, bytes.length * 2)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+        }
+    }
+}
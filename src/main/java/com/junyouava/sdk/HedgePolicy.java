@@ -0,0 +1,60 @@
+package com.junyouava.sdk;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 对冲请求策略
+ * <p>
+ * 对指定的幂等接口，若请求在该接口近期耗时的某个分位数内仍未返回，则再发起一次（重新签名的）相同请求，
+ * 先返回的可用结果生效，另一个请求随即取消。每次请求最多对冲一次；近期样本不足时不对冲。
+ * 仅应对幂等接口启用，对冲会增加服务端负载。
+ * </p>
+ */
+public class HedgePolicy {
+    private final double percentile;
+    private final Duration minDelay;
+    private final Set<Endpoint> endpoints;
+
+    /**
+     * @param percentile 触发对冲的耗时分位数，如 0.95
+     * @param minDelay   对冲前的最短等待时间
+     * @param endpoints  启用对冲的幂等接口
+     */
+    public HedgePolicy(double percentile, Duration minDelay, Endpoint... endpoints) {
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.endpoints = endpoints.length == 0 ? EnumSet.noneOf(Endpoint.class) : EnumSet.copyOf(Arrays.asList(endpoints));
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * 验证策略是否有效
+     *
+     * @throws IllegalArgumentException 如果策略无效
+     */
+    void validate() {
+        if (!(percentile > 0 && percentile < 1)) {
+            throw new IllegalArgumentException("对冲策略的分位数必须在 (0, 1) 之间");
+        }
+        if (minDelay == null || minDelay.isNegative()) {
+            throw new IllegalArgumentException("对冲策略的最短等待时间不能为空或小于 0");
+        }
+    }
+
+    /**
+     * 接口是否启用对冲
+     */
+    boolean appliesTo(Endpoint endpoint) {
+        return endpoints.contains(endpoint);
+    }
+}
@@ -0,0 +1,16 @@
+package com.junyouava.sdk;
+
+/**
+ * HTTP 协议偏好
+ */
+public enum HttpVersion {
+    /**
+     * 优先使用 HTTP/2，服务端不支持时回退到 HTTP/1.1
+     */
+    HTTP_2,
+
+    /**
+     * 仅使用 HTTP/1.1
+     */
+    HTTP_1_1
+}
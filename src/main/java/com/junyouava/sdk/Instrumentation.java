@@ -0,0 +1,131 @@
+package com.junyouava.sdk;
+
+import java.util.function.Supplier;
+
+/**
+ * 监控埋点 SPI
+ * <p>
+ * APIService 在每次调用的热路径上回调该接口，上报各阶段耗时、调用结果和在途请求数。
+ * 默认实现 {@link #NOOP} 不做任何事情，且 SDK 在使用默认实现时不会读取时钟，没有额外开销。
+ * 实现必须线程安全且不能阻塞，回调可能发生在调用线程、传输层 I/O 线程或异步解析线程上。
+ * 导出到 Micrometer 等指标库可使用 {@link MeterInstrumentation}。
+ * </p>
+ */
+public interface Instrumentation {
+
+    /**
+     * 不做任何事情的默认实现
+     */
+    Instrumentation NOOP = new Instrumentation() {
+    };
+
+    /**
+     * 调用阶段
+     */
+    enum Phase {
+        /**
+         * 请求体序列化
+         */
+        SERIALIZATION("serialization"),
+
+        /**
+         * 签名并写入认证 Header
+         */
+        SIGNING("signing"),
+
+        /**
+         * 网络请求（从发送请求到收到响应头）
+         */
+        NETWORK("network"),
+
+        /**
+         * 读取并解析响应体
+         */
+        PARSING("parsing");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 获取阶段名称，可用作指标标签
+         *
+         * @return 阶段名称
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * 请求开始（在途请求数 +1）
+     *
+     * @param endpoint 接口
+     */
+    default void requestStarted(Endpoint endpoint) {
+    }
+
+    /**
+     * 请求结束（在途请求数 -1），无论成功、失败或取消都会回调且只回调一次
+     *
+     * @param endpoint 接口
+     */
+    default void requestFinished(Endpoint endpoint) {
+    }
+
+    /**
+     * 记录某个阶段的耗时
+     *
+     * @param endpoint 接口
+     * @param phase    阶段
+     * @param nanos    耗时（纳秒）
+     */
+    default void recordPhase(Endpoint endpoint, Phase phase, long nanos) {
+    }
+
+    /**
+     * 记录收到响应的调用结果
+     *
+     * @param endpoint 接口
+     * @param success  业务结果是否成功
+     * @param errCode  失败时的错误码（可能为 null）
+     */
+    default void recordResult(Endpoint endpoint, boolean success, String errCode) {
+    }
+
+    /**
+     * 记录未收到响应的调用异常（如网络错误、超时、取消）
+     *
+     * @param endpoint 接口
+     * @param error    异常
+     */
+    default void recordError(Endpoint endpoint, Throwable error) {
+    }
+
+    /**
+     * 记录一次被合并的调用（与在途的相同请求共享结果，未发出网络请求）
+     *
+     * @param endpoint 接口
+     */
+    default void recordCoalesced(Endpoint endpoint) {
+    }
+
+    /**
+     * 注册连接池指标来源，客户端创建时回调（仅当传输层支持时）
+     *
+     * @param poolId 连接池标识，在 JVM 内唯一（如 "client-1"），用于区分共享同一埋点的多个客户端
+     * @param stats  连接池指标的实时读取函数
+     */
+    default void registerConnectionPool(String poolId, Supplier<ConnectionPoolStats> stats) {
+    }
+
+    /**
+     * 注销连接池指标来源，客户端关闭时回调；之后不应再持有对应的读取函数
+     *
+     * @param poolId 注册时的连接池标识
+     */
+    default void unregisterConnectionPool(String poolId) {
+    }
+}
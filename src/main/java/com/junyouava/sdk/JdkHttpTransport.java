@@ -0,0 +1,198 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 基于 JDK {@link HttpClient}（java.net.http）的传输层实现
+ * <p>
+ * 原生支持 HTTP/2 多路复用和异步 sendAsync，运行时不依赖 OkHttp 和 Kotlin 标准库。
+ * </p>
+ */
+public class JdkHttpTransport implements Transport {
+    private final HttpClient httpClient;
+    /**
+     * 请求未指定超时时使用的默认超时，为 null 时不限制
+     */
+    private final Duration defaultTimeout;
+
+    /**
+     * 使用默认配置创建（优先 HTTP/2，连接超时 30 秒，请求默认超时 30 秒）
+     */
+    public JdkHttpTransport() {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build(), Duration.ofSeconds(Constants.DEFAULT_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * 按配置创建（协议偏好、连接超时和虚拟线程）
+     * JDK HttpClient 没有读超时，读超时作为未指定超时的请求的默认超时（为 0 时不限制）；
+     * 连接池由其内部管理，连接池和并发上限配置不生效
+     *
+     * @param config 配置对象
+     */
+    public JdkHttpTransport(Config config) {
+        this(newHttpClient(config), config.getReadTimeout());
+    }
+
+    /**
+     * 请求未指定超时时不限制等待时间
+     *
+     * @param httpClient JDK HTTP 客户端
+     */
+    public JdkHttpTransport(HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * @param httpClient     JDK HTTP 客户端
+     * @param defaultTimeout 请求未指定超时时使用的默认超时，为 null 或 0 时不限制
+     */
+    public JdkHttpTransport(HttpClient httpClient, Duration defaultTimeout) {
+        this.httpClient = httpClient;
+        this.defaultTimeout = defaultTimeout != null && !defaultTimeout.isZero() ? defaultTimeout : null;
+    }
+
+    /**
+     * 获取底层 JDK HTTP 客户端
+     *
+     * @return JDK HTTP 客户端
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    private static HttpClient newHttpClient(Config config) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(config.getHttpVersion() == HttpVersion.HTTP_1_1
+                        ? HttpClient.Version.HTTP_1_1
+                        : HttpClient.Version.HTTP_2)
+                .connectTimeout(config.getConnectTimeout());
+        if (config.isVirtualThreads()) {
+            builder.executor(VirtualThreads.sharedExecutor());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        try {
+            return new JdkResponse(httpClient.send(newRequest(request), HttpResponse.BodyHandlers.ofInputStream()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("请求被中断");
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        HttpRequest httpRequest;
+        try {
+            httpRequest = newRequest(request);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        CompletableFuture<HttpResponse<InputStream>> call =
+                httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+        // 取消 Future 时同步取消底层请求
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        call.whenComplete((response, error) -> {
+            if (error != null) {
+                future.completeExceptionally(unwrap(error));
+                return;
+            }
+            JdkResponse jdkResponse = new JdkResponse(response);
+            if (!future.complete(jdkResponse)) {
+                jdkResponse.close();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * JDK HttpClient 的连接和线程由其内部管理，无需显式关闭
+     */
+    @Override
+    public void close() {
+    }
+
+    private HttpRequest newRequest(TransportRequest request) {
+        HttpRequest.BodyPublisher publisher = request.getBody() != null
+                ? HttpRequest.BodyPublishers.ofByteArray(request.getBody())
+                : HttpRequest.BodyPublishers.noBody();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+                .method(request.getMethod(), publisher);
+        if (request.getContentType() != null && request.getHeader("Content-Type") == null) {
+            builder.header("Content-Type", request.getContentType());
+        }
+        for (int i = 0; i < request.getHeaderCount(); i++) {
+            builder.header(request.getHeaderName(i), request.getHeaderValue(i));
+        }
+        if (request.getTimeoutMillis() > 0) {
+            builder.timeout(Duration.ofMillis(request.getTimeoutMillis()));
+        } else if (defaultTimeout != null) {
+            builder.timeout(defaultTimeout);
+        }
+        return builder.build();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * JDK 响应适配
+     */
+    private static final class JdkResponse implements TransportResponse {
+        private final HttpResponse<InputStream> response;
+
+        JdkResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+        }
+
+        @Override
+        public int code() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String header(String name) {
+            return response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public InputStream body() {
+            return response.body();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.body().close();
+            } catch (IOException e) {
+                // 忽略关闭异常，不影响主流程
+            }
+        }
+    }
+}
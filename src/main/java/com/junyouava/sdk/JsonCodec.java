@@ -0,0 +1,78 @@
+package com.junyouava.sdk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.junyouava.sdk.model.EWTBizNoInfo;
+import com.junyouava.sdk.model.OpenIdToken;
+import com.junyouava.sdk.model.RegisterInfo;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON 编解码器
+ * <p>
+ * 所有 Client 共享同一个 {@link ObjectMapper}，并按类型缓存预绑定的 {@link ObjectWriter} /
+ * {@link ObjectReader}，避免每个 Client 重复构建序列化器。模型类的 Writer 在类加载时即创建。
+ * </p>
+ */
+final class JsonCodec {
+    private static final JsonCodec SHARED = new JsonCodec(new ObjectMapper());
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // 预绑定请求模型和响应数据类型
+        writer(RegisterInfo.class);
+        writer(OpenIdToken.class);
+        writer(EWTBizNoInfo.class);
+        reader(String.class);
+    }
+
+    /**
+     * 获取所有 Client 共享的编解码器
+     *
+     * @return 共享编解码器
+     */
+    static JsonCodec shared() {
+        return SHARED;
+    }
+
+    /**
+     * 将对象直接序列化为 UTF-8 字节
+     *
+     * @param value 待序列化对象
+     * @return UTF-8 编码的 JSON
+     * @throws JsonProcessingException 如果序列化失败
+     */
+    byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+        if (value == null) {
+            return objectMapper.writeValueAsBytes(null);
+        }
+        return writer(value.getClass()).writeValueAsBytes(value);
+    }
+
+    /**
+     * 获取指定类型的 Writer（带缓存）
+     */
+    ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    /**
+     * 获取指定类型的 Reader（带缓存）
+     */
+    ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    JsonFactory factory() {
+        return objectMapper.getFactory();
+    }
+}
@@ -0,0 +1,72 @@
+package com.junyouava.sdk;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 解码后的 AccessKey
+ * <p>
+ * Base64 只在创建时解码一次，密钥字节只保存在这一个数组中，{@link #destroy()} 时清零。
+ * 直接作为 {@link SecretKey} 初始化 {@link javax.crypto.Mac}：{@link #getEncoded()} 返回的副本只在初始化时
+ * 短暂存在，JDK 的 HMAC 实现派生出内部状态后会将其清零。
+ * 不可序列化：序列化形式不包含密钥字节。
+ * </p>
+ */
+final class KeyHolder implements SecretKey {
+    private static final long serialVersionUID = 1L;
+
+    private final transient byte[] key;
+    private transient volatile boolean destroyed;
+
+    /**
+     * @param accessKey 访问密钥（Base64 编码）
+     * @throws RuntimeException 如果密钥解码失败
+     */
+    KeyHolder(String accessKey) {
+        try {
+            this.key = Base64.getDecoder().decode(accessKey);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("AccessKey Base64 解码失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return Constants.SIGNATURE_ALGORITHM;
+    }
+
+    @Override
+    public String getFormat() {
+        return "RAW";
+    }
+
+    /**
+     * 获取密钥字节的副本（调用方负责清零）
+     *
+     * @throws IllegalStateException 如果密钥已销毁
+     */
+    @Override
+    public byte[] getEncoded() {
+        byte[] copy = key.clone();
+        if (destroyed) {
+            Arrays.fill(copy, (byte) 0);
+            throw new IllegalStateException("签名密钥已销毁");
+        }
+        return copy;
+    }
+
+    /**
+     * 将密钥字节清零，之后不能再用于初始化 Mac
+     */
+    @Override
+    public void destroy() {
+        destroyed = true;
+        Arrays.fill(key, (byte) 0);
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+}
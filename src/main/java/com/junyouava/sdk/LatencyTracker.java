@@ -0,0 +1,60 @@
+package com.junyouava.sdk;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 近期耗时分位数估计
+ * <p>
+ * 在环形缓冲区中保留最近的耗时样本，每累计一定数量的新样本重新计算一次分位数，
+ * 读取时只访问缓存值，不在请求路径上排序。
+ * </p>
+ */
+final class LatencyTracker {
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long cached = -1;
+
+    /**
+     * @param percentile 分位数，如 0.95
+     */
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * 记录一个样本
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % SAMPLES), nanos);
+        if ((n + 1) % RECOMPUTE_INTERVAL == 0) {
+            recompute((int) Math.min(n + 1, SAMPLES));
+        }
+    }
+
+    /**
+     * 获取分位数
+     *
+     * @return 分位数（纳秒），样本不足时返回 -1
+     */
+    long percentile() {
+        return cached;
+    }
+
+    private void recompute(int size) {
+        long[] snapshot = new long[size];
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+        cached = snapshot[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+    }
+}
@@ -0,0 +1,26 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+
+/**
+ * 客户端限流或并发限制的等待超过上限时抛出的异常，请求未发送
+ */
+public class LimitExceededException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final Endpoint endpoint;
+
+    public LimitExceededException(Endpoint endpoint, String message) {
+        super(message);
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * 获取被限制的接口
+     *
+     * @return 接口
+     */
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+}
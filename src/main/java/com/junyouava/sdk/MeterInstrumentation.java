@@ -0,0 +1,215 @@
+package com.junyouava.sdk;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 面向 Micrometer 等指标库的埋点适配器
+ * <p>
+ * 通过三个函数式接收器输出计时、计数和仪表指标，SDK 不直接依赖任何指标库。
+ * 标签以 key、value 交替的字符串数组传入，可直接传给 Micrometer 的 {@code Tags.of(String...)}。
+ * 导出的指标：
+ * </p>
+ * <ul>
+ *     <li>{@value #PHASE_TIMER}：各阶段耗时，标签 endpoint、phase</li>
+ *     <li>{@value #REQUEST_COUNTER}：调用次数，标签 endpoint、outcome（success / failure / error）、
+ *     err_code（成功时为 none，异常时为异常类名）</li>
+ *     <li>{@value #IN_FLIGHT_GAUGE}：在途请求数，标签 endpoint</li>
+ *     <li>{@value #COALESCED_COUNTER}：被合并的调用次数，标签 endpoint</li>
+ *     <li>{@value #POOL_CONNECTIONS_GAUGE}、{@value #POOL_IDLE_GAUGE}、{@value #POOL_UTILIZATION_GAUGE}、
+ *     {@value #POOL_QUEUED_GAUGE}：连接池指标，标签 pool（每个客户端或多租户注册表一个连接池，仅当传输层支持时）；
+ *     客户端关闭时通过 {@link GaugeSink#unregister(String, String...)} 注销</li>
+ * </ul>
+ */
+public class MeterInstrumentation implements Instrumentation {
+    public static final String PHASE_TIMER = "junyou.sdk.request.phase";
+    public static final String REQUEST_COUNTER = "junyou.sdk.requests";
+    public static final String IN_FLIGHT_GAUGE = "junyou.sdk.requests.inflight";
+    public static final String COALESCED_COUNTER = "junyou.sdk.requests.coalesced";
+    public static final String POOL_CONNECTIONS_GAUGE = "junyou.sdk.pool.connections";
+    public static final String POOL_IDLE_GAUGE = "junyou.sdk.pool.connections.idle";
+    public static final String POOL_UTILIZATION_GAUGE = "junyou.sdk.pool.utilization";
+    public static final String POOL_QUEUED_GAUGE = "junyou.sdk.pool.queued";
+
+    private static final String NONE = "none";
+
+    /**
+     * 计时指标接收器
+     */
+    @FunctionalInterface
+    public interface TimerSink {
+        void record(String name, long nanos, String... tags);
+    }
+
+    /**
+     * 计数指标接收器
+     */
+    @FunctionalInterface
+    public interface CounterSink {
+        void increment(String name, String... tags);
+    }
+
+    /**
+     * 仪表指标接收器（注册一次，由指标库按需读取）
+     */
+    @FunctionalInterface
+    public interface GaugeSink {
+        void register(String name, DoubleSupplier value, String... tags);
+
+        /**
+         * 注销仪表指标（如 Micrometer 的 {@code MeterRegistry.remove}）；未实现时已注销的指标读数为 NaN
+         *
+         * @param name 指标名
+         * @param tags 注册时的标签
+         */
+        default void unregister(String name, String... tags) {
+        }
+    }
+
+    private static final String[] POOL_GAUGES = {
+            POOL_CONNECTIONS_GAUGE, POOL_IDLE_GAUGE, POOL_UTILIZATION_GAUGE, POOL_QUEUED_GAUGE
+    };
+
+    private final TimerSink timers;
+    private final CounterSink counters;
+    private final GaugeSink gauges;
+
+    /**
+     * 预先构建的标签，避免热路径上分配数组
+     */
+    private final Map<Endpoint, String[][]> phaseTags = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, String[]> successTags = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, String[]> endpointTags = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicInteger> inFlight = new EnumMap<>(Endpoint.class);
+    /**
+     * 已注册的连接池，注销时清空引用，使仪表不再持有已关闭的传输层
+     */
+    private final Map<String, AtomicReference<Supplier<ConnectionPoolStats>>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * @param timers   计时指标接收器（为 null 时不输出）
+     * @param counters 计数指标接收器（为 null 时不输出）
+     * @param gauges   仪表指标接收器（为 null 时不输出）
+     */
+    public MeterInstrumentation(TimerSink timers, CounterSink counters, GaugeSink gauges) {
+        this.timers = timers;
+        this.counters = counters;
+        this.gauges = gauges;
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Phase[] phases = Phase.values();
+            String[][] tags = new String[phases.length][];
+            for (Phase phase : phases) {
+                tags[phase.ordinal()] = new String[]{"endpoint", endpoint.getName(), "phase", phase.getName()};
+            }
+            phaseTags.put(endpoint, tags);
+            successTags.put(endpoint, outcomeTags(endpoint, "success", NONE));
+            endpointTags.put(endpoint, new String[]{"endpoint", endpoint.getName()});
+
+            AtomicInteger counter = new AtomicInteger();
+            inFlight.put(endpoint, counter);
+            if (gauges != null) {
+                gauges.register(IN_FLIGHT_GAUGE, counter::get, "endpoint", endpoint.getName());
+            }
+        }
+    }
+
+    @Override
+    public void requestStarted(Endpoint endpoint) {
+        inFlight.get(endpoint).incrementAndGet();
+    }
+
+    @Override
+    public void requestFinished(Endpoint endpoint) {
+        inFlight.get(endpoint).decrementAndGet();
+    }
+
+    @Override
+    public void recordPhase(Endpoint endpoint, Phase phase, long nanos) {
+        if (timers != null) {
+            timers.record(PHASE_TIMER, nanos, phaseTags.get(endpoint)[phase.ordinal()]);
+        }
+    }
+
+    @Override
+    public void recordResult(Endpoint endpoint, boolean success, String errCode) {
+        if (counters == null) {
+            return;
+        }
+        if (success) {
+            counters.increment(REQUEST_COUNTER, successTags.get(endpoint));
+        } else {
+            counters.increment(REQUEST_COUNTER, outcomeTags(endpoint, "failure", errCode != null ? errCode : NONE));
+        }
+    }
+
+    @Override
+    public void recordError(Endpoint endpoint, Throwable error) {
+        if (counters != null) {
+            counters.increment(REQUEST_COUNTER, outcomeTags(endpoint, "error", error.getClass().getSimpleName()));
+        }
+    }
+
+    @Override
+    public void recordCoalesced(Endpoint endpoint) {
+        if (counters != null) {
+            counters.increment(COALESCED_COUNTER, endpointTags.get(endpoint));
+        }
+    }
+
+    @Override
+    public void registerConnectionPool(String poolId, Supplier<ConnectionPoolStats> stats) {
+        if (gauges == null) {
+            return;
+        }
+        AtomicReference<Supplier<ConnectionPoolStats>> source = new AtomicReference<>(stats);
+        pools.put(poolId, source);
+        gauges.register(POOL_CONNECTIONS_GAUGE, () -> poolValue(source, ConnectionPoolStats::getConnectionCount),
+                "pool", poolId);
+        gauges.register(POOL_IDLE_GAUGE, () -> poolValue(source, ConnectionPoolStats::getIdleConnectionCount),
+                "pool", poolId);
+        gauges.register(POOL_UTILIZATION_GAUGE, () -> poolValue(source, ConnectionPoolStats::getUtilization),
+                "pool", poolId);
+        gauges.register(POOL_QUEUED_GAUGE, () -> poolValue(source, ConnectionPoolStats::getQueuedCalls),
+                "pool", poolId);
+    }
+
+    @Override
+    public void unregisterConnectionPool(String poolId) {
+        AtomicReference<Supplier<ConnectionPoolStats>> source = pools.remove(poolId);
+        if (source == null) {
+            return;
+        }
+        source.set(null);
+        for (String name : POOL_GAUGES) {
+            gauges.unregister(name, "pool", poolId);
+        }
+    }
+
+    /**
+     * 获取当前在途请求数
+     *
+     * @param endpoint 接口
+     * @return 在途请求数
+     */
+    public int getInFlight(Endpoint endpoint) {
+        return inFlight.get(endpoint).get();
+    }
+
+    private static double poolValue(AtomicReference<Supplier<ConnectionPoolStats>> source,
+                                    ToDoubleFunction<ConnectionPoolStats> value) {
+        Supplier<ConnectionPoolStats> stats = source.get();
+        ConnectionPoolStats snapshot = stats != null ? stats.get() : null;
+        return snapshot != null ? value.applyAsDouble(snapshot) : Double.NaN;
+    }
+
+    private static String[] outcomeTags(Endpoint endpoint, String outcome, String errCode) {
+        return new String[]{"endpoint", endpoint.getName(), "outcome", outcome, "err_code", errCode};
+    }
+}
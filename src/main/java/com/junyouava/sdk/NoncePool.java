@@ -0,0 +1,183 @@
+package com.junyouava.sdk;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 预生成随机字符串（nonce）池
+ * <p>
+ * 后台线程调用 {@link UUID#randomUUID()} 预先生成 nonce 并填入无锁环形队列，
+ * 请求线程只需出队即可，避免在请求路径上争用共享的 SecureRandom。
+ * 队列为空时由调用方自行生成并计入未命中次数。
+ * </p>
+ */
+final class NoncePool {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int capacity;
+    private final int mask;
+    private final int lowWatermark;
+    private final AtomicReferenceArray<String> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final Thread refiller;
+    private volatile boolean running = true;
+
+    /**
+     * @param size 池容量（向上取整为 2 的幂）
+     */
+    NoncePool(int size) {
+        int capacity = size <= 2 ? 2 : Integer.highestOneBit(size - 1) << 1;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.lowWatermark = capacity / 2;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        this.refiller = new Thread(this::refill, "junyou-sdk-nonce-pool");
+        this.refiller.setDaemon(true);
+        this.refiller.start();
+    }
+
+    /**
+     * 直接生成一个 nonce：去掉连字符的 UUID（32 位小写十六进制）
+     *
+     * @return nonce
+     */
+    static String generate() {
+        UUID uuid = UUID.randomUUID();
+        char[] chars = new char[32];
+        writeHex(uuid.getMostSignificantBits(), chars, 0);
+        writeHex(uuid.getLeastSignificantBits(), chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * 获取一个 nonce，池为空时直接生成
+     *
+     * @return nonce
+     */
+    String next() {
+        String nonce = poll();
+        if (nonce == null) {
+            misses.increment();
+            LockSupport.unpark(refiller);
+            return generate();
+        }
+        hits.increment();
+        if (depth() < lowWatermark) {
+            LockSupport.unpark(refiller);
+        }
+        return nonce;
+    }
+
+    /**
+     * 获取池的运行指标
+     *
+     * @return 指标快照
+     */
+    NoncePoolStats stats() {
+        return new NoncePoolStats(capacity, depth(), hits.sum(), misses.sum());
+    }
+
+    /**
+     * 停止后台填充线程
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(refiller);
+    }
+
+    private int depth() {
+        long depth = enqueuePosition.get() - dequeuePosition.get();
+        return (int) Math.max(0, Math.min(capacity, depth));
+    }
+
+    /**
+     * 填满后无限期挂起，由 {@link #next()} 在低于低水位或未命中时唤醒（先唤醒后挂起时许可不会丢失）
+     */
+    private void refill() {
+        while (running) {
+            while (running && offer(generate())) {
+                // 填满为止
+            }
+            if (running) {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    /**
+     * 入队（有界 MPMC 环形队列，参考 Dmitry Vyukov 的实现）
+     *
+     * @return 队列已满时返回 false
+     */
+    private boolean offer(String nonce) {
+        long position = enqueuePosition.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = enqueuePosition.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+        buffer.lazySet(index, nonce);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * 出队
+     *
+     * @return 队列为空时返回 null
+     */
+    private String poll() {
+        long position = dequeuePosition.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = dequeuePosition.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+        String nonce = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, position + capacity);
+        return nonce;
+    }
+
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.junyouava.sdk;
+
+/**
+ * 预生成 nonce 池的运行指标
+ */
+public class NoncePoolStats {
+    private final int capacity;
+    private final int depth;
+    private final long hits;
+    private final long misses;
+
+    public NoncePoolStats(int capacity, int depth, long hits, long misses) {
+        this.capacity = capacity;
+        this.depth = depth;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * 获取池容量（未启用时为 0）
+     *
+     * @return 池容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取当前池中可用的 nonce 数量
+     *
+     * @return 池深度
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 获取从池中取到 nonce 的次数
+     *
+     * @return 命中次数
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * 获取请求时池为空、需要现场生成 nonce 的次数
+     *
+     * @return 未命中次数
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
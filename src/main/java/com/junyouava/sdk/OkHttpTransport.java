@@ -0,0 +1,200 @@
+package com.junyouava.sdk;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 OkHttp 的传输层实现
+ */
+public class OkHttpTransport implements Transport {
+    private final OkHttpClient httpClient;
+    private volatile MediaType mediaType;
+
+    /**
+     * @param httpClient OkHttp 客户端
+     */
+    public OkHttpTransport(OkHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * 按配置创建 OkHttp 客户端（连接池、调度器并发上限、协议偏好、超时和虚拟线程）
+     *
+     * @param config 配置对象
+     * @return OkHttp 客户端
+     */
+    public static OkHttpClient newHttpClient(Config config) {
+        Dispatcher dispatcher = config.isVirtualThreads()
+                ? new Dispatcher(VirtualThreads.newExecutor("junyou-sdk-okhttp-"))
+                : new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(config.getMaxIdleConnections(),
+                        config.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .protocols(config.getHttpVersion() == HttpVersion.HTTP_1_1
+                        ? Collections.singletonList(Protocol.HTTP_1_1)
+                        : Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(config.getConnectTimeout())
+                .readTimeout(config.getReadTimeout())
+                .writeTimeout(config.getWriteTimeout())
+                .build();
+    }
+
+    /**
+     * 获取底层 OkHttp 客户端
+     *
+     * @return OkHttp 客户端
+     */
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) throws IOException {
+        return new OkHttpResponse(newCall(request).execute());
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        Call call = newCall(request);
+        // 取消 Future 时同步取消底层请求
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                if (!future.complete(new OkHttpResponse(response))) {
+                    response.close();
+                }
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public ConnectionPoolStats poolStats() {
+        Dispatcher dispatcher = httpClient.dispatcher();
+        return new ConnectionPoolStats(
+                httpClient.connectionPool().connectionCount(),
+                httpClient.connectionPool().idleConnectionCount(),
+                dispatcher.runningCallsCount(),
+                dispatcher.queuedCallsCount(),
+                dispatcher.getMaxRequests());
+    }
+
+    /**
+     * 关闭 OkHttp 的调度线程池、连接池和缓存
+     * 注意：此方法不会等待线程池完全关闭，线程会在后台异步关闭
+     */
+    @Override
+    public void close() {
+        // 关闭调度线程池（异步关闭，不等待）
+        ExecutorService executorService = httpClient.dispatcher().executorService();
+        executorService.shutdown();
+
+        // 清理连接池
+        httpClient.connectionPool().evictAll();
+
+        // 关闭缓存（如果存在）
+        if (httpClient.cache() != null) {
+            try {
+                httpClient.cache().close();
+            } catch (IOException e) {
+                // 忽略缓存关闭异常，不影响主流程
+            }
+        }
+    }
+
+    private Call newCall(TransportRequest request) {
+        RequestBody requestBody = request.getBody() != null
+                ? RequestBody.create(request.getBody(), mediaType(request.getContentType()))
+                : null;
+
+        Request.Builder builder = new Request.Builder()
+                .url(request.getUrl())
+                .method(request.getMethod(), requestBody);
+        for (int i = 0; i < request.getHeaderCount(); i++) {
+            builder.addHeader(request.getHeaderName(i), request.getHeaderValue(i));
+        }
+
+        Call call = httpClient.newCall(builder.build());
+        if (request.getTimeoutMillis() > 0) {
+            call.timeout().timeout(request.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+        return call;
+    }
+
+    /**
+     * 获取请求体的 MediaType，内容类型不变时复用已解析的实例
+     */
+    private MediaType mediaType(String contentType) {
+        MediaType current = mediaType;
+        if (current == null || !current.toString().equals(contentType)) {
+            current = MediaType.get(contentType);
+            mediaType = current;
+        }
+        return current;
+    }
+
+    /**
+     * OkHttp 响应适配
+     */
+    private static final class OkHttpResponse implements TransportResponse {
+        private final Response response;
+
+        OkHttpResponse(Response response) {
+            this.response = response;
+        }
+
+        @Override
+        public int code() {
+            return response.code();
+        }
+
+        @Override
+        public String header(String name) {
+            return response.header(name);
+        }
+
+        @Override
+        public InputStream body() {
+            ResponseBody body = response.body();
+            return body != null ? body.byteStream() : new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
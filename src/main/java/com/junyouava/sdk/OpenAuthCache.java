@@ -0,0 +1,198 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * OpenAuth 缓存
+ * <p>
+ * 以 openId 为键缓存 AuthCMT 返回的 OpenAuth，容量有界（LRU 淘汰）且按写入时间过期。
+ * 同一 openId 并发未命中时只有一个线程发起 AuthCMT 调用，其余线程等待并共享其结果。
+ * </p>
+ */
+final class OpenAuthCache {
+
+    /**
+     * OpenAuth 加载函数
+     */
+    interface Loader {
+        String load() throws IOException;
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentMap<String, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 失效代数：加载期间发生失效时，加载结果不写入缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize  最大缓存条目数
+     * @param ttlNanos 条目有效期（纳秒）
+     */
+    OpenAuthCache(int maxSize, long ttlNanos) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * 获取 OpenAuth，未命中时调用加载函数（同一 openId 的并发未命中只加载一次）
+     *
+     * @param openId OpenId
+     * @param loader 加载函数
+     * @return OpenAuth
+     * @throws IOException 如果加载失败
+     */
+    String get(String openId, Loader loader) throws IOException {
+        String cached = lookup(openId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = loading.putIfAbsent(openId, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        long startGeneration = generation.get();
+        try {
+            String openAuth = loader.load();
+            if (generation.get() == startGeneration) {
+                store(openId, openAuth);
+            }
+            future.complete(openAuth);
+            return openAuth;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            loading.remove(openId, future);
+        }
+    }
+
+    /**
+     * 使指定 openId 的缓存失效
+     *
+     * @param openId OpenId
+     */
+    void invalidate(String openId) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.remove(openId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    void invalidateAll() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取缓存的运行指标
+     *
+     * @return 指标快照
+     */
+    OpenAuthCacheStats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new OpenAuthCacheStats(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private String lookup(String openId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(openId);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.createdAt >= ttlNanos) {
+                entries.remove(openId);
+                evictions.increment();
+                return null;
+            }
+            return entry.openAuth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String openId, String openAuth) {
+        lock.lock();
+        try {
+            entries.put(openId, new Entry(openAuth, System.nanoTime()));
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待 AuthCMT 结果时被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static final class Entry {
+        private final String openAuth;
+        private final long createdAt;
+
+        Entry(String openAuth, long createdAt) {
+            this.openAuth = openAuth;
+            this.createdAt = createdAt;
+        }
+    }
+}
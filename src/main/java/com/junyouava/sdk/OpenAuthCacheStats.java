@@ -0,0 +1,54 @@
+package com.junyouava.sdk;
+
+/**
+ * OpenAuth 缓存的运行指标
+ */
+public class OpenAuthCacheStats {
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    public OpenAuthCacheStats(int size, long hits, long misses, long evictions) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * 获取当前缓存条目数
+     *
+     * @return 条目数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * 获取未命中次数（包括等待其他线程加载的调用）
+     *
+     * @return 未命中次数
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 获取因容量淘汰或过期移除的条目数
+     *
+     * @return 淘汰次数
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+}
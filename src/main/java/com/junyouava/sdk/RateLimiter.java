@@ -0,0 +1,109 @@
+package com.junyouava.sdk;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 令牌桶限流器
+ * <p>
+ * 以预约方式发放令牌：每个调用方在锁内按到达顺序预约下一个可用时刻，随后在锁外等待，
+ * 因此等待者天然按先来先服务的顺序放行。预约等待时间超过上限时不消耗令牌并立即拒绝。
+ * 同一 AccessId 的所有客户端共享一个限流器，因为服务端按 AccessId 限流。
+ * 共享限流器的速率由第一个创建它的客户端决定，之后的客户端配置的速率不同也不会改变它；
+ * 所有使用者都 {@link #release()} 后从共享表中移除，下一个客户端重新按自己的配置创建。
+ * </p>
+ */
+final class RateLimiter {
+    private static final ConcurrentMap<String, RateLimiter> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String accessId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final double intervalNanos;
+    private final double maxPermits;
+    private double storedPermits;
+    private long nextFreeNanos = System.nanoTime();
+    /**
+     * 使用者数量，只在 REGISTRY 的原子操作内修改
+     */
+    private int references;
+
+    private RateLimiter(String accessId, double permitsPerSecond, int burst) {
+        this.accessId = accessId;
+        this.intervalNanos = 1_000_000_000.0 / permitsPerSecond;
+        this.maxPermits = burst;
+        this.storedPermits = maxPermits;
+    }
+
+    /**
+     * 获取 AccessId 对应的共享限流器，已存在时沿用其速率，不使用本次参数
+     * 使用完毕后必须调用 {@link #release()}
+     *
+     * @param accessId         访问 ID
+     * @param permitsPerSecond 每秒令牌数（仅在首次创建时生效）
+     * @param burst            令牌桶容量（允许的突发请求数，仅在首次创建时生效）
+     * @return 限流器
+     */
+    static RateLimiter forAccessId(String accessId, double permitsPerSecond, int burst) {
+        return REGISTRY.compute(accessId, (id, existing) -> {
+            RateLimiter limiter = existing != null ? existing : new RateLimiter(id, permitsPerSecond, burst);
+            limiter.references++;
+            return limiter;
+        });
+    }
+
+    /**
+     * 释放一次引用，最后一个使用者释放后从共享表中移除
+     */
+    void release() {
+        REGISTRY.computeIfPresent(accessId, (id, limiter) ->
+                limiter != this || --references > 0 ? limiter : null);
+    }
+
+    /**
+     * 获取限流器所属的 AccessId
+     *
+     * @return AccessId
+     */
+    String getAccessId() {
+        return accessId;
+    }
+
+    /**
+     * 获取每秒令牌数
+     *
+     * @return 每秒令牌数
+     */
+    double getRate() {
+        return 1_000_000_000.0 / intervalNanos;
+    }
+
+    /**
+     * 预约一个令牌
+     *
+     * @param maxWaitNanos 最长等待时间（纳秒）
+     * @return 需要等待的时间（纳秒）；超过最长等待时间时返回 -1，且不消耗令牌
+     */
+    long reserve(long maxWaitNanos) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now > nextFreeNanos) {
+                storedPermits = Math.min(maxPermits, storedPermits + (now - nextFreeNanos) / intervalNanos);
+                nextFreeNanos = now;
+            }
+            // 桶中令牌不足一个时，需要等到补足为止
+            double fromStored = Math.min(1, storedPermits);
+            long next = nextFreeNanos + (long) ((1 - fromStored) * intervalNanos);
+            long wait = next - now;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            storedPermits -= fromStored;
+            nextFreeNanos = next;
+            return wait;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.junyouava.sdk;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 响应解析器
+ * <p>
+ * 使用 Jackson 流式 {@link JsonParser} 直接读取响应字节流，一次遍历即可同时识别
+ * {"result":{...}} 包装格式和直接 {...} 格式，不构建中间 Map 或树结构。
+ * 为了在解析失败时回退为原始文本，只标记响应开头的有限字节（默认 64KB）：
+ * 非 JSON 的错误响应超出上限的部分被截断，不会整体读入内存；
+ * 成功响应回退为完整的原始文本，解析器在上限之后才出错时（标记已失效）返回解析失败。
+ * </p>
+ */
+final class ResponseParser {
+    private static final String FIELD_RESULT = "result";
+    private static final String FIELD_CODE = "code";
+    private static final String FIELD_ERR_CODE = "err_code";
+    private static final String FIELD_SUCCESS = "success";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_DATA = "data";
+
+    /**
+     * 回退文本被截断时追加的标记
+     */
+    static final String TRUNCATED_SUFFIX = "...(已截断)";
+
+    private final JsonCodec codec;
+    private final int maxBodySize;
+
+    ResponseParser(JsonCodec codec) {
+        this(codec, Constants.DEFAULT_MAX_ERROR_BODY_SIZE);
+    }
+
+    /**
+     * @param codec       JSON 编解码器
+     * @param maxBodySize 解析失败时保留并回退为文本的最大字节数
+     */
+    ResponseParser(JsonCodec codec, int maxBodySize) {
+        this.codec = codec;
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * 解析响应
+     *
+     * @param response HTTP 响应
+     * @param dataType 响应数据类型
+     * @param <T> 响应数据类型
+     * @return 解析后的结果
+     * @throws IOException 如果读取响应失败
+     */
+    @SuppressWarnings("unchecked")
+    <T> Result<T> parse(TransportResponse response, Class<T> dataType) throws IOException {
+        Result<T> result = new Result<>();
+        result.setCode(response.code());
+        result.httpStatus = response.code();
+
+        // 标记起始位置，解析失败时回到起点读取原始内容用于回退处理；
+        // 标记只保留 maxBodySize 字节，解析大响应时不会把整个响应体留在缓冲区中
+        BufferedInputStream source = new BufferedInputStream(response.body());
+        source.mark(maxBodySize);
+
+        if (response.isSuccessful()) {
+            try {
+                Result<T> parsedResult = read(source, codec.reader(dataType));
+                result.setSuccess(parsedResult.isSuccess());
+                result.setCode(parsedResult.getCode());
+                result.setErrCode(parsedResult.getErrCode());
+                result.setMessage(parsedResult.getMessage());
+                result.setData(parsedResult.getData());
+            } catch (Exception e) {
+                // 如果解析失败，尝试作为字符串处理
+                String text = dataType == String.class ? readFully(response, source) : null;
+                if (text != null) {
+                    result.setSuccess(true);
+                    result.setData((T) text);
+                } else {
+                    result.setSuccess(false);
+                    result.setMessage("解析响应失败: " + e.getMessage());
+                }
+            }
+        } else {
+            result.setSuccess(false);
+            try {
+                // 错误响应只关心 code、err_code 和 message，data 直接跳过
+                Result<T> errorResult = read(source, null);
+                result.setErrCode(errorResult.getErrCode());
+                result.setMessage(errorResult.getMessage());
+                result.setCode(errorResult.getCode());
+            } catch (Exception e) {
+                result.setMessage("请求失败: " + readString(response, source));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 从响应字节流读取 Result
+     */
+    private <T> Result<T> read(InputStream source, ObjectReader dataReader) throws IOException {
+        try (JsonParser parser = codec.factory().createParser(source)) {
+            // 保持字节流打开，回退处理时还需从标记处重新读取
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "响应不是 JSON 对象");
+            }
+            return readObject(parser, dataReader, true);
+        }
+    }
+
+    /**
+     * 读取一个 JSON 对象
+     * 支持两种格式：{"result":{...}} 或直接 {...}；遇到 result 字段时以其内容为准
+     *
+     * @param parser       已位于 START_OBJECT 的解析器
+     * @param dataReader   data 字段的 Reader，为 null 时跳过 data
+     * @param allowWrapper 是否识别 result 包装字段
+     */
+    private <T> Result<T> readObject(JsonParser parser, ObjectReader dataReader, boolean allowWrapper) throws IOException {
+        Result<T> bare = new Result<>();
+        Result<T> wrapped = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (name) {
+                case FIELD_RESULT:
+                    if (allowWrapper && token == JsonToken.START_OBJECT) {
+                        wrapped = readObject(parser, dataReader, false);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case FIELD_CODE:
+                    requireScalar(parser, token, name);
+                    bare.setCode(parser.getValueAsInt());
+                    break;
+                case FIELD_ERR_CODE:
+                    requireScalar(parser, token, name);
+                    bare.setErrCode(token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+                    break;
+                case FIELD_SUCCESS:
+                    requireScalar(parser, token, name);
+                    bare.setSuccess(parser.getValueAsBoolean());
+                    break;
+                case FIELD_MESSAGE:
+                    requireScalar(parser, token, name);
+                    bare.setMessage(token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+                    break;
+                case FIELD_DATA:
+                    if (dataReader == null || token == JsonToken.VALUE_NULL) {
+                        parser.skipChildren();
+                    } else {
+                        bare.setData(dataReader.readValue(parser));
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        return wrapped != null ? wrapped : bare;
+    }
+
+    private static void requireScalar(JsonParser parser, JsonToken token, String name) throws IOException {
+        if (token.isStructStart()) {
+            throw new JsonParseException(parser, "字段 " + name + " 类型不匹配");
+        }
+    }
+
+    /**
+     * 回到起点读取完整的原始内容
+     *
+     * @return 原始文本；标记已失效（解析器已读过标记上限之后的内容）时返回 null
+     */
+    private String readFully(TransportResponse response, BufferedInputStream source) throws IOException {
+        try {
+            source.reset();
+        } catch (IOException e) {
+            return null;
+        }
+        return new String(source.readAllBytes(), charset(response.header("Content-Type")));
+    }
+
+    /**
+     * 回到起点读取原始内容，最多 maxBodySize 字节，超出部分不读取
+     * 解析器已读过标记上限之后的内容时（即 JSON 在很靠后的位置才出错），标记失效，返回截断标记
+     */
+    private String readString(TransportResponse response, BufferedInputStream source) throws IOException {
+        try {
+            source.reset();
+        } catch (IOException e) {
+            return TRUNCATED_SUFFIX;
+        }
+        byte[] bytes = source.readNBytes(maxBodySize);
+        String text = new String(bytes, charset(response.header("Content-Type")));
+        return source.read() == -1 ? text : text + TRUNCATED_SUFFIX;
+    }
+
+    /**
+     * 从 Content-Type 中解析字符集，缺省为 UTF-8
+     */
+    private static Charset charset(String contentType) {
+        if (contentType != null) {
+            int index = contentType.toLowerCase().indexOf("charset=");
+            if (index >= 0) {
+                String name = contentType.substring(index + "charset=".length()).split(";", 2)[0].trim().replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalArgumentException e) {
+                    // 无法识别的字符集，使用默认值
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -1,5 +1,6 @@
 package com.junyouava.sdk;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -38,6 +39,12 @@ public class Result<T> {
     @JsonProperty("data")
     private T data;
 
+    /**
+     * 响应的 HTTP 状态码（由 SDK 解析响应时记录，不参与序列化）
+     */
+    @JsonIgnore
+    transient int httpStatus;
+
     public Result() {
     }
 
@@ -87,5 +94,13 @@ public class Result<T> {
     public void setData(T data) {
         this.data = data;
     }
-}
 
+    /**
+     * 获取响应的 HTTP 状态码
+     *
+     * @return HTTP 状态码；不是由 SDK 解析得到的结果为 0
+     */
+    int httpStatus() {
+        return httpStatus;
+    }
+}
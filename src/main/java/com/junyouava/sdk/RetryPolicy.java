@@ -0,0 +1,165 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 重试策略
+ * <p>
+ * 对网络异常（含超时）以及 HTTP 429、5xx（501 除外）响应进行重试，重试间隔为带全抖动的指数退避：
+ * 第 n 次重试前等待 [0, min(maxBackoff, initialBackoff * multiplier^(n-1))) 内的随机时长。
+ * 每次重试都会重新签名（新的 nonce 和时间戳），请求体只序列化一次。
+ * 默认不对任何接口重试，需用 {@link #WithEndpoints(Endpoint...)} 显式指定可以安全重试的接口。
+ * </p>
+ */
+public class RetryPolicy {
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    private double multiplier = 2.0;
+    private Set<Endpoint> endpoints = EnumSet.noneOf(Endpoint.class);
+
+    /**
+     * 创建默认重试策略：最多 3 次尝试，退避从 100 毫秒开始、每次翻倍、最长 2 秒；
+     * 不作用于任何接口，需用 {@link #WithEndpoints(Endpoint...)} 指定
+     *
+     * @return 重试策略
+     */
+    public static RetryPolicy DefaultRetryPolicy() {
+        return new RetryPolicy();
+    }
+
+    /**
+     * 设置最大尝试次数（包含首次请求）
+     *
+     * @param maxAttempts 最大尝试次数
+     * @return 当前策略对象（支持链式调用）
+     */
+    public RetryPolicy WithMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * 设置退避参数
+     *
+     * @param initialBackoff 首次重试的退避上限
+     * @param maxBackoff     退避上限的最大值
+     * @param multiplier     每次重试退避上限的增长倍数
+     * @return 当前策略对象（支持链式调用）
+     */
+    public RetryPolicy WithBackoff(Duration initialBackoff, Duration maxBackoff, double multiplier) {
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.multiplier = multiplier;
+        return this;
+    }
+
+    /**
+     * 设置启用重试的接口（默认不对任何接口重试）
+     * 非幂等接口（如 {@link Endpoint#REGISTER}）在服务端已处理但响应丢失时重试可能导致重复处理，请按业务语义选择
+     *
+     * @param endpoints 接口
+     * @return 当前策略对象（支持链式调用）
+     */
+    public RetryPolicy WithEndpoints(Endpoint... endpoints) {
+        this.endpoints = endpoints.length == 0 ? EnumSet.noneOf(Endpoint.class) : EnumSet.copyOf(Arrays.asList(endpoints));
+        return this;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * 复制策略，配置快照持有副本，调用方之后对原策略的修改不影响已创建的客户端
+     *
+     * @return 新的策略对象
+     */
+    RetryPolicy copy() {
+        RetryPolicy copy = new RetryPolicy();
+        copy.maxAttempts = maxAttempts;
+        copy.initialBackoff = initialBackoff;
+        copy.maxBackoff = maxBackoff;
+        copy.multiplier = multiplier;
+        copy.endpoints = endpoints.isEmpty() ? EnumSet.noneOf(Endpoint.class) : EnumSet.copyOf(endpoints);
+        return copy;
+    }
+
+    /**
+     * 验证策略是否有效
+     *
+     * @throws IllegalArgumentException 如果策略无效
+     */
+    void validate() {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("重试策略的 MaxAttempts 必须大于 0");
+        }
+        if (initialBackoff == null || maxBackoff == null || initialBackoff.isNegative() || maxBackoff.isNegative()) {
+            throw new IllegalArgumentException("重试策略的退避时间不能为空或小于 0");
+        }
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("重试策略的退避倍数不能小于 1");
+        }
+    }
+
+    /**
+     * 接口是否启用重试
+     */
+    boolean appliesTo(Endpoint endpoint) {
+        return maxAttempts > 1 && endpoints.contains(endpoint);
+    }
+
+    /**
+     * 计算第 attempt 次尝试失败后的退避时间（全抖动）
+     *
+     * @param attempt 已完成的尝试次数（从 1 开始）
+     * @return 退避时间（纳秒）
+     */
+    long backoffNanos(int attempt) {
+        double ceiling = initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1);
+        long bound = (long) Math.min(maxBackoff.toNanos(), ceiling);
+        return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound);
+    }
+
+    /**
+     * HTTP 状态码是否可以重试：429 和 5xx（501 未实现除外）
+     */
+    static boolean isRetryable(int status) {
+        return status == 429 || (status >= 500 && status != 501);
+    }
+
+    /**
+     * 异常是否可以重试：网络异常和超时可以，熔断、客户端限流、截止时间、中断和取消不可以
+     */
+    static boolean isRetryable(Throwable error) {
+        if (!(error instanceof IOException)
+                || error instanceof CircuitBreakerOpenException
+                || error instanceof LimitExceededException
+                || error instanceof DeadlineExceededException) {
+            return false;
+        }
+        // SocketTimeoutException 和 OkHttp 的调用超时都是 InterruptedIOException，需与线程中断区分
+        return !(error instanceof InterruptedIOException)
+                || error instanceof SocketTimeoutException
+                || !Thread.currentThread().isInterrupted();
+    }
+}
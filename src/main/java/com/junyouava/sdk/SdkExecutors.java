@@ -0,0 +1,74 @@
+package com.junyouava.sdk;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SDK 自有的共享线程池
+ * <p>
+ * 异步响应的解析会阻塞读取响应体，放在 {@code ForkJoinPool.commonPool()} 上会在大量在途请求时
+ * 占满公共线程池，影响同一 JVM 中的其他使用者。默认改用这里的有界线程池：线程数固定上限，
+ * 空闲 60 秒后回收，全部为守护线程，不需要关闭。整个 JVM 共享一个实例。
+ * 退避、限流等待和对冲延迟由单个定时线程计时，到期后交给异步线程池执行，定时线程本身不运行任务。
+ * </p>
+ */
+final class SdkExecutors {
+    /**
+     * 异步响应处理线程数上限：解析时可能阻塞在网络读取上，因此多于 CPU 核数
+     */
+    private static final int ASYNC_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final Executor ASYNC = newPool("junyou-sdk-async-", ASYNC_THREADS);
+
+    private static final ScheduledExecutorService SCHEDULER =
+            new ScheduledThreadPoolExecutor(1, daemonThreads("junyou-sdk-scheduler-"));
+
+    private SdkExecutors() {
+    }
+
+    /**
+     * 获取默认的异步响应处理线程池
+     *
+     * @return 线程池
+     */
+    static Executor async() {
+        return ASYNC;
+    }
+
+    /**
+     * 获取定时线程：只用于计时，任务到期后应立即交给其他线程池执行
+     *
+     * @return 定时线程池
+     */
+    static ScheduledExecutorService scheduler() {
+        return SCHEDULER;
+    }
+
+    private static ThreadPoolExecutor newPool(String namePrefix, int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads(namePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 创建守护线程工厂
+     *
+     * @param namePrefix 线程名前缀
+     * @return 线程工厂
+     */
+    static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
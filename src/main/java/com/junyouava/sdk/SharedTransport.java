@@ -0,0 +1,134 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 引用计数的共享传输层
+ * <p>
+ * 每个使用者通过 {@link #lease()} 获得一个独立的租约，租约的 {@link Transport#close()} 只释放自身的引用（可重复调用），
+ * 最后一个引用释放时才关闭底层传输层。
+ * </p>
+ */
+final class SharedTransport {
+    private final Transport delegate;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int references;
+    private boolean closed;
+
+    /**
+     * @param delegate 底层传输层
+     */
+    SharedTransport(Transport delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 获取一个新的租约并增加引用计数
+     *
+     * @return 租约
+     * @throws IllegalStateException 如果底层传输层已关闭
+     */
+    Transport lease() {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("共享传输层已关闭");
+            }
+            references++;
+        } finally {
+            lock.unlock();
+        }
+        return new Lease();
+    }
+
+    /**
+     * 获取底层传输层
+     *
+     * @return 底层传输层
+     */
+    Transport delegate() {
+        return delegate;
+    }
+
+    /**
+     * 获取当前引用数
+     *
+     * @return 引用数
+     */
+    int references() {
+        lock.lock();
+        try {
+            return references;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 底层传输层是否已关闭
+     *
+     * @return 是否已关闭
+     */
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            if (--references > 0) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        delegate.close();
+    }
+
+    /**
+     * 租约：转发所有请求，关闭时只释放一次引用
+     */
+    final class Lease implements Transport {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * 获取底层传输层
+         *
+         * @return 底层传输层
+         */
+        Transport delegate() {
+            return delegate;
+        }
+
+        @Override
+        public TransportResponse execute(TransportRequest request) throws IOException {
+            return delegate.execute(request);
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+            return delegate.executeAsync(request);
+        }
+
+        @Override
+        public ConnectionPoolStats poolStats() {
+            return delegate.poolStats();
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
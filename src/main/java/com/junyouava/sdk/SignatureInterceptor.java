@@ -0,0 +1,53 @@
+package com.junyouava.sdk;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * 签名拦截器
+ * <p>
+ * 为经过的每个请求生成新的签名，并将 X-Access-ID、X-Signature、X-Signature-Nonce、X-Timestamp
+ * 直接写入请求 Header。签名路径取请求 URL 解码后的路径部分，与 {@link AuthService#GenerateSignature(String, String)}
+ * 和 SDK 封装的接口使用的原始路径一致（含需要百分号编码的字符时也一致）。可通过
+ * {@code OkHttpClient.Builder#addInterceptor} 添加到自定义的 OkHttpClient 上，
+ * 调用 SDK 未封装的 Junyou API。启用时钟偏差校正时，响应的 Date Header 也参与偏差估计。
+ * </p>
+ */
+public class SignatureInterceptor implements Interceptor {
+    private final AuthService authService;
+
+    public SignatureInterceptor(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Request.Builder builder = request.newBuilder();
+        authService.signRequest(builder::header, request.method(), path(request.url()));
+        ClockSkew clockSkew = authService.clockSkew();
+        if (clockSkew == null) {
+            return chain.proceed(builder.build());
+        }
+        long sent = System.nanoTime();
+        Response response = chain.proceed(builder.build());
+        // 拦截器不解析响应体，无法识别时间戳被拒绝的响应，只做常规采样
+        clockSkew.observe(response.header("Date"), sent, false);
+        return response;
+    }
+
+    /**
+     * 获取解码后的请求路径：OkHttp 保存的是百分号编码后的路径，按路径段解码后重新拼接
+     */
+    private static String path(HttpUrl url) {
+        StringBuilder path = new StringBuilder();
+        for (String segment : url.pathSegments()) {
+            path.append('/').append(segment);
+        }
+        return path.toString();
+    }
+}
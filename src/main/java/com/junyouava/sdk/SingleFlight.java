@@ -0,0 +1,260 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并（single-flight）
+ * <p>
+ * 以「接口 + 序列化后的请求体」为键，同一时刻相同的请求只发出一次，其余调用方等待并共享同一个解析后的结果。
+ * 结果不做缓存：首个请求完成后，后续的相同请求会重新发出。
+ * 异步调用方取消自己的 Future 不影响其他调用方；所有异步调用方都取消后底层请求才会被取消。
+ * </p>
+ */
+final class SingleFlight {
+
+    /**
+     * 同步调用
+     */
+    interface Call<R> {
+        R call() throws IOException;
+    }
+
+    private final Set<Endpoint> endpoints;
+    private final Instrumentation instrumentation;
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder saved = new LongAdder();
+
+    /**
+     * @param endpoints       启用合并的接口
+     * @param instrumentation 监控埋点
+     */
+    SingleFlight(Set<Endpoint> endpoints, Instrumentation instrumentation) {
+        this.endpoints = endpoints.isEmpty() ? EnumSet.noneOf(Endpoint.class) : EnumSet.copyOf(endpoints);
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * 判断接口是否启用合并
+     *
+     * @param endpoint 接口
+     * @return 是否启用
+     */
+    boolean appliesTo(Endpoint endpoint) {
+        return endpoints.contains(endpoint);
+    }
+
+    /**
+     * 同步执行：已有相同请求在途时等待其结果，否则在当前线程执行
+     *
+     * @param endpoint 接口
+     * @param payload  序列化后的请求体
+     * @param call     实际调用
+     * @param <R>      结果类型
+     * @return 结果
+     * @throws IOException 如果请求失败
+     */
+    <R> R call(Endpoint endpoint, byte[] payload, Call<R> call) throws IOException {
+        Key key = new Key(endpoint, payload);
+        Flight flight = new Flight();
+        Flight existing = join(key, flight);
+        if (existing != null) {
+            // 等待副本，被中断时不会取消共享的请求
+            return await(existing.<R>result().copy());
+        }
+
+        try {
+            R result = call.call();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable t) {
+            flight.result.completeExceptionally(t);
+            throw t;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * 异步执行：已有相同请求在途时共享其结果，否则发起新的请求
+     *
+     * @param endpoint 接口
+     * @param payload  序列化后的请求体
+     * @param call     实际调用
+     * @param <R>      结果类型
+     * @return 当前调用方独立的 Future
+     */
+    <R> CompletableFuture<R> callAsync(Endpoint endpoint, byte[] payload, Supplier<CompletableFuture<R>> call) {
+        Key key = new Key(endpoint, payload);
+        Flight flight = new Flight();
+        Flight existing = join(key, flight);
+        Flight active = existing != null ? existing : flight;
+
+        CompletableFuture<R> caller = new CompletableFuture<>();
+        active.<R>result().whenComplete((result, error) -> {
+            if (error != null) {
+                caller.completeExceptionally(unwrap(error));
+            } else {
+                caller.complete(result);
+            }
+        });
+        caller.whenComplete((result, error) -> {
+            if (caller.isCancelled()) {
+                active.leave();
+            }
+        });
+
+        if (existing == null) {
+            CompletableFuture<R> inner = call.get();
+            flight.inner = inner;
+            if (flight.waiters.get() == 0) {
+                // 唯一的调用方在请求发出前已取消
+                inner.cancel(true);
+            }
+            inner.whenComplete((result, error) -> {
+                flights.remove(key, flight);
+                if (error != null) {
+                    flight.result.completeExceptionally(unwrap(error));
+                } else {
+                    flight.result.complete(result);
+                }
+            });
+        }
+        return caller;
+    }
+
+    /**
+     * 获取被合并（未实际发出）的调用次数
+     *
+     * @return 节省的调用次数
+     */
+    long saved() {
+        return saved.sum();
+    }
+
+    /**
+     * 加入已有的在途请求
+     *
+     * @return 已有的请求；当前调用成为发起方时返回 null
+     */
+    private Flight join(Key key, Flight flight) {
+        while (true) {
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return null;
+            }
+            if (existing.tryJoin()) {
+                saved.increment();
+                instrumentation.recordCoalesced(key.endpoint);
+                return existing;
+            }
+            // 所有调用方都已取消，由当前调用重新发起
+            flights.remove(key, existing);
+        }
+    }
+
+    private static <R> R await(CompletableFuture<R> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待合并请求的结果时被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * 一次在途请求：共享结果和仍在等待的异步调用方数量
+     */
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private volatile CompletableFuture<?> inner;
+
+        @SuppressWarnings("unchecked")
+        <R> CompletableFuture<R> result() {
+            return (CompletableFuture<R>) (CompletableFuture<?>) result;
+        }
+
+        boolean tryJoin() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void leave() {
+            if (waiters.decrementAndGet() == 0) {
+                CompletableFuture<?> current = inner;
+                if (current != null) {
+                    current.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * 合并键：接口和请求体字节
+     */
+    private static final class Key {
+        private final Endpoint endpoint;
+        private final byte[] payload;
+        private final int hash;
+
+        Key(Endpoint endpoint, byte[] payload) {
+            this.endpoint = endpoint;
+            this.payload = payload;
+            this.hash = 31 * endpoint.hashCode() + Arrays.hashCode(payload);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return endpoint == other.endpoint && Arrays.equals(payload, other.payload);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.junyouava.sdk;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP 传输层 SPI
+ * <p>
+ * SDK 通过该接口发送已签名的请求，内置 {@link OkHttpTransport} 和 {@link JdkHttpTransport} 两种实现，
+ * 也可以自行实现以接入其他 HTTP 客户端。
+ * </p>
+ */
+public interface Transport {
+
+    /**
+     * 同步执行请求
+     *
+     * @param request 请求
+     * @return 响应（调用方负责关闭）
+     * @throws IOException 如果网络请求失败
+     */
+    TransportResponse execute(TransportRequest request) throws IOException;
+
+    /**
+     * 异步执行请求
+     * 实现必须保证：取消返回的 Future 会取消底层请求；取消后到达的响应会被关闭
+     *
+     * @param request 请求
+     * @return 响应的 Future（调用方负责关闭响应），网络失败时以 IOException 异常完成
+     */
+    CompletableFuture<TransportResponse> executeAsync(TransportRequest request);
+
+    /**
+     * 获取连接池运行指标
+     *
+     * @return 连接池指标；传输层不支持时返回 null
+     */
+    default ConnectionPoolStats poolStats() {
+        return null;
+    }
+
+    /**
+     * 关闭传输层，释放连接池和线程池等资源
+     */
+    void close();
+}
@@ -0,0 +1,109 @@
+package com.junyouava.sdk;
+
+import java.util.Arrays;
+
+/**
+ * 传输层请求
+ */
+public class TransportRequest {
+    private final String method;
+    private final String url;
+    private final String contentType;
+    private final byte[] body;
+
+    /**
+     * Header 名称和值交替存放，避免为每个请求创建 Map
+     */
+    private String[] headers = new String[16];
+    private int headerCount;
+
+    /**
+     * 整个调用的超时时间（毫秒），0 表示使用传输层默认值
+     */
+    private long timeoutMillis;
+
+    /**
+     * @param method      HTTP 方法
+     * @param url         完整请求地址
+     * @param contentType 请求体内容类型
+     * @param body        请求体（UTF-8 编码的 JSON）
+     */
+    public TransportRequest(String method, String url, String contentType, byte[] body) {
+        this.method = method;
+        this.url = url;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    /**
+     * 设置 Header，已存在的同名 Header（忽略大小写）会被替换
+     *
+     * @param name  Header 名称
+     * @param value Header 值
+     */
+    public void setHeader(String name, String value) {
+        for (int i = 0; i < headerCount; i++) {
+            if (headers[2 * i].equalsIgnoreCase(name)) {
+                headers[2 * i + 1] = value;
+                return;
+            }
+        }
+        if (2 * headerCount + 1 >= headers.length) {
+            headers = Arrays.copyOf(headers, headers.length * 2);
+        }
+        headers[2 * headerCount] = name;
+        headers[2 * headerCount + 1] = value;
+        headerCount++;
+    }
+
+    /**
+     * 获取 Header 值（忽略大小写）
+     *
+     * @param name Header 名称
+     * @return Header 值，不存在时返回 null
+     */
+    public String getHeader(String name) {
+        for (int i = 0; i < headerCount; i++) {
+            if (headers[2 * i].equalsIgnoreCase(name)) {
+                return headers[2 * i + 1];
+            }
+        }
+        return null;
+    }
+
+    public int getHeaderCount() {
+        return headerCount;
+    }
+
+    public String getHeaderName(int index) {
+        return headers[2 * index];
+    }
+
+    public String getHeaderValue(int index) {
+        return headers[2 * index + 1];
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+}
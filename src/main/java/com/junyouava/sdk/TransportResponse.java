@@ -0,0 +1,47 @@
+package com.junyouava.sdk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 传输层响应，使用完毕后必须关闭以释放连接
+ */
+public interface TransportResponse extends Closeable {
+
+    /**
+     * 获取 HTTP 状态码
+     *
+     * @return 状态码
+     */
+    int code();
+
+    /**
+     * 获取响应 Header（忽略大小写）
+     *
+     * @param name Header 名称
+     * @return Header 值，不存在时返回 null
+     */
+    String header(String name);
+
+    /**
+     * 获取响应体字节流（只能读取一次）
+     *
+     * @return 响应体字节流，没有响应体时返回空流
+     * @throws IOException 如果读取失败
+     */
+    InputStream body() throws IOException;
+
+    /**
+     * 是否为 2xx 状态码
+     *
+     * @return 是否成功
+     */
+    default boolean isSuccessful() {
+        int code = code();
+        return code >= 200 && code < 300;
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,58 @@
+package com.junyouava.sdk;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程支持
+ * <p>
+ * 本类是 Java 11 上的实现，始终报告不支持。SDK 以多版本 JAR 发布，
+ * 在 Java 21+ 上运行时会改用 META-INF/versions/21 下基于虚拟线程的实现（源码位于 src/main/java21）。
+ * </p>
+ */
+final class VirtualThreads {
+    private static final String UNSUPPORTED = "当前 JVM 不支持虚拟线程（需要 Java 21+）";
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     *
+     * @return 是否支持
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * 判断线程是否是虚拟线程
+     *
+     * @param thread 线程
+     * @return 是否是虚拟线程
+     */
+    static boolean isVirtual(Thread thread) {
+        return false;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的线程池
+     *
+     * @param namePrefix 线程名前缀
+     * @return 线程池
+     * @throws UnsupportedOperationException 如果当前 JVM 不支持虚拟线程
+     */
+    static ExecutorService newExecutor(String namePrefix) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    /**
+     * 获取 SDK 共享的虚拟线程线程池（不需要关闭）
+     *
+     * @return 线程池
+     * @throws UnsupportedOperationException 如果当前 JVM 不支持虚拟线程
+     */
+    static Executor sharedExecutor() {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+}
@@ -0,0 +1,62 @@
+package com.junyouava.sdk;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程支持（Java 21+ 实现）
+ * <p>
+ * 多版本 JAR 在 Java 21+ 上加载本类，替代 src/main/java 下始终报告不支持的实现。
+ * </p>
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 延迟创建共享线程池
+     */
+    private static final class Shared {
+        private static final ExecutorService EXECUTOR = newExecutor("junyou-sdk-virtual-");
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     *
+     * @return 是否支持
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * 判断线程是否是虚拟线程
+     *
+     * @param thread 线程
+     * @return 是否是虚拟线程
+     */
+    static boolean isVirtual(Thread thread) {
+        return thread.isVirtual();
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的线程池
+     *
+     * @param namePrefix 线程名前缀
+     * @return 线程池
+     */
+    static ExecutorService newExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+
+    /**
+     * 获取 SDK 共享的虚拟线程线程池（不需要关闭）
+     *
+     * @return 线程池
+     */
+    static Executor sharedExecutor() {
+        return Shared.EXECUTOR;
+    }
+}
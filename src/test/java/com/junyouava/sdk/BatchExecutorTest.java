@@ -0,0 +1,112 @@
+package com.junyouava.sdk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量执行器测试类
+ */
+public class BatchExecutorTest {
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 模拟异步调用：随机延迟完成，能被 7 整除的条目以网络异常失败
+     */
+    private final Function<Integer, CompletableFuture<Result<String>>> call = item -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        CompletableFuture<Result<String>> future = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            inFlight.decrementAndGet();
+            if (item % 7 == 0) {
+                future.completeExceptionally(new IOException("boom"));
+            } else {
+                future.complete(new Result<>(true, 200, "ok", String.valueOf(item)));
+            }
+        }, ThreadLocalRandom.current().nextInt(3), TimeUnit.MILLISECONDS);
+        return future;
+    };
+
+    @Test
+    public void testOrderedDelivery() throws Exception {
+        List<BatchItemResult<Integer>> results = new ArrayList<>();
+        BatchExecutor.run(IntStream.range(0, 500).boxed().iterator(), 8, true, call, results::add);
+
+        assertEquals(500, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult<Integer> r = results.get(i);
+            assertEquals(i, r.getIndex());
+            assertEquals(i, r.getItem());
+            if (i % 7 == 0) {
+                assertFalse(r.isSuccess());
+                assertInstanceOf(IOException.class, r.getError());
+            } else {
+                assertTrue(r.isSuccess());
+                assertEquals(String.valueOf(i), r.getResult().getData());
+            }
+        }
+        assertTrue(maxInFlight.get() <= 8);
+    }
+
+    @Test
+    public void testUnorderedDelivery() throws Exception {
+        boolean[] seen = new boolean[300];
+        AtomicInteger count = new AtomicInteger();
+        BatchExecutor.run(IntStream.range(0, 300).boxed().iterator(), 4, false, call, r -> {
+            assertFalse(seen[(int) r.getIndex()]);
+            seen[(int) r.getIndex()] = true;
+            count.incrementAndGet();
+        });
+
+        assertEquals(300, count.get());
+        assertTrue(maxInFlight.get() <= 4);
+    }
+
+    @Test
+    public void testInvalidConcurrency() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchExecutor.run(IntStream.range(0, 1).boxed().iterator(), 0, true, call, r -> { }));
+    }
+
+    @Test
+    public void testHandlerFailureCancelsInFlightCalls() {
+        List<CompletableFuture<Result<String>>> futures = new ArrayList<>();
+        Function<Integer, CompletableFuture<Result<String>>> hanging = item -> {
+            CompletableFuture<Result<String>> future = new CompletableFuture<>();
+            if (item == 0) {
+                future.complete(new Result<>(true, 200, "ok", "0"));
+            }
+            futures.add(future);
+            return future;
+        };
+
+        assertThrows(IllegalStateException.class, () -> BatchExecutor.run(IntStream.range(0, 100).boxed().iterator(), 4,
+                false, hanging, r -> {
+                    throw new IllegalStateException("handler failed");
+                }));
+        assertEquals(4, futures.size());
+        for (int i = 1; i < futures.size(); i++) {
+            assertTrue(futures.get(i).isCancelled());
+        }
+    }
+}
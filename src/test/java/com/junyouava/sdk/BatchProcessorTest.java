@@ -0,0 +1,260 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.RegisterInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量处理器（Flow）测试类
+ */
+public class BatchProcessorTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 模拟异步调用：随机延迟完成，能被 7 整除的条目以网络异常失败
+     */
+    private final Function<Integer, CompletableFuture<Result<String>>> call = item -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        CompletableFuture<Result<String>> future = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            inFlight.decrementAndGet();
+            if (item % 7 == 0) {
+                future.completeExceptionally(new IOException("boom"));
+            } else {
+                future.complete(new Result<>(true, 200, "ok", String.valueOf(item)));
+            }
+        }, ThreadLocalRandom.current().nextInt(3), TimeUnit.MILLISECONDS);
+        return future;
+    };
+
+    /**
+     * 按请求数逐个发出 [0, count) 的上游，记录累计请求数
+     */
+    private static final class RangePublisher implements Flow.Publisher<Integer> {
+        private final int count;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            AtomicInteger next = new AtomicInteger();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                    for (long i = 0; i < n && !cancelled.get(); i++) {
+                        int item = next.getAndIncrement();
+                        if (item >= count) {
+                            return;
+                        }
+                        subscriber.onNext(item);
+                        if (item == count - 1) {
+                            subscriber.onComplete();
+                        }
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        }
+    }
+
+    /**
+     * 记录结果的下游，初始请求 initialRequest 个，每收到一个结果再请求 1 个（为 0 时不自动请求）
+     */
+    private static class Collector<T> implements Flow.Subscriber<T> {
+        private final long initialRequest;
+        private final boolean replenish;
+        private final List<T> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        Collector(long initialRequest, boolean replenish) {
+            this.initialRequest = initialRequest;
+            this.replenish = replenish;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            if (replenish) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testOrderedDelivery() throws Exception {
+        BatchProcessor<Integer> processor = new BatchProcessor<>(8, true, call);
+        Collector<BatchItemResult<Integer>> collector = new Collector<>(Long.MAX_VALUE, false);
+        new RangePublisher(500).subscribe(processor);
+        processor.subscribe(collector);
+        collector.await();
+
+        assertNull(collector.error);
+        assertEquals(500, collector.items.size());
+        for (int i = 0; i < 500; i++) {
+            BatchItemResult<Integer> r = collector.items.get(i);
+            assertEquals(i, r.getIndex());
+            assertEquals(i % 7 != 0, r.isSuccess());
+        }
+        assertTrue(maxInFlight.get() <= 8);
+    }
+
+    @Test
+    public void testUnorderedDeliveryFollowsDemand() throws Exception {
+        RangePublisher publisher = new RangePublisher(300);
+        BatchProcessor<Integer> processor = new BatchProcessor<>(16, false, call);
+        Collector<BatchItemResult<Integer>> collector = new Collector<>(2, true);
+        processor.subscribe(collector);
+        publisher.subscribe(processor);
+        collector.await();
+
+        boolean[] seen = new boolean[300];
+        for (BatchItemResult<Integer> r : collector.items) {
+            assertFalse(seen[(int) r.getIndex()]);
+            seen[(int) r.getIndex()] = true;
+        }
+        assertEquals(300, collector.items.size());
+        // 下游每次只有 2 个需求，在途数受需求约束而不是在途上限
+        assertTrue(maxInFlight.get() <= 2, String.valueOf(maxInFlight.get()));
+    }
+
+    @Test
+    public void testBackpressureAndCancel() throws Exception {
+        RangePublisher publisher = new RangePublisher(1000);
+        BatchProcessor<Integer> processor = new BatchProcessor<>(4, true, call);
+        Collector<BatchItemResult<Integer>> collector = new Collector<>(10, false);
+        publisher.subscribe(processor);
+        processor.subscribe(collector);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collector.items.size() < 10 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(10, collector.items.size());
+        assertEquals(10, publisher.requested.get());
+
+        collector.subscription.cancel();
+        assertTrue(publisher.cancelled.get());
+        assertThrows(IllegalArgumentException.class, () -> new BatchProcessor<>(0, true, call));
+    }
+
+    @Test
+    public void testInvalidRequestTerminatesOnce() throws Exception {
+        RangePublisher publisher = new RangePublisher(1000);
+        BatchProcessor<Integer> processor = new BatchProcessor<>(4, true, call);
+        AtomicInteger signals = new AtomicInteger();
+        Collector<BatchItemResult<Integer>> collector = new Collector<BatchItemResult<Integer>>(2, false) {
+            @Override
+            public void onError(Throwable throwable) {
+                signals.incrementAndGet();
+                super.onError(throwable);
+            }
+        };
+        publisher.subscribe(processor);
+        processor.subscribe(collector);
+
+        collector.subscription.request(0);
+        collector.subscription.request(-1);
+        collector.await();
+        assertInstanceOf(IllegalArgumentException.class, collector.error);
+        assertTrue(publisher.cancelled.get());
+
+        // 在途调用完成后不再向下游发出任何信号
+        Thread.sleep(20);
+        assertEquals(1, signals.get());
+        assertTrue(collector.items.size() <= 2);
+    }
+
+    @Test
+    public void testRegisterProcessor() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            Client client = Client.NewClient(Config.DefaultConfig()
+                    .WithAccessId(ACCESS_ID)
+                    .WithAccessKey(ACCESS_KEY)
+                    .WithAddress(server.getAddress()));
+            try {
+                Flow.Processor<RegisterInfo, BatchItemResult<RegisterInfo>> processor =
+                        client.API().RegisterProcessor(4, true);
+                Collector<BatchItemResult<RegisterInfo>> collector = new Collector<>(Long.MAX_VALUE, false);
+                processor.subscribe(collector);
+                try (SubmissionPublisher<RegisterInfo> publisher = new SubmissionPublisher<>()) {
+                    publisher.subscribe(processor);
+                    for (int i = 0; i < 50; i++) {
+                        publisher.submit(new RegisterInfo("1380000" + String.format("%04d", i)));
+                    }
+                }
+                collector.await();
+
+                assertEquals(50, collector.items.size());
+                for (int i = 0; i < 50; i++) {
+                    BatchItemResult<RegisterInfo> r = collector.items.get(i);
+                    assertTrue(r.isSuccess());
+                    assertTrue(r.getResult().getData().contains("1380000" + String.format("%04d", i)));
+                }
+                assertEquals(50, server.getRequestCount());
+            } finally {
+                client.Close();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 调用选项测试类：截止时间、幂等键和额外 Header
+ */
+public class CallOptionsTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private MockOpenApiServer server;
+    private Client client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY);
+        client = Client.NewClient(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress())
+                .WithRetryPolicy(RetryPolicy.DefaultRetryPolicy()
+                        .WithMaxAttempts(3)
+                        .WithBackoff(Duration.ofMillis(200), Duration.ofMillis(200), 1)
+                        .WithEndpoints(Endpoint.values())));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.Close();
+        server.close();
+    }
+
+    @Test
+    public void testExpiredDeadlineIsRejectedBeforeSending() {
+        CallOptions options = CallOptions.DefaultCallOptions().WithDeadline(Instant.now().minusSeconds(1));
+
+        DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+                () -> client.API().AuthLogin(new OpenIdToken("o1"), options));
+        assertEquals(Endpoint.AUTH_LOGIN, e.getEndpoint());
+        ExecutionException async = assertThrows(ExecutionException.class,
+                () -> client.API().AuthLoginAsync(new OpenIdToken("o1"), options).get());
+        assertTrue(async.getCause() instanceof DeadlineExceededException);
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void testDeadlineBoundsSlowRequest() {
+        server.setDelayMillis(2000);
+        CallOptions options = CallOptions.DefaultCallOptions().WithTimeout(Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+                () -> client.API().AuthCMT(new OpenIdToken("o1"), options));
+        assertNotNull(e.getCause());
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(1500).toNanos());
+
+        ExecutionException async = assertThrows(ExecutionException.class,
+                () -> client.API().AuthCMTAsync(new OpenIdToken("o1"), options).get());
+        assertTrue(async.getCause() instanceof DeadlineExceededException);
+    }
+
+    @Test
+    public void testRetriesStopAtDeadline() throws Exception {
+        Config config = Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress())
+                .WithRetryPolicy(RetryPolicy.DefaultRetryPolicy()
+                        .WithMaxAttempts(20)
+                        .WithBackoff(Duration.ofMillis(100), Duration.ofMillis(100), 1)
+                        .WithEndpoints(Endpoint.AUTH_CMT));
+        server.failNext(100, 503);
+        CallOptions options = CallOptions.DefaultCallOptions().WithTimeout(Duration.ofMillis(200));
+
+        Client retrying = Client.NewClient(config);
+        try {
+            // 剩余时间不足一次退避时返回最近一次的失败结果，不再等待
+            long start = System.nanoTime();
+            try {
+                assertEquals(503, retrying.API().AuthCMT(new OpenIdToken("o1"), options).getCode());
+            } catch (DeadlineExceededException e) {
+                // 最后一次尝试恰好在截止时间到达时发出
+            }
+            assertTrue(System.nanoTime() - start < Duration.ofMillis(400).toNanos());
+            assertTrue(server.getRequestCount() < 20);
+        } finally {
+            retrying.Close();
+        }
+    }
+
+    @Test
+    public void testIdempotencyKeyAndHeadersAreSentOnRetries() throws Exception {
+        server.failNext(1, 503);
+        CallOptions options = CallOptions.DefaultCallOptions()
+                .WithIdempotencyKey("idem-1")
+                .WithHeader("X-Request-Source", "batch");
+
+        Result<String> result = client.API().AuthCMT(new OpenIdToken("o1"), options);
+        assertTrue(result.isSuccess());
+        assertEquals(2, server.getRequestCount());
+        assertEquals("idem-1", server.getLastRequestHeader(Constants.HEADER_IDEMPOTENCY_KEY));
+        assertEquals("batch", server.getLastRequestHeader("X-Request-Source"));
+    }
+
+    @Test
+    public void testValidate() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CallOptions.DefaultCallOptions().WithHeader("x-signature", "forged").validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> CallOptions.DefaultCallOptions().WithHeader("Content-Type", "text/plain").validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> CallOptions.DefaultCallOptions().WithTimeout(Duration.ofMillis(-1)).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> client.API().AuthLogin(new OpenIdToken("o1"),
+                        CallOptions.DefaultCallOptions().WithIdempotencyKey(" ")));
+        assertEquals(0, server.getRequestCount());
+    }
+}
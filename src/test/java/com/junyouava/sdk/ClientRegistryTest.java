@@ -0,0 +1,179 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 多租户客户端注册表测试类
+ */
+public class ClientRegistryTest {
+    private static final String KEY_A = "a2V5LWE="; // Base64 encoded "key-a"
+    private static final String KEY_B = "a2V5LWI="; // Base64 encoded "key-b"
+
+    private final Map<String, String> keys = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ClientRegistry.TenantLoader loader() {
+        return accessId -> {
+            loads.incrementAndGet();
+            String key = keys.get(accessId);
+            if (key == null) {
+                throw new IOException("unknown tenant: " + accessId);
+            }
+            return key;
+        };
+    }
+
+    @Test
+    public void testTenantsShareTransport() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer("tenant-a", KEY_A)) {
+            server.addAccessKey("tenant-b", KEY_B);
+            keys.put("tenant-a", KEY_A);
+            keys.put("tenant-b", KEY_B);
+            ClientRegistry registry = ClientRegistry.NewClientRegistry(
+                    Config.DefaultConfig().WithAddress(server.getAddress()), loader(), Duration.ZERO);
+
+            // 同一租户的并发访问只加载一次
+            List<CompletableFuture<Client>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return registry.Get("tenant-a");
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+            Client a = futures.get(0).get();
+            for (CompletableFuture<Client> future : futures) {
+                assertSame(a, future.get());
+            }
+            Client b = registry.Get("tenant-b");
+            assertEquals(2, loads.get());
+            assertEquals(2, registry.Size());
+            assertEquals(3, registry.transportReferences());
+
+            // 各自用自己的密钥签名，共享同一个 OkHttpClient
+            assertTrue(a.API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+            assertTrue(b.API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+            assertSame(a.getHttpClient(), b.getHttpClient());
+            assertNotNull(registry.ConnectionPoolStats());
+
+            registry.Close();
+            assertEquals(0, registry.transportReferences());
+            assertTrue(a.getHttpClient().dispatcher().executorService().isShutdown());
+            assertThrows(IllegalStateException.class, () -> registry.Get("tenant-a"));
+        }
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        keys.put("tenant-a", KEY_A);
+        keys.put("tenant-b", KEY_B);
+        ClientRegistry registry = ClientRegistry.NewClientRegistry(
+                Config.DefaultConfig(), loader(), Duration.ofMillis(50));
+
+        Client a = registry.Get("tenant-a");
+        Thread.sleep(100);
+        // 访问其他租户时顺带淘汰空闲租户
+        registry.Get("tenant-b");
+        assertEquals(1, registry.Size());
+        assertEquals(2, registry.transportReferences());
+
+        // 被淘汰的客户端重复关闭不会多释放引用
+        a.Close();
+        assertEquals(2, registry.transportReferences());
+
+        assertNotSame(a, registry.Get("tenant-a"));
+        assertEquals(3, loads.get());
+
+        registry.Remove("tenant-b");
+        assertEquals(1, registry.Size());
+        registry.Close();
+        assertEquals(0, registry.transportReferences());
+    }
+
+    @Test
+    public void testLoadFailureIsNotCached() throws Exception {
+        ClientRegistry registry = ClientRegistry.NewClientRegistry(
+                Config.DefaultConfig(), loader(), Duration.ZERO);
+
+        assertThrows(IOException.class, () -> registry.Get("tenant-a"));
+        assertEquals(0, registry.Size());
+
+        keys.put("tenant-a", KEY_A);
+        assertNotNull(registry.Get("tenant-a"));
+        assertEquals(2, loads.get());
+        registry.Close();
+    }
+
+    @Test
+    public void testEvictionWaitsForLeases() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer("tenant-a", KEY_A)) {
+            keys.put("tenant-a", KEY_A);
+            ClientRegistry registry = ClientRegistry.NewClientRegistry(
+                    Config.DefaultConfig().WithAddress(server.getAddress()), loader(), Duration.ofMillis(100));
+
+            ClientRegistry.Lease lease = registry.Acquire("tenant-a");
+            registry.Remove("tenant-a");
+            Thread.sleep(200);
+            // 已移出注册表，但租约未关闭，客户端仍可使用
+            assertEquals(0, registry.Size());
+            assertEquals(2, registry.transportReferences());
+            assertTrue(lease.getClient().API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+
+            lease.close();
+            lease.close();
+            assertEquals(1, registry.transportReferences());
+
+            // 淘汰后重新获取得到新的客户端
+            try (ClientRegistry.Lease again = registry.Acquire("tenant-a")) {
+                assertNotSame(lease.getClient(), again.getClient());
+                registry.Close();
+                assertEquals(1, registry.transportReferences());
+                assertTrue(again.getClient().API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+            }
+            assertEquals(0, registry.transportReferences());
+        }
+    }
+
+    @Test
+    public void testRemovedClientDrainsBeforeClose() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer("tenant-a", KEY_A)) {
+            keys.put("tenant-a", KEY_A);
+            ClientRegistry registry = ClientRegistry.NewClientRegistry(
+                    Config.DefaultConfig().WithAddress(server.getAddress()), loader(), Duration.ofMillis(300));
+
+            Client a = registry.Get("tenant-a");
+            registry.Remove("tenant-a");
+            // Get 返回的客户端在保留期内仍可使用
+            assertTrue(a.API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+            assertEquals(2, registry.transportReferences());
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (registry.transportReferences() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, registry.transportReferences());
+            registry.Close();
+        }
+    }
+
+    @Test
+    public void testTemplateRejectsNoncePool() {
+        assertThrows(IllegalArgumentException.class, () -> ClientRegistry.NewClientRegistry(
+                Config.DefaultConfig().WithNoncePoolSize(1024), loader(), Duration.ZERO));
+    }
+}
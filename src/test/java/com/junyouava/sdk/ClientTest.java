@@ -1,6 +1,26 @@
 package com.junyouava.sdk;
 
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -33,6 +53,41 @@ public class ClientTest {
         });
     }
 
+    @Test
+    public void testTransportConfigValidation() {
+        assertThrows(IllegalArgumentException.class, () -> validConfig().WithMaxRequests(0, 1).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> validConfig().WithConnectionPool(-1, Duration.ofMinutes(5)).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> validConfig().WithTimeouts(null, Duration.ZERO, Duration.ZERO).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> validConfig().WithEndpointTimeout(Endpoint.REGISTER, Duration.ZERO).validate());
+        assertThrows(IllegalArgumentException.class, () -> validConfig().WithHttpVersion(null).validate());
+        assertThrows(IllegalArgumentException.class, () -> validConfig().WithWarmUpConnections(-1).validate());
+        assertThrows(IllegalArgumentException.class, () -> validConfig().WithMaxErrorBodySize(1024).validate());
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(IllegalArgumentException.class, () -> validConfig().WithVirtualThreads(true).validate());
+        }
+
+        Config config = validConfig()
+                .WithConnectionPool(32, Duration.ofMinutes(1))
+                .WithMaxRequests(128, 128)
+                .WithHttpVersion(HttpVersion.HTTP_1_1)
+                .WithEndpointTimeout(Endpoint.AUTH_CMT, Duration.ofSeconds(2));
+        Client client = Client.NewClient(config);
+        assertEquals(128, client.getHttpClient().dispatcher().getMaxRequestsPerHost());
+        assertEquals(1, client.getHttpClient().protocols().size());
+        assertEquals(Duration.ofSeconds(2), config.getEndpointTimeout(Endpoint.AUTH_CMT));
+        assertNull(config.getEndpointTimeout(Endpoint.REGISTER));
+        client.Close();
+    }
+
+    private static Config validConfig() {
+        return Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey("dGVzdC1rZXk=");
+    }
+
     @Test
     public void testClientCreation() {
         Config config = Config.DefaultConfig()
@@ -63,5 +118,240 @@ public class ClientTest {
         assertNotNull(signature.getTimestamp());
         assertEquals("test-id", signature.getAccessId());
     }
-}
 
+    @Test
+    public void testSignatureMatchesReferenceHMAC() throws Exception {
+        Config config = Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey("dGVzdC1rZXk="); // Base64 encoded "test-key"
+
+        Client client = Client.NewClient(config);
+        // 路径中包含非 ASCII 字符，覆盖签名缓冲区的 UTF-8 编码分支
+        String path = "/api/open/v1/注册";
+        for (int i = 0; i < 3; i++) {
+            Signature signature = client.Auth().GenerateSignature("POST", path);
+
+            String signString = signature.getAccessId() + "\n" + "POST" + "\n" + path + "\n"
+                    + signature.getNonce() + "\n" + signature.getTimestamp();
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(Base64.getDecoder().decode("dGVzdC1rZXk="), "HmacSHA256"));
+            String expected = Base64.getEncoder().encodeToString(
+                    mac.doFinal(signString.getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals(expected, signature.getSignature());
+        }
+    }
+
+    @Test
+    public void testInvalidAccessKey() {
+        Config config = Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey("not base64!");
+
+        Client client = Client.NewClient(config);
+        assertThrows(RuntimeException.class, () -> client.Auth().GenerateSignature("POST", "/api/open/v1/register"));
+    }
+
+    @Test
+    public void testAsyncNetworkFailure() {
+        Config config = Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey("dGVzdC1rZXk=")
+                .WithAddress("http://127.0.0.1:1"); // 无服务监听的端口
+
+        Client client = Client.NewClient(config);
+        try {
+            CompletableFuture<Result<String>> future = client.API().AuthLoginAsync(new OpenIdToken("open-id"));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, e.getCause());
+        } finally {
+            client.Close();
+        }
+    }
+
+    @Test
+    public void testSignatureInterceptor() throws Exception {
+        Client client = Client.NewClient(Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey("dGVzdC1rZXk="));
+
+        // 第二个拦截器截获已签名的请求并直接返回，不发出网络请求
+        AtomicReference<Request> captured = new AtomicReference<>();
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(client.Auth().Interceptor())
+                .addInterceptor(chain -> {
+                    captured.set(chain.request());
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create("{}", MediaType.get("application/json")))
+                            .build();
+                })
+                .build();
+
+        // 含非 ASCII 字符的路径按解码后的原始路径签名，与 GenerateSignature 一致
+        String[] paths = {"/api/open/v1/custom/path", "/api/open/v1/注册 用户"};
+        for (String path : paths) {
+            Request request = new Request.Builder()
+                    .url("https://open-api.junyouchain.com" + path + "?x=1")
+                    .get()
+                    .build();
+            httpClient.newCall(request).execute().close();
+
+            Request signed = captured.get();
+            assertEquals("test-id", signed.header(Constants.HEADER_ACCESS_ID));
+            String signString = "test-id\nGET\n" + path + "\n"
+                    + signed.header(Constants.HEADER_NONCE) + "\n" + signed.header(Constants.HEADER_TIMESTAMP);
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(Base64.getDecoder().decode("dGVzdC1rZXk="), "HmacSHA256"));
+            assertEquals(Base64.getEncoder().encodeToString(mac.doFinal(signString.getBytes(StandardCharsets.UTF_8))),
+                    signed.header(Constants.HEADER_SIGNATURE));
+        }
+    }
+
+    @Test
+    public void testReloadSwitchesCredentialsAndAddress() throws Exception {
+        String rotatedKey = Base64.getEncoder().encodeToString("rotated-key".getBytes(StandardCharsets.UTF_8));
+        try (MockOpenApiServer first = new MockOpenApiServer("test-id", "dGVzdC1rZXk=");
+             MockOpenApiServer second = new MockOpenApiServer("rotated-id", rotatedKey)) {
+            Config config = Config.DefaultConfig()
+                    .WithAccessId("test-id")
+                    .WithAccessKey("dGVzdC1rZXk=")
+                    .WithAddress(first.getAddress());
+            Client client = Client.NewClient(config);
+            try {
+                Transport transport = client.getTransport();
+                assertTrue(client.API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+
+                client.Reload(Config.DefaultConfig()
+                        .WithAccessId("rotated-id")
+                        .WithAccessKey(rotatedKey)
+                        .WithAddress(second.getAddress()));
+                assertTrue(client.API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+                assertTrue(client.API().AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS).isSuccess());
+
+                assertSame(transport, client.getTransport());
+                assertEquals(1, first.getRequestCount());
+                assertEquals(2, second.getRequestCount());
+                assertEquals(0, second.getRejectedCount());
+            } finally {
+                client.Close();
+            }
+        }
+    }
+
+    @Test
+    public void testAsyncSuccessParsedOffCommonPool() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer("test-id", "dGVzdC1rZXk=")) {
+            AtomicReference<String> parsingThread = new AtomicReference<>();
+            Client client = Client.NewClient(Config.DefaultConfig()
+                    .WithAccessId("test-id")
+                    .WithAccessKey("dGVzdC1rZXk=")
+                    .WithAddress(server.getAddress())
+                    .WithInstrumentation(new Instrumentation() {
+                        @Override
+                        public void recordPhase(Endpoint endpoint, Phase phase, long nanos) {
+                            if (phase == Phase.PARSING) {
+                                parsingThread.set(Thread.currentThread().getName());
+                            }
+                        }
+                    }));
+            try {
+                Result<String> result = client.API().AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS);
+                assertTrue(result.isSuccess());
+                assertNotNull(result.getData());
+                assertTrue(parsingThread.get().startsWith("junyou-sdk-async-"), parsingThread.get());
+            } finally {
+                client.Close();
+            }
+        }
+    }
+
+    @Test
+    public void testAsyncCancelPropagatesToTransport() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer("test-id", "dGVzdC1rZXk=")) {
+            server.setDelayMillis(5000);
+            AtomicReference<CompletableFuture<TransportResponse>> sent = new AtomicReference<>();
+            Transport delegate = new JdkHttpTransport();
+            Transport transport = new Transport() {
+                @Override
+                public TransportResponse execute(TransportRequest request) throws IOException {
+                    return delegate.execute(request);
+                }
+
+                @Override
+                public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+                    CompletableFuture<TransportResponse> pending = delegate.executeAsync(request);
+                    sent.set(pending);
+                    return pending;
+                }
+
+                @Override
+                public void close() {
+                    delegate.close();
+                }
+            };
+            Client client = Client.NewClientWithTransport(Config.DefaultConfig()
+                    .WithAccessId("test-id")
+                    .WithAccessKey("dGVzdC1rZXk=")
+                    .WithAddress(server.getAddress()), transport);
+            try {
+                CompletableFuture<Result<String>> future = client.API().AuthLoginAsync(new OpenIdToken("o1"));
+                assertNotNull(sent.get());
+                assertTrue(future.cancel(true));
+                assertTrue(sent.get().isCancelled());
+            } finally {
+                client.Close();
+            }
+        }
+    }
+
+    @Test
+    public void testWarmUpConnections() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer("test-id", "dGVzdC1rZXk=")) {
+            server.setDelayMillis(200);
+            Config config = Config.DefaultConfig()
+                    .WithAccessId("test-id")
+                    .WithAccessKey("dGVzdC1rZXk=")
+                    .WithAddress(server.getAddress());
+
+            // 默认不预热
+            Client client = Client.NewClient(config);
+            Thread.sleep(300);
+            assertEquals(0, server.getRequestCount());
+            client.Close();
+
+            // HTTP/2 下连接复用，只预热一个连接
+            client = Client.NewClient(config.copy().WithWarmUpConnections(3));
+            waitForRequests(server, 1);
+            Thread.sleep(300);
+            assertEquals(1, server.getRequestCount());
+            client.Close();
+
+            // HTTP/1.1 下并发建立多个连接
+            client = Client.NewClient(config.copy().WithHttpVersion(HttpVersion.HTTP_1_1).WithWarmUpConnections(3));
+            try {
+                waitForRequests(server, 4);
+                assertNull(server.getLastRequestHeader(Constants.HEADER_SIGNATURE));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (client.ConnectionPoolStats().getIdleConnectionCount() < 3) {
+                    assertTrue(System.nanoTime() < deadline, "预热连接未进入连接池");
+                    Thread.sleep(10);
+                }
+                assertEquals(3, client.ConnectionPoolStats().getConnectionCount());
+            } finally {
+                client.Close();
+            }
+        }
+    }
+
+    private static void waitForRequests(MockOpenApiServer server, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.getRequestCount() < count) {
+            assertTrue(System.nanoTime() < deadline, "预热请求未发出");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 时钟偏差校正测试类
+ */
+public class ClockSkewTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private static String date(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(instant, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testSmoothingAndReset() {
+        ClockSkew skew = new ClockSkew();
+        skew.record(10_000, false);
+        assertEquals(10, skew.offsetSeconds());
+        skew.record(20_000, false);
+        assertEquals(12_000, skew.estimateMillis());
+        assertEquals(12, skew.offsetSeconds());
+        skew.record(-5_000, true);
+        assertEquals(-5, skew.offsetSeconds());
+    }
+
+    @Test
+    public void testObserveDateHeader() {
+        ClockSkew skew = new ClockSkew();
+        skew.observe(date(Instant.now().plusSeconds(3600)), System.nanoTime(), false);
+        assertTrue(Math.abs(skew.offsetSeconds() - 3600) <= 1, String.valueOf(skew.offsetSeconds()));
+
+        // 每秒最多采样一次（跨过整秒时按 EWMA 平滑，不会直接跳变），被拒绝的响应不受限制
+        skew.observe(date(Instant.now()), System.nanoTime(), false);
+        assertTrue(skew.offsetSeconds() > 2800, String.valueOf(skew.offsetSeconds()));
+        skew.observe(date(Instant.now().minusSeconds(60)), System.nanoTime(), true);
+        assertTrue(Math.abs(skew.offsetSeconds() + 60) <= 1, String.valueOf(skew.offsetSeconds()));
+
+        skew.observe("not a date", System.nanoTime(), true);
+        skew.observe(null, System.nanoTime(), true);
+        assertTrue(Math.abs(skew.offsetSeconds() + 60) <= 1);
+    }
+
+    @Test
+    public void testCoarseClock() {
+        assertTrue(Math.abs(CoarseClock.currentSeconds() - System.currentTimeMillis() / 1000) <= 1);
+    }
+
+    @Test
+    public void testRejectedTimestampIsCorrected() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            // 服务端时钟快 1 小时：本机时间 + 180 秒的时间戳在服务端看来已过期
+            server.setClockOffsetSeconds(3600);
+            Config config = Config.DefaultConfig()
+                    .WithAccessId(ACCESS_ID)
+                    .WithAccessKey(ACCESS_KEY)
+                    .WithAddress(server.getAddress())
+                    .WithClockSkewCompensation(true);
+            Client client = Client.NewClientWithTransport(config,
+                    new SkewedTransport(new JdkHttpTransport(), 3600));
+            try {
+                Result<String> rejected = client.API().AuthLogin(new OpenIdToken("o1"));
+                assertFalse(rejected.isSuccess());
+                assertEquals(401, rejected.getCode());
+                assertTrue(client.API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+                assertTrue(client.API().AuthLoginAsync(new OpenIdToken("o1")).get().isSuccess());
+                Duration skew = client.Auth().ClockSkew();
+                assertTrue(Math.abs(skew.getSeconds() - 3600) <= 2, skew.toString());
+            } finally {
+                client.Close();
+            }
+        }
+    }
+
+    /**
+     * 把响应的 Date Header 平移指定秒数，模拟时钟不同步的服务端
+     */
+    private static final class SkewedTransport implements Transport {
+        private final Transport delegate;
+        private final long offsetSeconds;
+
+        SkewedTransport(Transport delegate, long offsetSeconds) {
+            this.delegate = delegate;
+            this.offsetSeconds = offsetSeconds;
+        }
+
+        @Override
+        public TransportResponse execute(TransportRequest request) throws IOException {
+            return wrap(delegate.execute(request));
+        }
+
+        @Override
+        public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+            return delegate.executeAsync(request).thenApply(this::wrap);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        private TransportResponse wrap(TransportResponse response) {
+            return new TransportResponse() {
+                @Override
+                public int code() {
+                    return response.code();
+                }
+
+                @Override
+                public String header(String name) {
+                    String value = response.header(name);
+                    if (value == null || !"Date".equalsIgnoreCase(name)) {
+                        return value;
+                    }
+                    Instant instant = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                    return date(instant.plusSeconds(offsetSeconds));
+                }
+
+                @Override
+                public InputStream body() throws IOException {
+                    return response.body();
+                }
+
+                @Override
+                public void close() {
+                    response.close();
+                }
+            };
+        }
+    }
+}
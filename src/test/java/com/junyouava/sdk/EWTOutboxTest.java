@@ -0,0 +1,269 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.EWTBizNoInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EWT outbox 测试类：持久化、崩溃恢复、组提交和重放
+ */
+public class EWTOutboxTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    @TempDir
+    Path dir;
+
+    private static List<String> pending(EWTOutbox outbox) {
+        List<String> bizNos = new ArrayList<>();
+        outbox.claimPending().forEachRemaining(entry -> {
+            outbox.release(entry);
+            bizNos.add(entry.info.getEwtBizNo());
+        });
+        return bizNos;
+    }
+
+    @Test
+    public void testRecoverUnacknowledgedEntries() throws Exception {
+        Path file = dir.resolve("outbox.log");
+        EWTOutbox outbox = EWTOutbox.open(file, 4096);
+        EWTOutbox.Entry a = outbox.append(new EWTBizNoInfo("A"));
+        EWTOutbox.Entry b = outbox.append(new EWTBizNoInfo("B"));
+        outbox.append(new EWTBizNoInfo("C"));
+        outbox.commit(b.ticket);
+        outbox.ack(a);
+        outbox.close();
+
+        // 模拟崩溃：在日志末尾留下写了一半的记录
+        outbox = EWTOutbox.open(file, 4096);
+        EWTOutbox.Entry d = outbox.append(new EWTBizNoInfo("D"));
+        outbox.commit(d.ticket);
+        outbox.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long end = 16;
+            while (raf.length() > end + 4) {
+                raf.seek(end);
+                int length = raf.readInt();
+                if (length == 0) {
+                    break;
+                }
+                end += 4 + length + 4;
+            }
+            raf.seek(end);
+            raf.writeInt(20);
+            raf.write(new byte[]{1, 0, 0, 0});
+        }
+
+        outbox = EWTOutbox.open(file, 4096);
+        try {
+            assertEquals(List.of("B", "C", "D"), pending(outbox));
+            // 序号在恢复后继续递增
+            EWTOutbox.Entry e = outbox.append(new EWTBizNoInfo("E"));
+            assertTrue(e.seq > d.seq);
+            // 同一文件不能被同时打开
+            assertThrows(java.io.IOException.class, () -> EWTOutbox.open(file, 4096));
+        } finally {
+            outbox.close();
+        }
+    }
+
+    @Test
+    public void testZeroFilledFileIsTreatedAsNew() throws Exception {
+        // 模拟创建文件后、写入文件头前崩溃
+        Path file = dir.resolve("zeroed.log");
+        Files.write(file, new byte[4096]);
+
+        try (EWTOutbox outbox = EWTOutbox.open(file, 4096)) {
+            EWTOutbox.Entry entry = outbox.append(new EWTBizNoInfo("Z"));
+            outbox.commit(entry.ticket);
+        }
+        try (EWTOutbox outbox = EWTOutbox.open(file, 4096)) {
+            assertEquals(List.of("Z"), pending(outbox));
+        }
+
+        // 其他无效内容仍然拒绝打开
+        Path garbage = dir.resolve("garbage.log");
+        Files.write(garbage, "not an outbox".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> EWTOutbox.open(garbage, 4096));
+    }
+
+    @Test
+    public void testGroupCommitAndCompaction() throws Exception {
+        Path file = dir.resolve("outbox.log");
+        EWTOutbox outbox = EWTOutbox.open(file, 4096);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        EWTOutbox.Entry entry = outbox.append(new EWTBizNoInfo("biz-" + thread + "-" + i));
+                        outbox.commit(entry.ticket);
+                        // 只保留每个线程的最后一个条目
+                        if (i < 199) {
+                            outbox.ack(entry);
+                        } else {
+                            outbox.release(entry);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            outbox.close();
+        }
+
+        // 写满时只保留未确认的条目，文件不随总写入量增长
+        assertTrue(Files.size(file) <= 8192, String.valueOf(Files.size(file)));
+        EWTOutbox reopened = EWTOutbox.open(file, 4096);
+        try {
+            List<String> pending = pending(reopened);
+            assertEquals(8, pending.size());
+            for (int t = 0; t < 8; t++) {
+                assertTrue(pending.contains("biz-" + t + "-199"));
+            }
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    public void testAsyncCommitOnFlusherThread() throws Exception {
+        Path file = dir.resolve("async.log");
+        EWTOutbox outbox = EWTOutbox.open(file, 4096);
+        List<CompletableFuture<Void>> commits = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            EWTOutbox.Entry entry = outbox.append(new EWTBizNoInfo("async-" + i));
+            outbox.release(entry);
+            commits.add(outbox.commitAsync(entry.ticket));
+        }
+        CompletableFuture.allOf(commits.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        // 落盘在 outbox 自己的线程上执行
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> t.getName().startsWith("junyou-sdk-outbox-flusher-")));
+
+        // 关闭后的异步落盘以 IOException 结束
+        outbox.close();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> outbox.commitAsync(Long.MAX_VALUE).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+
+        try (EWTOutbox reopened = EWTOutbox.open(file, 4096)) {
+            assertEquals(100, pending(reopened).size());
+        }
+    }
+
+    @Test
+    public void testClaimPendingIsLazy() throws Exception {
+        try (EWTOutbox outbox = EWTOutbox.open(dir.resolve("lazy.log"), 4096)) {
+            for (String bizNo : List.of("A", "B", "C")) {
+                EWTOutbox.Entry entry = outbox.append(new EWTBizNoInfo(bizNo));
+                outbox.commit(entry.ticket);
+                outbox.release(entry);
+            }
+
+            // 只有迭代到的条目被占用，提前停止时其余条目仍可被重放
+            Iterator<EWTOutbox.Entry> claims = outbox.claimPending();
+            EWTOutbox.Entry first = claims.next();
+            assertEquals("A", first.info.getEwtBizNo());
+            assertEquals(List.of("B", "C"), pending(outbox));
+            outbox.release(first);
+            assertEquals(List.of("A", "B", "C"), pending(outbox));
+        }
+    }
+
+    @Test
+    public void testPermanentRejectionIsAcknowledged() throws Exception {
+        Path file = dir.resolve("rejected-outbox.log");
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            Client client = Client.NewClient(Config.DefaultConfig()
+                    .WithAccessId(ACCESS_ID)
+                    .WithAccessKey(ACCESS_KEY)
+                    .WithAddress(server.getAddress())
+                    .WithEWTOutbox(file));
+            try {
+                // 4xx 业务拒绝不再重放；认证失败和服务端错误留待重放
+                server.failNext(2, 400);
+                assertFalse(client.API().ConfirmEWTReleaseByPartner(new EWTBizNoInfo("R1")).isSuccess());
+                assertFalse(client.API().ConfirmEWTReleaseByPartnerAsync(new EWTBizNoInfo("R2"))
+                        .get(10, TimeUnit.SECONDS).isSuccess());
+                assertEquals(0, client.API().PendingEWTConfirmations());
+
+                server.failNext(1, 401);
+                assertFalse(client.API().ConfirmEWTReleaseByPartner(new EWTBizNoInfo("R3")).isSuccess());
+                server.failNext(1, 503);
+                assertFalse(client.API().ConfirmEWTReleaseByPartnerAsync(new EWTBizNoInfo("R4"))
+                        .get(10, TimeUnit.SECONDS).isSuccess());
+                assertEquals(2, client.API().PendingEWTConfirmations());
+            } finally {
+                client.Close();
+            }
+        }
+    }
+
+    @Test
+    public void testClientLogsAndReplays() throws Exception {
+        Path file = dir.resolve("client-outbox.log");
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            Config config = Config.DefaultConfig()
+                    .WithAccessId(ACCESS_ID)
+                    .WithAccessKey(ACCESS_KEY)
+                    .WithAddress(server.getAddress())
+                    .WithEWTOutbox(file);
+
+            Client client = Client.NewClient(config);
+            try {
+                server.failNext(2, 503);
+                assertFalse(client.API().ConfirmEWTReleaseByPartner(new EWTBizNoInfo("E1")).isSuccess());
+                assertFalse(client.API().ConfirmEWTReleaseByPartnerAsync(new EWTBizNoInfo("E2")).get().isSuccess());
+                assertTrue(client.API().ConfirmEWTReleaseByPartner(new EWTBizNoInfo("E3")).isSuccess());
+                assertTrue(client.API().ConfirmEWTReleaseByPartnerAsync(new EWTBizNoInfo("E4")).get().isSuccess());
+                assertEquals(2, client.API().PendingEWTConfirmations());
+                assertThrows(UncheckedIOException.class, () -> Client.NewClient(config));
+            } finally {
+                client.Close();
+            }
+
+            // 重启后重放未确认的条目
+            Client restarted = Client.NewClient(config);
+            try {
+                assertEquals(2, restarted.API().PendingEWTConfirmations());
+                List<String> replayed = new ArrayList<>();
+                restarted.API().ReplayEWTOutbox(4, item -> {
+                    assertTrue(item.isSuccess());
+                    replayed.add(item.getItem().getEwtBizNo());
+                });
+                assertTrue(replayed.containsAll(List.of("E1", "E2")));
+                assertEquals(2, replayed.size());
+                assertEquals(0, restarted.API().PendingEWTConfirmations());
+                assertEquals(6, server.getRequestCount());
+            } finally {
+                restarted.Close();
+            }
+        }
+    }
+}
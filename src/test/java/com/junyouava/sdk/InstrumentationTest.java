@@ -0,0 +1,157 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import com.junyouava.sdk.model.RegisterInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 监控埋点测试类
+ */
+public class InstrumentationTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private final Map<String, AtomicLong> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final MeterInstrumentation instrumentation = new MeterInstrumentation(
+            (name, nanos, tags) -> timers.computeIfAbsent(key(name, tags), k -> new AtomicLong()).incrementAndGet(),
+            (name, tags) -> counters.computeIfAbsent(key(name, tags), k -> new AtomicLong()).incrementAndGet(),
+            new MeterInstrumentation.GaugeSink() {
+                @Override
+                public void register(String name, DoubleSupplier value, String... tags) {
+                    gauges.put(key(name, tags), value);
+                }
+
+                @Override
+                public void unregister(String name, String... tags) {
+                    gauges.remove(key(name, tags));
+                }
+            });
+
+    private MockOpenApiServer server;
+    private Client client;
+
+    private static String key(String name, String... tags) {
+        return name + String.join(",", tags);
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.Close();
+        }
+        server.close();
+    }
+
+    private APIService api(String accessKey) {
+        client = Client.NewClient(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(accessKey)
+                .WithAddress(server.getAddress())
+                .WithInstrumentation(instrumentation));
+        return client.API();
+    }
+
+    @Test
+    public void testPhasesAndOutcomes() throws Exception {
+        APIService api = api(ACCESS_KEY);
+        api.AuthLogin(new OpenIdToken("o1"));
+        api.AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS);
+        // 结果回调可能在 get 返回之后才执行完
+        String success = key(MeterInstrumentation.REQUEST_COUNTER,
+                "endpoint", "auth/login", "outcome", "success", "err_code", "none");
+        for (int i = 0; i < 100 && counters.get(success).get() < 2; i++) {
+            Thread.sleep(10);
+        }
+
+        for (Instrumentation.Phase phase : Instrumentation.Phase.values()) {
+            assertEquals(2, timers.get(key(MeterInstrumentation.PHASE_TIMER,
+                    "endpoint", "auth/login", "phase", phase.getName())).get(), phase.getName());
+        }
+        assertEquals(2, counters.get(success).get());
+        assertEquals(0, instrumentation.getInFlight(Endpoint.AUTH_LOGIN));
+        assertEquals(0, gauges.get(key(MeterInstrumentation.IN_FLIGHT_GAUGE, "endpoint", "auth/login")).getAsDouble());
+
+        // 连接池指标
+        assertTrue(poolGauges().get(0).getAsDouble() >= 1);
+        assertNotNull(client.ConnectionPoolStats());
+    }
+
+    @Test
+    public void testPoolGaugesPerClient() throws Exception {
+        APIService first = api(ACCESS_KEY);
+        Client firstClient = client;
+        first.AuthLogin(new OpenIdToken("o1"));
+        Client second = Client.NewClient(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress())
+                .WithInstrumentation(instrumentation));
+        try {
+            // 两个客户端共享同一个埋点，连接池指标按 pool 标签区分，互不覆盖
+            assertEquals(2, poolGauges().size());
+        } finally {
+            second.Close();
+        }
+        assertEquals(1, poolGauges().size());
+        assertTrue(poolGauges().get(0).getAsDouble() >= 1);
+
+        // 关闭后注销，已被指标库持有的读取函数不再引用传输层
+        DoubleSupplier retained = poolGauges().get(0);
+        firstClient.Close();
+        client = null;
+        assertEquals(0, poolGauges().size());
+        assertTrue(Double.isNaN(retained.getAsDouble()));
+    }
+
+    private List<DoubleSupplier> poolGauges() {
+        List<DoubleSupplier> result = new ArrayList<>();
+        gauges.forEach((key, value) -> {
+            if (key.startsWith(MeterInstrumentation.POOL_CONNECTIONS_GAUGE + "pool,")) {
+                result.add(value);
+            }
+        });
+        return result;
+    }
+
+    @Test
+    public void testErrCodeFailure() throws Exception {
+        // 使用错误的密钥，服务端签名校验失败
+        APIService api = api("d3Jvbmcta2V5");
+        assertFalse(api.AuthCMT(new OpenIdToken("o1")).isSuccess());
+
+        assertEquals(1, counters.get(key(MeterInstrumentation.REQUEST_COUNTER,
+                "endpoint", "auth/cmt", "outcome", "failure", "err_code", "INVALID_SIGNATURE")).get());
+    }
+
+    @Test
+    public void testNetworkError() throws Exception {
+        server.close();
+        APIService api = api(ACCESS_KEY);
+        assertThrows(IOException.class, () -> api.Register(new RegisterInfo("13800138000")));
+
+        assertTrue(counters.keySet().stream().anyMatch(k -> k.startsWith(
+                MeterInstrumentation.REQUEST_COUNTER + "endpoint,register,outcome,error")));
+        assertEquals(0, instrumentation.getInFlight(Endpoint.REGISTER));
+    }
+}
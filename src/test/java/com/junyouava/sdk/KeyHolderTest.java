@@ -0,0 +1,163 @@
+package com.junyouava.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 签名密钥存储与轮换测试类
+ */
+public class KeyHolderTest {
+    private static final String KEY_A = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+    private static final String KEY_B = Base64.getEncoder().encodeToString("rotated-key".getBytes(StandardCharsets.UTF_8));
+
+    private static String reference(String accessKey, String accessId, String nonce, String timestamp) throws Exception {
+        String signString = accessId + "\nPOST\n/api/open/v1/register\n" + nonce + "\n" + timestamp;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(Base64.getDecoder().decode(accessKey), "HmacSHA256"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(signString.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testDestroyZeroizesKey() {
+        KeyHolder holder = new KeyHolder(KEY_A);
+        byte[] copy = holder.getEncoded();
+        assertArrayEquals("test-key".getBytes(StandardCharsets.UTF_8), copy);
+
+        // 调用方清零副本不影响密钥本身
+        Arrays.fill(copy, (byte) 0);
+        assertArrayEquals("test-key".getBytes(StandardCharsets.UTF_8), holder.getEncoded());
+
+        holder.destroy();
+        assertTrue(holder.isDestroyed());
+        assertThrows(IllegalStateException.class, holder::getEncoded);
+    }
+
+    @Test
+    public void testReloadRotatesKey() throws Exception {
+        Config config = Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey(KEY_A);
+        Client client = Client.NewClient(config);
+        try {
+            Signature before = client.Auth().GenerateSignature("POST", "/api/open/v1/register");
+            assertEquals(reference(KEY_A, "test-id", before.getNonce(), before.getTimestamp()), before.getSignature());
+
+            // 客户端只读取快照，修改原配置在 Reload 之前不生效
+            config.WithAccessKey(KEY_B);
+            Signature unchanged = client.Auth().GenerateSignature("POST", "/api/open/v1/register");
+            assertEquals(reference(KEY_A, "test-id", unchanged.getNonce(), unchanged.getTimestamp()), unchanged.getSignature());
+
+            client.Reload(config);
+            // 快照和 getConfig 的副本不保留 Base64 密钥
+            assertNull(client.getConfig().getAccessKey());
+            Signature after = client.Auth().GenerateSignature("POST", "/api/open/v1/register");
+            assertEquals(reference(KEY_B, "test-id", after.getNonce(), after.getTimestamp()), after.getSignature());
+
+            // 无效的新密钥不替换当前配置
+            assertThrows(IllegalArgumentException.class,
+                    () -> client.Reload(config.copy().WithAccessKey("not base64!")));
+            Signature kept = client.Auth().GenerateSignature("POST", "/api/open/v1/register");
+            assertEquals(reference(KEY_B, "test-id", kept.getNonce(), kept.getTimestamp()), kept.getSignature());
+        } finally {
+            client.Close();
+        }
+        assertThrows(RuntimeException.class, () -> client.Auth().GenerateSignature("POST", "/api/open/v1/register"));
+        assertThrows(IllegalStateException.class, () -> client.Reload(config));
+    }
+
+    @Test
+    public void testReloadDuringConcurrentSigning() throws Exception {
+        Config configA = Config.DefaultConfig().WithAccessId("id-a").WithAccessKey(KEY_A);
+        Config configB = Config.DefaultConfig().WithAccessId("id-b").WithAccessKey(KEY_B);
+        Client client = Client.NewClient(configA);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                workers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        Signature signature = client.Auth().GenerateSignature("POST", "/api/open/v1/register");
+                        // AccessId 与签名密钥始终来自同一个快照
+                        String key = "id-a".equals(signature.getAccessId()) ? KEY_A : KEY_B;
+                        assertEquals(reference(key, signature.getAccessId(), signature.getNonce(), signature.getTimestamp()),
+                                signature.getSignature());
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                client.Reload(i % 2 == 0 ? configB : configA);
+            }
+            running.set(false);
+            for (Future<?> worker : workers) {
+                worker.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+            client.Close();
+        }
+    }
+
+    @Test
+    public void testCloseWipesCachedMacs() throws Exception {
+        Client client = Client.NewClient(Config.DefaultConfig().WithAccessId("test-id").WithAccessKey(KEY_A));
+        HMACSigner signer = client.Auth().signer();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // 多个平台线程各自缓存一个用该密钥初始化的 Mac，线程在关闭后仍存活
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> client.Auth().GenerateSignature("POST", "/api/open/v1/register")));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            byte[] probe = "probe".getBytes(StandardCharsets.UTF_8);
+            Mac reference = Mac.getInstance("HmacSHA256");
+            reference.init(new SecretKeySpec(Base64.getDecoder().decode(KEY_A), "HmacSHA256"));
+            byte[] expected = reference.doFinal(probe);
+            List<Mac> cached = signer.cachedMacs();
+            assertFalse(cached.isEmpty());
+            assertTrue(cached.stream().anyMatch(mac -> Arrays.equals(expected, mac.doFinal(probe))));
+
+            client.Close();
+            // 关闭后没有任何存活的 Mac 仍以原密钥初始化
+            for (Mac mac : signer.cachedMacs()) {
+                assertFalse(Arrays.equals(expected, mac.doFinal(probe)));
+            }
+        } finally {
+            executor.shutdownNow();
+            client.Close();
+        }
+    }
+
+    @Test
+    public void testSignerReinitializesOnKeyChange() throws Exception {
+        HMACSigner signer = new HMACSigner();
+        KeyHolder a = HMACSigner.newKey(KEY_A);
+        KeyHolder b = HMACSigner.newKey(KEY_B);
+        assertEquals(reference(KEY_A, "test-id", "n", "0"), signer.sign(a, "test-id", "POST", "/api/open/v1/register", "n", "0"));
+        assertEquals(reference(KEY_B, "test-id", "n", "0"), signer.sign(b, "test-id", "POST", "/api/open/v1/register", "n", "0"));
+
+        a.destroy();
+        assertThrows(IllegalStateException.class, () -> signer.sign(a, "test-id", "POST", "/api/open/v1/register", "n", "0"));
+        b.destroy();
+        assertThrows(IllegalStateException.class, () -> signer.sign(b, "test-id", "POST", "/api/open/v1/register", "n", "0"));
+    }
+}
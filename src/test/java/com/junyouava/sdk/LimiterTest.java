@@ -0,0 +1,212 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 限流和自适应并发限制测试类
+ */
+public class LimiterTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    @Test
+    public void testRateLimiterReservations() {
+        RateLimiter limiter = RateLimiter.forAccessId("limiter-test", 10, 2);
+        long maxWait = TimeUnit.SECONDS.toNanos(1);
+
+        // 突发容量内无需等待，之后按 100ms 间隔排队
+        assertEquals(0, limiter.reserve(maxWait));
+        assertEquals(0, limiter.reserve(maxWait));
+        long third = limiter.reserve(maxWait);
+        long fourth = limiter.reserve(maxWait);
+        assertTrue(third > TimeUnit.MILLISECONDS.toNanos(50), String.valueOf(third));
+        assertTrue(fourth - third > TimeUnit.MILLISECONDS.toNanos(80), String.valueOf(fourth - third));
+
+        // 超过最长等待时间时拒绝且不消耗令牌
+        assertEquals(-1, limiter.reserve(0));
+        limiter.release();
+    }
+
+    @Test
+    public void testSharedRateLimiterKeepsFirstRate() {
+        RateLimiter first = RateLimiter.forAccessId("limiter-shared", 10, 2);
+        // 同一 AccessId 的后续客户端沿用已有速率
+        RateLimiter second = RateLimiter.forAccessId("limiter-shared", 50, 5);
+        assertSame(first, second);
+        assertEquals(10, second.getRate(), 1e-9);
+
+        // 最后一个使用者释放后移除，之后按新配置创建
+        first.release();
+        assertSame(first, RateLimiter.forAccessId("limiter-shared", 50, 5));
+        first.release();
+        second.release();
+        RateLimiter recreated = RateLimiter.forAccessId("limiter-shared", 50, 5);
+        assertNotSame(first, recreated);
+        assertEquals(50, recreated.getRate(), 1e-9);
+        recreated.release();
+    }
+
+    @Test
+    public void testDoubleCloseReleasesSharedLimiterOnce() {
+        Config config = Config.DefaultConfig()
+                .WithAccessId("double-close-id")
+                .WithAccessKey(ACCESS_KEY)
+                .WithRateLimit(10, 1);
+        Client first = Client.NewClient(config);
+        Client second = Client.NewClient(config);
+        first.Close();
+        first.Close();
+
+        // 第二个客户端仍在使用，共享限流器保持原速率，不会被新的配置替换
+        RateLimiter shared = RateLimiter.forAccessId("double-close-id", 50, 5);
+        assertEquals(10, shared.getRate(), 1e-9);
+        shared.release();
+        second.Close();
+    }
+
+    @Test
+    public void testReloadSwitchesSharedLimiter() {
+        Config config = Config.DefaultConfig()
+                .WithAccessId("reload-old-id")
+                .WithAccessKey(ACCESS_KEY)
+                .WithRateLimit(10, 1);
+        Client client = Client.NewClient(config);
+        RateLimiter other = RateLimiter.forAccessId("reload-new-id", 20, 2);
+        client.Reload(config.copy().WithAccessId("reload-new-id"));
+
+        // 原 AccessId 的限流器已释放，重新获取时按新速率创建
+        RateLimiter old = RateLimiter.forAccessId("reload-old-id", 50, 5);
+        assertEquals(50, old.getRate(), 1e-9);
+        old.release();
+
+        // 新 AccessId 的限流器被客户端共享，释放另一个引用后仍然存在
+        other.release();
+        RateLimiter shared = RateLimiter.forAccessId("reload-new-id", 50, 5);
+        assertEquals(20, shared.getRate(), 1e-9);
+        shared.release();
+        client.Close();
+
+        RateLimiter released = RateLimiter.forAccessId("reload-new-id", 50, 5);
+        assertEquals(50, released.getRate(), 1e-9);
+        released.release();
+    }
+
+    @Test
+    public void testConcurrencyLimiterQueuesFairly() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10);
+        CompletableFuture<Void> first = limiter.acquire();
+        CompletableFuture<Void> second = limiter.acquire();
+        CompletableFuture<Void> abandoned = limiter.acquire();
+        CompletableFuture<Void> waiting = limiter.acquire();
+        assertTrue(first.isDone() && second.isDone());
+        assertFalse(abandoned.isDone() || waiting.isDone());
+
+        // 放弃排队的等待者被跳过
+        abandoned.cancel(false);
+        limiter.release();
+        assertTrue(waiting.isDone());
+    }
+
+    @Test
+    public void testConcurrencyLimiterHonoursPriority() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 10);
+        assertTrue(limiter.acquire().isDone());
+        CompletableFuture<Void> low = limiter.acquire(0);
+        CompletableFuture<Void> high = limiter.acquire(5);
+        CompletableFuture<Void> laterHigh = limiter.acquire(5);
+
+        // 优先级高的先获得许可，同优先级按到达顺序
+        limiter.release();
+        assertTrue(high.isDone());
+        assertFalse(laterHigh.isDone() || low.isDone());
+        limiter.release();
+        assertTrue(laterHigh.isDone());
+        limiter.release();
+        assertTrue(low.isDone());
+    }
+
+    @Test
+    public void testConcurrencyLimiterAdapts() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 20);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.release(1_000_000, true);
+        }
+        assertTrue(limiter.limit() < 5, String.valueOf(limiter.limit()));
+
+        // 上限被充分使用且耗时正常时逐步恢复
+        int shrunk = limiter.limit();
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < limiter.limit(); j++) {
+                limiter.acquire();
+            }
+            int n = limiter.limit();
+            for (int j = 0; j < n; j++) {
+                limiter.release(1_000_000, false);
+            }
+        }
+        assertTrue(limiter.limit() > shrunk);
+        assertTrue(limiter.limit() <= 20);
+    }
+
+    @Test
+    public void testConcurrencyLimitBoundsWait() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            Client client = Client.NewClient(Config.DefaultConfig()
+                    .WithAccessId(ACCESS_ID)
+                    .WithAccessKey(ACCESS_KEY)
+                    .WithAddress(server.getAddress())
+                    .WithAdaptiveConcurrency(1, 1)
+                    .WithLimiterMaxWait(Duration.ofMillis(100)));
+            server.setDelayMillis(500);
+
+            CompletableFuture<Result<String>> first = client.API().AuthLoginAsync(new OpenIdToken("o1"));
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> client.API().AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS));
+            assertInstanceOf(LimitExceededException.class, e.getCause());
+            assertThrows(LimitExceededException.class, () -> client.API().AuthLogin(new OpenIdToken("o1")));
+
+            assertTrue(first.get(10, TimeUnit.SECONDS).isSuccess());
+            server.setDelayMillis(0);
+            assertTrue(client.API().AuthLogin(new OpenIdToken("o1")).isSuccess());
+            assertEquals(2, server.getRequestCount());
+            client.Close();
+        }
+    }
+
+    @Test
+    public void testRateLimitPacesCalls() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            server.addAccessKey("rate-limited-id", ACCESS_KEY);
+            Client client = Client.NewClient(Config.DefaultConfig()
+                    .WithAccessId("rate-limited-id")
+                    .WithAccessKey(ACCESS_KEY)
+                    .WithAddress(server.getAddress())
+                    .WithRateLimit(20, 1));
+
+            long start = System.nanoTime();
+            List<CompletableFuture<Result<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(client.API().AuthLoginAsync(new OpenIdToken("o1")));
+            }
+            for (CompletableFuture<Result<String>> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS).isSuccess());
+            }
+            // 第 1 个立即发出，其余按 50ms 间隔
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 180);
+            assertEquals(5, server.getRequestCount());
+            client.Close();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.LatencyDistribution;
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模拟服务测试类：校验签名、时间戳窗口、nonce 重放、响应格式和故障注入
+ */
+public class MockOpenApiServerTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private MockOpenApiServer server;
+    private Client client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY);
+        client = Client.NewClient(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.Close();
+        server.close();
+    }
+
+    private HttpResponse<String> send(String path, Map<String, String> headers) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(server.getAddress() + path))
+                .POST(HttpRequest.BodyPublishers.ofString("{}"));
+        headers.forEach(builder::header);
+        return HttpClient.newHttpClient().send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testReplayedNonceIsRejected() throws Exception {
+        String path = Endpoint.AUTH_LOGIN.path("v1");
+        Map<String, String> headers = client.Auth().GenerateAuthHeader("POST", path);
+
+        assertEquals(200, send(path, headers).statusCode());
+        HttpResponse<String> replayed = send(path, headers);
+        assertEquals(401, replayed.statusCode());
+        assertTrue(replayed.body().contains("NONCE_REPLAYED"));
+        assertEquals(1, server.getRejectedCount());
+    }
+
+    @Test
+    public void testUnknownEndpoint() throws Exception {
+        String path = "/api/open/v1/unknown";
+        assertEquals(404, send(path, client.Auth().GenerateAuthHeader("POST", path)).statusCode());
+    }
+
+    @Test
+    public void testHeadIsNotVerified() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.getAddress() + "/api/open/v1/"))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals("", response.body());
+        assertEquals(0, server.getRejectedCount());
+    }
+
+    @Test
+    public void testTimestampWindow() throws Exception {
+        // SDK 使用当前时间 + 180 秒，超出允许的超前范围
+        server.setMaxTimestampAheadSeconds(60);
+        Result<String> result = client.API().AuthLogin(new OpenIdToken("o1"));
+        assertEquals(401, result.getCode());
+        assertEquals("INVALID_TIMESTAMP", result.getErrCode());
+    }
+
+    @Test
+    public void testResponseShapesAndErrorRate() throws Exception {
+        server.setResponseShape(MockOpenApiServer.ResponseShape.BARE);
+        Result<String> bare = client.API().AuthCMT(new OpenIdToken("o1"));
+        assertTrue(bare.isSuccess());
+        assertEquals("/api/open/v1/auth/cmt:{\"open_id\":\"o1\"}", bare.getData());
+
+        server.setErrorRate(1.0, 503);
+        Result<String> failed = client.API().AuthCMT(new OpenIdToken("o1"));
+        assertFalse(failed.isSuccess());
+        assertEquals(503, failed.getCode());
+        assertEquals("UNAVAILABLE", failed.getErrCode());
+    }
+
+    @Test
+    public void testLatencyDistributions() {
+        Random random = new Random(42);
+        assertEquals(5_000, LatencyDistribution.fixed(5).sampleMicros(random));
+        for (int i = 0; i < 1000; i++) {
+            long uniform = LatencyDistribution.uniform(1, 3).sampleMicros(random);
+            assertTrue(uniform >= 1_000 && uniform < 3_000);
+            assertTrue(LatencyDistribution.exponential(2).sampleMicros(random) >= 0);
+            assertTrue(LatencyDistribution.logNormal(2, 0.5).sampleMicros(random) > 0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.junyouava.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 预生成 nonce 池测试类
+ */
+public class NoncePoolTest {
+
+    @Test
+    public void testGenerateFormat() {
+        Set<String> nonces = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String nonce = NoncePool.generate();
+            assertTrue(nonce.matches("[0-9a-f]{32}"), nonce);
+            nonces.add(nonce);
+        }
+        assertEquals(1000, nonces.size());
+    }
+
+    @Test
+    public void testConcurrentPollIsUnique() throws Exception {
+        NoncePool pool = new NoncePool(64);
+        Set<String> nonces = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 2000; j++) {
+                        assertTrue(nonces.add(pool.next()));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.close();
+        }
+
+        NoncePoolStats stats = pool.stats();
+        assertEquals(16000, nonces.size());
+        assertEquals(64, stats.getCapacity());
+        assertEquals(16000, stats.getHits() + stats.getMisses());
+        assertTrue(stats.getDepth() <= stats.getCapacity());
+    }
+
+    @Test
+    public void testRefillsAfterDrainWhileIdle() throws Exception {
+        NoncePool pool = new NoncePool(16);
+        try {
+            waitForDepth(pool, 16);
+            // 填满后后台线程挂起，取走低于低水位时被唤醒重新填充；
+            // 填充可能与取出交错，最后几次取出若未低于低水位则不再唤醒，因此只保证回到低水位以上
+            for (int i = 0; i < 16; i++) {
+                pool.next();
+            }
+            waitForDepth(pool, 8);
+        } finally {
+            pool.close();
+        }
+    }
+
+    private static void waitForDepth(NoncePool pool, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.stats().getDepth() < depth) {
+            assertTrue(System.nanoTime() < deadline, "nonce 池未被重新填满");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testClientWithNoncePool() {
+        Client client = Client.NewClient(Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey("dGVzdC1rZXk=")
+                .WithNoncePoolSize(100));
+        try {
+            Signature signature = client.Auth().GenerateSignature("POST", "/api/open/v1/register");
+            assertTrue(signature.getNonce().matches("[0-9a-f]{32}"));
+
+            NoncePoolStats stats = client.Auth().NoncePoolStats();
+            assertEquals(128, stats.getCapacity());
+            assertEquals(1, stats.getHits() + stats.getMisses());
+        } finally {
+            client.Close();
+        }
+        assertThrows(IllegalArgumentException.class, () -> Config.DefaultConfig()
+                .WithAccessId("test-id")
+                .WithAccessKey("dGVzdC1rZXk=")
+                .WithNoncePoolSize(-1)
+                .validate());
+    }
+}
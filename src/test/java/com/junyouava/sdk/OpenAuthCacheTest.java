@@ -0,0 +1,96 @@
+package com.junyouava.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OpenAuth 缓存测试类
+ */
+public class OpenAuthCacheTest {
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    public void testHitAndInvalidate() throws Exception {
+        OpenAuthCache cache = new OpenAuthCache(10, ONE_MINUTE);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("auth-1", cache.get("u1", () -> "auth-" + loads.incrementAndGet()));
+        assertEquals("auth-1", cache.get("u1", () -> "auth-" + loads.incrementAndGet()));
+        cache.invalidate("u1");
+        assertEquals("auth-2", cache.get("u1", () -> "auth-" + loads.incrementAndGet()));
+
+        OpenAuthCacheStats stats = cache.stats();
+        assertEquals(1, stats.getSize());
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    public void testLruEvictionAndExpiry() throws Exception {
+        OpenAuthCache cache = new OpenAuthCache(2, ONE_MINUTE);
+        cache.get("u1", () -> "a1");
+        cache.get("u2", () -> "a2");
+        cache.get("u1", () -> "unused"); // u1 变为最近使用
+        cache.get("u3", () -> "a3");     // 淘汰 u2
+
+        assertEquals("a1", cache.get("u1", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("u2", () -> "reloaded"));
+        assertTrue(cache.stats().getEvictions() >= 1);
+
+        OpenAuthCache expiring = new OpenAuthCache(2, 1);
+        expiring.get("u1", () -> "old");
+        Thread.sleep(1);
+        assertEquals("new", expiring.get("u1", () -> "new"));
+        assertEquals(1, expiring.stats().getEvictions());
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws Exception {
+        OpenAuthCache cache = new OpenAuthCache(10, ONE_MINUTE);
+        assertThrows(IOException.class, () -> cache.get("u1", () -> {
+            throw new IOException("network");
+        }));
+        assertEquals("ok", cache.get("u1", () -> "ok"));
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws Exception {
+        OpenAuthCache cache = new OpenAuthCache(10, ONE_MINUTE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> cache.get("u1", () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return "shared";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> future : futures) {
+                assertEquals("shared", future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,153 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.EWTBizNoInfo;
+import com.junyouava.sdk.model.OpenIdToken;
+import com.junyouava.sdk.model.RegisterInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 重试、对冲和熔断测试类
+ */
+public class ResilienceTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private MockOpenApiServer server;
+    private Client client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.Close();
+        }
+        server.close();
+    }
+
+    private APIService api(Config config) {
+        client = Client.NewClient(config
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress()));
+        return client.API();
+    }
+
+    private static RetryPolicy fastRetry(int maxAttempts) {
+        return RetryPolicy.DefaultRetryPolicy()
+                .WithMaxAttempts(maxAttempts)
+                .WithBackoff(Duration.ofMillis(1), Duration.ofMillis(5), 2)
+                .WithEndpoints(Endpoint.EWT_CONFIRM_RELEASE_BY_PARTNER);
+    }
+
+    @Test
+    public void testRetryResignsEachAttempt() throws Exception {
+        APIService api = api(Config.DefaultConfig().WithRetryPolicy(fastRetry(3)));
+        server.failNext(2, 503);
+
+        Result<String> result = api.ConfirmEWTReleaseByPartner(new EWTBizNoInfo("ewt-1"));
+        assertTrue(result.isSuccess());
+        assertEquals(3, server.getRequestCount());
+        // 每次尝试都使用新的 nonce，否则服务端会拒绝
+        assertEquals(3, server.getDistinctNonceCount());
+    }
+
+    @Test
+    public void testRetryPolicyIsCopiedIntoSnapshot() throws Exception {
+        RetryPolicy policy = fastRetry(1);
+        APIService api = api(Config.DefaultConfig().WithRetryPolicy(policy));
+        // 创建客户端后修改原策略不影响客户端
+        policy.WithMaxAttempts(3);
+        server.failNext(1, 503);
+
+        assertFalse(api.ConfirmEWTReleaseByPartner(new EWTBizNoInfo("ewt-1")).isSuccess());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testRetryAsyncGivesUpAfterMaxAttempts() throws Exception {
+        APIService api = api(Config.DefaultConfig().WithRetryPolicy(fastRetry(2)));
+        server.failNext(5, 502);
+
+        Result<String> result = api.ConfirmEWTReleaseByPartnerAsync(new EWTBizNoInfo("ewt-1")).get(10, TimeUnit.SECONDS);
+        assertFalse(result.isSuccess());
+        assertEquals("UNAVAILABLE", result.getErrCode());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testNoRetryForClientErrorsOrOtherEndpoints() throws Exception {
+        APIService api = api(Config.DefaultConfig()
+                .WithRetryPolicy(fastRetry(3).WithEndpoints(Endpoint.EWT_CONFIRM_RELEASE_BY_PARTNER)));
+
+        server.failNext(1, 400);
+        assertFalse(api.ConfirmEWTReleaseByPartner(new EWTBizNoInfo("ewt-1")).isSuccess());
+        server.failNext(1, 503);
+        assertFalse(api.Register(new RegisterInfo("13800138000")).isSuccess());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testCircuitBreakerFailsFast() throws Exception {
+        APIService api = api(Config.DefaultConfig().WithCircuitBreaker(2, Duration.ofMillis(200)));
+        server.failNext(2, 500);
+        api.AuthCMT(new OpenIdToken("o1"));
+        api.AuthCMT(new OpenIdToken("o1"));
+
+        assertThrows(CircuitBreakerOpenException.class, () -> api.AuthCMT(new OpenIdToken("o1")));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> api.AuthCMTAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(CircuitBreakerOpenException.class, e.getCause());
+        // 其他接口不受影响
+        assertTrue(api.AuthLogin(new OpenIdToken("o1")).isSuccess());
+        assertEquals(3, server.getRequestCount());
+
+        // 打开时长结束后放行探测请求，成功则关闭
+        Thread.sleep(250);
+        assertTrue(api.AuthCMT(new OpenIdToken("o1")).isSuccess());
+        assertTrue(api.AuthCMT(new OpenIdToken("o1")).isSuccess());
+    }
+
+    @Test
+    public void testHedgedRequest() throws Exception {
+        APIService api = api(Config.DefaultConfig()
+                .WithHedgePolicy(new HedgePolicy(0.9, Duration.ofMillis(50), Endpoint.AUTH_LOGIN)));
+        // 积累耗时样本
+        for (int i = 0; i < 64; i++) {
+            assertTrue(api.AuthLogin(new OpenIdToken("o1")).isSuccess());
+        }
+        long before = server.getRequestCount();
+
+        server.slowNext(1, 3000);
+        long start = System.nanoTime();
+        assertTrue(api.AuthLogin(new OpenIdToken("o1")).isSuccess());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertEquals(before + 2, server.getRequestCount());
+    }
+
+    @Test
+    public void testPolicyValidation() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Config.DefaultConfig().WithAccessId("id").WithAccessKey("key")
+                        .WithRetryPolicy(RetryPolicy.DefaultRetryPolicy().WithMaxAttempts(0)).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> Config.DefaultConfig().WithAccessId("id").WithAccessKey("key")
+                        .WithHedgePolicy(new HedgePolicy(1.5, Duration.ZERO)).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> Config.DefaultConfig().WithAccessId("id").WithAccessKey("key")
+                        .WithCircuitBreaker(3, null).validate());
+    }
+}
@@ -0,0 +1,156 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 响应解析测试类
+ */
+public class ResponseParserTest {
+    private final ResponseParser parser = new ResponseParser(JsonCodec.shared());
+
+    private static TransportResponse response(int code, String body, String contentType) {
+        return new TransportResponse() {
+            @Override
+            public int code() {
+                return code;
+            }
+
+            @Override
+            public String header(String name) {
+                return "Content-Type".equalsIgnoreCase(name) ? contentType : null;
+            }
+
+            @Override
+            public InputStream body() {
+                return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Test
+    public void testWrappedShape() throws Exception {
+        Result<String> result = parser.parse(response(200,
+                "{\"result\":{\"code\":200,\"success\":true,\"message\":\"ok\",\"data\":\"token\",\"extra\":[1,2]}}",
+                "application/json"), String.class);
+
+        assertTrue(result.isSuccess());
+        assertEquals(200, result.getCode());
+        assertEquals("ok", result.getMessage());
+        assertEquals("token", result.getData());
+    }
+
+    @Test
+    public void testBareShape() throws Exception {
+        Result<String> result = parser.parse(response(200,
+                "{\"trace\":{\"id\":1},\"code\":201,\"success\":false,\"err_code\":\"E01\",\"message\":\"失败\",\"data\":null}",
+                "application/json"), String.class);
+
+        assertFalse(result.isSuccess());
+        assertEquals(201, result.getCode());
+        assertEquals("E01", result.getErrCode());
+        assertEquals("失败", result.getMessage());
+        assertNull(result.getData());
+    }
+
+    @Test
+    public void testPlainTextFallback() throws Exception {
+        Result<String> result = parser.parse(response(200, "plain-token", "text/plain"), String.class);
+
+        assertTrue(result.isSuccess());
+        assertEquals(200, result.getCode());
+        assertEquals("plain-token", result.getData());
+    }
+
+    @Test
+    public void testErrorShape() throws Exception {
+        Result<String> result = parser.parse(response(400,
+                "{\"result\":{\"code\":40001,\"err_code\":\"INVALID_SIGNATURE\",\"message\":\"签名无效\",\"data\":{\"a\":1}}}",
+                "application/json"), String.class);
+
+        assertFalse(result.isSuccess());
+        assertEquals(40001, result.getCode());
+        assertEquals("INVALID_SIGNATURE", result.getErrCode());
+        assertEquals("签名无效", result.getMessage());
+    }
+
+    @Test
+    public void testNonJsonError() throws Exception {
+        Result<String> result = parser.parse(response(502, "<html>Bad Gateway</html>", "text/html"), String.class);
+
+        assertFalse(result.isSuccess());
+        assertEquals(502, result.getCode());
+        assertEquals("请求失败: <html>Bad Gateway</html>", result.getMessage());
+    }
+
+    @Test
+    public void testLargeErrorBodyIsTruncated() throws Exception {
+        ResponseParser capped = new ResponseParser(JsonCodec.shared(), 8192);
+        String page = "<html>" + repeat('x', 1 << 20) + "</html>";
+        Result<String> result = capped.parse(response(502, page, "text/html"), String.class);
+
+        assertFalse(result.isSuccess());
+        assertEquals("请求失败: " + page.substring(0, 8192) + ResponseParser.TRUNCATED_SUFFIX, result.getMessage());
+    }
+
+    @Test
+    public void testLargeJsonBodyBeyondCap() throws Exception {
+        ResponseParser capped = new ResponseParser(JsonCodec.shared(), 8192);
+        String data = repeat('d', 100_000);
+        Result<String> result = capped.parse(response(200,
+                "{\"result\":{\"code\":200,\"success\":true,\"data\":\"" + data + "\"}}",
+                "application/json"), String.class);
+
+        assertTrue(result.isSuccess());
+        assertEquals(data, result.getData());
+    }
+
+    @Test
+    public void testLargePlainTextSuccessIsNotTruncated() throws Exception {
+        ResponseParser capped = new ResponseParser(JsonCodec.shared(), 8192);
+        String text = repeat('t', 1 << 20);
+        Result<String> result = capped.parse(response(200, text, "text/plain"), String.class);
+
+        // 上限只作用于错误响应，成功响应回退为完整文本
+        assertTrue(result.isSuccess());
+        assertEquals(text, result.getData());
+    }
+
+    @Test
+    public void testLargeMalformedJsonSuccessFails() throws Exception {
+        ResponseParser capped = new ResponseParser(JsonCodec.shared(), 8192);
+        // 未闭合的 JSON，解析器在上限之后才出错，无法回到起点
+        String body = "{\"result\":{\"code\":200,\"success\":true,\"data\":\"" + repeat('d', 100_000);
+        Result<String> result = capped.parse(response(200, body, "application/json"), String.class);
+
+        assertFalse(result.isSuccess());
+        assertEquals(200, result.getCode());
+        assertNull(result.getData());
+        assertTrue(result.getMessage().startsWith("解析响应失败: "), result.getMessage());
+    }
+
+    @Test
+    public void testReaderAndWriterAreCached() {
+        JsonCodec codec = JsonCodec.shared();
+        assertSame(codec.reader(String.class), codec.reader(String.class));
+        assertSame(codec.writer(OpenIdToken.class),
+                codec.writer(OpenIdToken.class));
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
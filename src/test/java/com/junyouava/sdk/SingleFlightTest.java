@@ -0,0 +1,109 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求合并测试类
+ */
+public class SingleFlightTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private static Client newClient(MockOpenApiServer server) {
+        return Client.NewClient(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress())
+                .WithRequestCoalescing(Endpoint.AUTH_LOGIN, Endpoint.AUTH_CMT));
+    }
+
+    @Test
+    public void testConcurrentSyncCallsShareOneRequest() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            Client client = newClient(server);
+            server.setDelayMillis(300);
+
+            ExecutorService executor = Executors.newFixedThreadPool(10);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Result<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return client.API().AuthLogin(new OpenIdToken("o1"));
+                }));
+            }
+            start.countDown();
+            for (Future<Result<String>> future : futures) {
+                Result<String> result = future.get(5, TimeUnit.SECONDS);
+                assertTrue(result.isSuccess());
+                assertEquals("/api/open/v1/auth/login:{\"open_id\":\"o1\"}", result.getData());
+            }
+            executor.shutdown();
+
+            assertTrue(server.getRequestCount() < 10);
+            assertEquals(10, server.getRequestCount() + client.API().CoalescedCalls());
+            client.Close();
+        }
+    }
+
+    @Test
+    public void testAsyncCallsShareOneRequest() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            Client client = newClient(server);
+            server.setDelayMillis(300);
+
+            List<CompletableFuture<Result<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(client.API().AuthCMTAsync(new OpenIdToken("o1")));
+            }
+            // 不同请求体不合并
+            CompletableFuture<Result<String>> other = client.API().AuthCMTAsync(new OpenIdToken("o2"));
+            // 取消一个调用方不影响其他调用方
+            futures.get(0).cancel(true);
+
+            for (CompletableFuture<Result<String>> future : futures.subList(1, futures.size())) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+            }
+            assertTrue(other.get(5, TimeUnit.SECONDS).isSuccess());
+            assertEquals(2, server.getRequestCount());
+            assertEquals(4, client.API().CoalescedCalls());
+
+            // 合并只针对在途请求，完成后再次调用会重新发出
+            assertTrue(client.API().AuthCMT(new OpenIdToken("o1")).isSuccess());
+            assertEquals(3, server.getRequestCount());
+            client.Close();
+        }
+    }
+
+    @Test
+    public void testOtherEndpointsAreNotCoalesced() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            Client client = newClient(server);
+            server.setDelayMillis(200);
+
+            List<CompletableFuture<Result<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(client.API().AuthSetPWDAsync(new OpenIdToken("o1")));
+            }
+            for (CompletableFuture<Result<String>> future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+            }
+            assertEquals(3, server.getRequestCount());
+            assertEquals(0, client.API().CoalescedCalls());
+            client.Close();
+        }
+    }
+}
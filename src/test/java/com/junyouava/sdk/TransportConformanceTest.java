@@ -0,0 +1,163 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.EWTBizNoInfo;
+import com.junyouava.sdk.model.OpenIdToken;
+import com.junyouava.sdk.model.RegisterInfo;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 传输层一致性测试：所有内置传输层实现都必须通过相同的用例
+ */
+public class TransportConformanceTest {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    private MockOpenApiServer server;
+    private Client client;
+
+    static Stream<Arguments> transports() {
+        Supplier<Transport> okHttp = () -> new OkHttpTransport(new OkHttpClient());
+        Supplier<Transport> jdk = JdkHttpTransport::new;
+        return Stream.of(Arguments.of("okhttp", okHttp), Arguments.of("jdk", jdk));
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.Close();
+        }
+        server.close();
+    }
+
+    private Client newClient(Supplier<Transport> transport, String accessKey) {
+        client = Client.NewClientWithTransport(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(accessKey)
+                .WithAddress(server.getAddress()), transport.get());
+        return client;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("transports")
+    public void testAllEndpoints(String name, Supplier<Transport> transport) throws Exception {
+        APIService api = newClient(transport, ACCESS_KEY).API();
+
+        assertEquals("/api/open/v1/register:{\"phone_number\":\"13800138000\"}",
+                api.Register(new RegisterInfo("13800138000")).getData());
+        assertEquals("/api/open/v1/auth/login:{\"open_id\":\"o1\"}",
+                api.AuthLogin(new OpenIdToken("o1")).getData());
+        assertEquals("/api/open/v1/auth/setpwd:{\"open_id\":\"o1\"}",
+                api.AuthSetPWD(new OpenIdToken("o1")).getData());
+        assertEquals("/api/open/v1/auth/cmt:{\"open_id\":\"o1\"}",
+                api.AuthCMT(new OpenIdToken("o1")).getData());
+
+        Result<String> result = api.ConfirmEWTReleaseByPartner(new EWTBizNoInfo("ewt-1"));
+        assertTrue(result.isSuccess());
+        assertEquals(200, result.getCode());
+        assertEquals("/api/open/v1/ewt/confirm-release-by-partner:{\"ewt_biz_no\":\"ewt-1\"}", result.getData());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("transports")
+    public void testAsync(String name, Supplier<Transport> transport) throws Exception {
+        APIService api = newClient(transport, ACCESS_KEY).API();
+
+        Result<String> result = api.AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS);
+        assertTrue(result.isSuccess());
+        assertEquals("/api/open/v1/auth/login:{\"open_id\":\"o1\"}", result.getData());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("transports")
+    public void testErrorResponse(String name, Supplier<Transport> transport) throws Exception {
+        // 使用错误的密钥，服务端签名校验失败
+        APIService api = newClient(transport, "d3Jvbmcta2V5").API();
+
+        Result<String> result = api.AuthLogin(new OpenIdToken("o1"));
+        assertFalse(result.isSuccess());
+        assertEquals(401, result.getCode());
+        assertEquals("INVALID_SIGNATURE", result.getErrCode());
+        assertEquals("签名无效", result.getMessage());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("transports")
+    public void testAsyncCancellation(String name, Supplier<Transport> transport) throws Exception {
+        APIService api = newClient(transport, ACCESS_KEY).API();
+        server.setDelayMillis(2000);
+
+        CompletableFuture<Result<String>> future = api.AuthLoginAsync(new OpenIdToken("o1"));
+        Thread.sleep(100);
+        assertTrue(future.cancel(true));
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("transports")
+    public void testEndpointTimeout(String name, Supplier<Transport> transport) throws Exception {
+        client = Client.NewClientWithTransport(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress())
+                .WithEndpointTimeout(Endpoint.AUTH_LOGIN, Duration.ofMillis(200)), transport.get());
+        server.setDelayMillis(1000);
+
+        assertThrows(IOException.class, () -> client.API().AuthLogin(new OpenIdToken("o1")));
+        // 未设置超时的接口不受影响
+        assertTrue(client.API().AuthSetPWD(new OpenIdToken("o1")).isSuccess());
+    }
+
+    @Test
+    public void testJdkReadTimeoutIsDefaultRequestTimeout() throws Exception {
+        Config config = Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress(server.getAddress())
+                .WithTimeouts(Duration.ofSeconds(5), Duration.ofMillis(200), Duration.ofSeconds(5));
+        client = Client.NewClientWithTransport(config, new JdkHttpTransport(config));
+        server.setDelayMillis(1000);
+
+        // 未设置接口级超时和截止时间的请求以读超时为上限
+        assertThrows(IOException.class, () -> client.API().AuthLogin(new OpenIdToken("o1")));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.API().AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("transports")
+    public void testNetworkFailure(String name, Supplier<Transport> transport) {
+        client = Client.NewClientWithTransport(Config.DefaultConfig()
+                .WithAccessId(ACCESS_ID)
+                .WithAccessKey(ACCESS_KEY)
+                .WithAddress("http://127.0.0.1:1"), transport.get());
+
+        assertThrows(IOException.class, () -> client.API().AuthLogin(new OpenIdToken("o1")));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.API().AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+}
@@ -0,0 +1,69 @@
+package com.junyouava.sdk;
+
+import com.junyouava.sdk.mock.MockOpenApiServer;
+import com.junyouava.sdk.model.OpenIdToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 虚拟线程集成测试
+ * 由 failsafe 针对打包后的多版本 JAR 运行（仅在 JDK 21+ 构建时执行）
+ */
+public class VirtualThreadsIT {
+    private static final String ACCESS_ID = "test-id";
+    private static final String ACCESS_KEY = "dGVzdC1rZXk="; // Base64 encoded "test-key"
+
+    @Test
+    public void testMultiReleaseClassLoaded() {
+        assertTrue(VirtualThreads.isSupported());
+    }
+
+    @Test
+    public void testBlockingCallsOnVirtualThreads() throws Exception {
+        try (MockOpenApiServer server = new MockOpenApiServer(ACCESS_ID, ACCESS_KEY)) {
+            // 在解析阶段内记录所在线程，不依赖回调在哪个线程上执行
+            AtomicReference<Boolean> parsedOnVirtual = new AtomicReference<>();
+            Client client = Client.NewClient(Config.DefaultConfig()
+                    .WithAccessId(ACCESS_ID)
+                    .WithAccessKey(ACCESS_KEY)
+                    .WithAddress(server.getAddress())
+                    .WithMaxRequests(1000, 1000)
+                    .WithVirtualThreads(true)
+                    .WithInstrumentation(new Instrumentation() {
+                        @Override
+                        public void recordPhase(Endpoint endpoint, Phase phase, long nanos) {
+                            if (phase == Phase.PARSING) {
+                                parsedOnVirtual.set(VirtualThreads.isVirtual(Thread.currentThread()));
+                            }
+                        }
+                    }));
+            server.setDelayMillis(200);
+
+            // 每个请求一个虚拟线程，同步调用
+            ExecutorService executor = VirtualThreads.newExecutor("it-caller-");
+            List<Future<Result<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(executor.submit(() -> client.API().AuthLogin(new OpenIdToken("o1"))));
+            }
+            for (Future<Result<String>> future : futures) {
+                assertTrue(future.get(30, TimeUnit.SECONDS).isSuccess());
+            }
+            executor.shutdown();
+
+            // 异步响应在虚拟线程上解析
+            server.setDelayMillis(0);
+            parsedOnVirtual.set(null);
+            assertTrue(client.API().AuthLoginAsync(new OpenIdToken("o1")).get(10, TimeUnit.SECONDS).isSuccess());
+            assertEquals(Boolean.TRUE, parsedOnVirtual.get());
+            client.Close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.junyouava.sdk.mock;
+
+import java.util.Random;
+
+/**
+ * 模拟服务的处理延迟分布
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * 不延迟
+     */
+    LatencyDistribution NONE = random -> 0;
+
+    /**
+     * 采样一次延迟
+     *
+     * @param random 随机数源
+     * @return 延迟（微秒），小于等于 0 时不延迟
+     */
+    long sampleMicros(Random random);
+
+    /**
+     * 固定延迟
+     *
+     * @param millis 延迟（毫秒）
+     * @return 延迟分布
+     */
+    static LatencyDistribution fixed(long millis) {
+        long micros = millis * 1000;
+        return random -> micros;
+    }
+
+    /**
+     * 均匀分布 [minMillis, maxMillis)
+     *
+     * @param minMillis 最小延迟（毫秒）
+     * @param maxMillis 最大延迟（毫秒）
+     * @return 延迟分布
+     */
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        if (maxMillis <= minMillis) {
+            throw new IllegalArgumentException("maxMillis 必须大于 minMillis");
+        }
+        long min = minMillis * 1000;
+        long range = (maxMillis - minMillis) * 1000;
+        return random -> min + (long) (random.nextDouble() * range);
+    }
+
+    /**
+     * 指数分布（无记忆的排队延迟）
+     *
+     * @param meanMillis 平均延迟（毫秒）
+     * @return 延迟分布
+     */
+    static LatencyDistribution exponential(double meanMillis) {
+        double meanMicros = meanMillis * 1000;
+        return random -> (long) (-Math.log(1 - random.nextDouble()) * meanMicros);
+    }
+
+    /**
+     * 对数正态分布（大多数请求集中在中位数附近，带长尾），与真实服务的延迟形态接近
+     *
+     * @param medianMillis 中位数（毫秒）
+     * @param sigma        对数标准差，越大长尾越明显（例如 0.5）
+     * @return 延迟分布
+     */
+    static LatencyDistribution logNormal(double medianMillis, double sigma) {
+        double mu = Math.log(medianMillis * 1000);
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
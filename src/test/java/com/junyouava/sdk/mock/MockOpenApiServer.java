@@ -0,0 +1,436 @@
+package com.junyouava.sdk.mock;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地模拟 Junyou Open API 服务
+ * <p>
+ * 按与 SDK 相同的格式（AccessId\nmethod\npath\nnonce\ntimestamp）校验 HMAC-SHA256 签名，
+ * 检查时间戳窗口并拒绝重放的 nonce；为 /api/open/{version}/ 下的五个接口返回
+ * {"result":{...}} 包装格式或直接 {...} 格式的响应，data 为 "路径:请求体"，便于断言请求内容。
+ * 延迟分布和错误率可配置，用于负载测试和基准测试。HEAD 请求（SDK 的连接预热）不校验签名、不注入故障，
+ * 只返回状态码而没有响应体。该类随 test-jar 发布。
+ * </p>
+ */
+public class MockOpenApiServer implements AutoCloseable {
+    private static final String PATH_PREFIX = "/api/open/";
+
+    /**
+     * 支持的接口（版本号之后的路径）
+     */
+    private static final Set<String> ENDPOINTS = new HashSet<>(Arrays.asList(
+            "register", "auth/login", "auth/setpwd", "auth/cmt", "ewt/confirm-release-by-partner"));
+
+    /**
+     * 默认允许时间戳超前当前时间的最大秒数（SDK 使用当前时间 + 180 秒作为过期时间）
+     */
+    private static final long DEFAULT_MAX_TIMESTAMP_AHEAD_SECONDS = 300;
+
+    /**
+     * 每处理多少个请求清理一次过期的 nonce
+     */
+    private static final int NONCE_PURGE_INTERVAL = 4096;
+
+    /**
+     * 响应格式
+     */
+    public enum ResponseShape {
+        /**
+         * {"result":{...}} 包装格式
+         */
+        WRAPPED,
+
+        /**
+         * 直接 {...} 格式
+         */
+        BARE
+    }
+
+    private final Map<String, byte[]> accessKeys = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile Headers lastHeaders;
+    private volatile LatencyDistribution latency = LatencyDistribution.NONE;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private volatile int failureStatus;
+    private final AtomicInteger slowRemaining = new AtomicInteger();
+    private volatile long slowDelayMillis;
+    private volatile ResponseShape responseShape = ResponseShape.WRAPPED;
+    private volatile boolean verifying = true;
+    private volatile long maxTimestampAheadSeconds = DEFAULT_MAX_TIMESTAMP_AHEAD_SECONDS;
+    private volatile long clockOffsetSeconds;
+
+    /**
+     * 已使用的 nonce 及其过期时间（Unix 秒）
+     */
+    private final Map<String, Long> nonces = new ConcurrentHashMap<>();
+    private final AtomicLong distinctNonces = new AtomicLong();
+
+    /**
+     * 创建并启动服务（监听 127.0.0.1 的随机端口）
+     *
+     * @param accessId  允许的访问 ID
+     * @param accessKey 访问密钥（Base64 编码）
+     * @throws IOException 如果端口绑定失败
+     */
+    public MockOpenApiServer(String accessId, String accessKey) throws IOException {
+        // 关闭 Nagle 算法，避免响应头和响应体分两次写出时触发延迟确认带来的约 40ms 停顿
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        addAccessKey(accessId, accessKey);
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "mock-open-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.createContext(PATH_PREFIX, this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * 允许另一组访问凭证（用于多租户测试）
+     *
+     * @param accessId  访问 ID
+     * @param accessKey 访问密钥（Base64 编码）
+     */
+    public void addAccessKey(String accessId, String accessKey) {
+        accessKeys.put(accessId, Base64.getDecoder().decode(accessKey));
+    }
+
+    /**
+     * 获取服务地址，可直接用于 Config.WithAddress
+     *
+     * @return 服务地址
+     */
+    public String getAddress() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 设置每个请求的固定处理延迟
+     *
+     * @param delayMillis 延迟（毫秒）
+     */
+    public void setDelayMillis(long delayMillis) {
+        setLatency(delayMillis > 0 ? LatencyDistribution.fixed(delayMillis) : LatencyDistribution.NONE);
+    }
+
+    /**
+     * 设置每个请求的处理延迟分布
+     *
+     * @param latency 延迟分布
+     */
+    public void setLatency(LatencyDistribution latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * 设置随机错误率：每个请求以该概率返回指定的 HTTP 错误状态码
+     *
+     * @param rate   错误率（0 到 1）
+     * @param status HTTP 状态码
+     */
+    public void setErrorRate(double rate, int status) {
+        this.errorStatus = status;
+        this.errorRate = rate;
+    }
+
+    /**
+     * 设置响应格式
+     *
+     * @param responseShape 响应格式
+     */
+    public void setResponseShape(ResponseShape responseShape) {
+        this.responseShape = responseShape;
+    }
+
+    /**
+     * 设置是否校验签名、时间戳和 nonce（基准测试可关闭，使测量集中在客户端开销上）
+     *
+     * @param verifying 是否校验
+     */
+    public void setVerifying(boolean verifying) {
+        this.verifying = verifying;
+    }
+
+    /**
+     * 设置时间戳允许超前当前时间的最大秒数；已过期（早于当前时间）的时间戳始终被拒绝
+     *
+     * @param seconds 最大超前秒数
+     */
+    public void setMaxTimestampAheadSeconds(long seconds) {
+        this.maxTimestampAheadSeconds = seconds;
+    }
+
+    /**
+     * 设置服务端时钟相对本机的偏差，用于模拟时钟漂移；只影响时间戳校验
+     * （响应的 Date Header 由 JDK HttpServer 按本机时间生成，不受影响）
+     *
+     * @param seconds 偏差（秒），服务端时钟快于本机时为正
+     */
+    public void setClockOffsetSeconds(long seconds) {
+        this.clockOffsetSeconds = seconds;
+    }
+
+    /**
+     * 让接下来的若干个请求返回指定的 HTTP 错误状态码
+     *
+     * @param count  请求数
+     * @param status HTTP 状态码
+     */
+    public void failNext(int count, int status) {
+        this.failureStatus = status;
+        this.failuresRemaining.set(count);
+    }
+
+    /**
+     * 让接下来的若干个请求额外延迟
+     *
+     * @param count       请求数
+     * @param delayMillis 延迟（毫秒）
+     */
+    public void slowNext(int count, long delayMillis) {
+        this.slowDelayMillis = delayMillis;
+        this.slowRemaining.set(count);
+    }
+
+    /**
+     * 获取收到的不同 nonce 的数量
+     *
+     * @return nonce 数量
+     */
+    public int getDistinctNonceCount() {
+        return (int) distinctNonces.get();
+    }
+
+    /**
+     * 获取已收到的请求数
+     *
+     * @return 请求数
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * 获取因签名、时间戳或 nonce 校验失败而被拒绝的请求数
+     *
+     * @return 被拒绝的请求数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * 获取最近一个请求的 Header
+     *
+     * @param name Header 名称（不区分大小写）
+     * @return Header 值；未收到请求或没有该 Header 时返回 null
+     */
+    public String getLastRequestHeader(String name) {
+        Headers headers = lastHeaders;
+        return headers != null ? headers.getFirst(name) : null;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long count = requestCount.incrementAndGet();
+        lastHeaders = exchange.getRequestHeaders();
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String path = exchange.getRequestURI().getPath();
+
+            long delayMicros = latency.sampleMicros(ThreadLocalRandom.current());
+            if (delayMicros > 0) {
+                TimeUnit.MICROSECONDS.sleep(delayMicros);
+            }
+            if (slowRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                TimeUnit.MILLISECONDS.sleep(slowDelayMillis);
+            }
+
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                respondHead(exchange, path.startsWith(PATH_PREFIX) ? 200 : 404);
+                return;
+            }
+
+            if (verifying) {
+                if (count % NONCE_PURGE_INTERVAL == 0) {
+                    purgeNonces();
+                }
+                String rejection = verify(exchange, path);
+                if (rejection != null) {
+                    rejectedCount.incrementAndGet();
+                    respondError(exchange, 401, rejection, rejectionMessage(rejection));
+                    return;
+                }
+            }
+
+            if (failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                respondError(exchange, failureStatus, "UNAVAILABLE", "服务暂不可用");
+                return;
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respondError(exchange, errorStatus, "UNAVAILABLE", "服务暂不可用");
+                return;
+            }
+
+            if (!path.startsWith(PATH_PREFIX) || !ENDPOINTS.contains(endpointName(path))) {
+                respondError(exchange, 404, "NOT_FOUND", "接口不存在");
+                return;
+            }
+            respond(exchange, 200, "{\"code\":200,\"success\":true,\"message\":\"ok\",\"data\":"
+                    + quote(path + ":" + body) + "}");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 校验签名、时间戳窗口和 nonce
+     *
+     * @return 校验失败的错误码；通过时返回 null
+     */
+    private String verify(HttpExchange exchange, String path) {
+        String requestAccessId = exchange.getRequestHeaders().getFirst("X-Access-ID");
+        String signature = exchange.getRequestHeaders().getFirst("X-Signature");
+        String nonce = exchange.getRequestHeaders().getFirst("X-Signature-Nonce");
+        String timestamp = exchange.getRequestHeaders().getFirst("X-Timestamp");
+        byte[] accessKey = requestAccessId != null ? accessKeys.get(requestAccessId) : null;
+        if (accessKey == null || signature == null || nonce == null || timestamp == null) {
+            return "INVALID_SIGNATURE";
+        }
+        if (!verifySignature(accessKey, requestAccessId, exchange.getRequestMethod(), path, nonce, timestamp, signature)) {
+            return "INVALID_SIGNATURE";
+        }
+
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return "INVALID_TIMESTAMP";
+        }
+        long now = serverSeconds();
+        if (expiresAt < now || expiresAt > now + maxTimestampAheadSeconds) {
+            return "INVALID_TIMESTAMP";
+        }
+
+        // nonce 只需在其时间戳有效期内保持唯一
+        if (nonces.putIfAbsent(nonce, expiresAt) != null) {
+            return "NONCE_REPLAYED";
+        }
+        distinctNonces.incrementAndGet();
+        return null;
+    }
+
+    private static String rejectionMessage(String errCode) {
+        switch (errCode) {
+            case "INVALID_TIMESTAMP":
+                return "时间戳无效或已过期";
+            case "NONCE_REPLAYED":
+                return "nonce 已被使用";
+            default:
+                return "签名无效";
+        }
+    }
+
+    /**
+     * 按 AccessId\nmethod\npath\nnonce\ntimestamp 重新计算 HMAC-SHA256 并比对
+     */
+    private static boolean verifySignature(byte[] accessKey, String accessId, String method, String path,
+                                           String nonce, String timestamp, String signature) {
+        String signString = accessId + "\n" + method + "\n" + path + "\n" + nonce + "\n" + timestamp;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(accessKey, "HmacSHA256"));
+            byte[] expected = mac.doFinal(signString.getBytes(StandardCharsets.UTF_8));
+            return MessageDigest.isEqual(expected, Base64.getDecoder().decode(signature));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 服务端当前时间（秒），包括模拟的时钟偏差；时间戳校验和 nonce 过期使用同一个时钟
+     */
+    private long serverSeconds() {
+        return System.currentTimeMillis() / 1000 + clockOffsetSeconds;
+    }
+
+    private void purgeNonces() {
+        long now = serverSeconds();
+        nonces.values().removeIf(expiresAt -> expiresAt < now);
+    }
+
+    /**
+     * 从 /api/open/{version}/{endpoint} 中取出接口名称
+     */
+    private static String endpointName(String path) {
+        int versionEnd = path.indexOf('/', PATH_PREFIX.length());
+        return versionEnd < 0 ? "" : path.substring(versionEnd + 1);
+    }
+
+    private void respondError(HttpExchange exchange, int status, String errCode, String message) throws IOException {
+        respond(exchange, status, "{\"code\":" + status + ",\"success\":false,"
+                + "\"err_code\":" + quote(errCode) + ",\"message\":" + quote(message) + "}");
+    }
+
+    /**
+     * 按当前响应格式写出结果对象
+     *
+     * @param result 结果对象的 JSON
+     */
+    private void respond(HttpExchange exchange, int status, String result) throws IOException {
+        String json = responseShape == ResponseShape.WRAPPED ? "{\"result\":" + result + "}" : result;
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * HEAD 响应只有状态码和 Header，没有响应体
+     */
+    private static void respondHead(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}